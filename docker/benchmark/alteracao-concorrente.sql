@@ -0,0 +1,26 @@
+-- Compara alteração com versão (otimista) e com SELECT ... FOR UPDATE (pessimista) sob contenção, com muitos clientes
+-- alterando poucas chaves.
+-- Preparação: psql -h localhost -U user -d pixdb -v chaves=100 -f docker/benchmark/alteracao-concorrente.sql
+-- Execução (repetir a preparação entre as duas):
+--   pgbench -h localhost -U user -n -c 64 -j 8 -T 60 -D chaves=100 -f docker/benchmark/alteracao-otimista.pgbench pixdb
+--   pgbench -h localhost -U user -n -c 64 -j 8 -T 60 -D chaves=100 -f docker/benchmark/alteracao-pessimista.pgbench pixdb
+-- O tps do pgbench conta as tentativas; as alterações gravadas são a soma das versões, consultada no fim deste script
+-- com -v resultado=1.
+\set ON_ERROR_STOP on
+\if :{?chaves}
+\else
+\set chaves 100
+\endif
+
+\if :{?resultado}
+SELECT count(*) AS chaves, sum(versao) AS alteracoes_gravadas FROM benchmark_alteracao;
+\else
+DROP TABLE IF EXISTS benchmark_alteracao;
+CREATE TABLE benchmark_alteracao (
+    id               integer     NOT NULL PRIMARY KEY,
+    nome_correntista varchar(30) NOT NULL,
+    versao           bigint      NOT NULL DEFAULT 0
+);
+INSERT INTO benchmark_alteracao (id, nome_correntista) SELECT n, 'Nome ' || n FROM generate_series(1, :chaves) AS n;
+ANALYZE benchmark_alteracao;
+\endif
@@ -0,0 +1,41 @@
+-- Compara índices completos e parciais (somente chaves ativas) numa base com 50% de chaves inativas.
+-- Uso: psql -h localhost -U user -d pixdb -v linhas=2000000 -f docker/benchmark/indices-parciais.sql
+\set ON_ERROR_STOP on
+\if :{?linhas}
+\else
+\set linhas 2000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS benchmark CASCADE;
+CREATE SCHEMA benchmark;
+
+CREATE TABLE benchmark.chave_pix AS
+SELECT gen_random_uuid()                                          AS id,
+       'chave' || n || '@teste.com'                               AS valor_chave,
+       1000 + n % 5000                                            AS numero_agencia,
+       n / 4                                                      AS numero_conta,
+       CASE WHEN n % 2 = 0 THEN now() END                         AS data_hora_inativacao
+FROM generate_series(1, :linhas) AS n;
+ANALYZE benchmark.chave_pix;
+
+\echo '== índices completos'
+CREATE UNIQUE INDEX idx_valor_completo ON benchmark.chave_pix (valor_chave);
+CREATE INDEX idx_conta_completo ON benchmark.chave_pix (numero_agencia, numero_conta, data_hora_inativacao);
+SELECT relname, pg_size_pretty(pg_relation_size(oid)) FROM pg_class WHERE relname LIKE 'idx_%_completo';
+EXPLAIN (ANALYZE, BUFFERS) SELECT 1 FROM benchmark.chave_pix
+ WHERE valor_chave = 'chave1001@teste.com' AND data_hora_inativacao IS NULL;
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM benchmark.chave_pix
+ WHERE numero_agencia = 1001 AND numero_conta = 250 AND data_hora_inativacao IS NULL;
+DROP INDEX benchmark.idx_valor_completo, benchmark.idx_conta_completo;
+
+\echo '== índices parciais'
+CREATE UNIQUE INDEX idx_valor_parcial ON benchmark.chave_pix (valor_chave) WHERE data_hora_inativacao IS NULL;
+CREATE INDEX idx_conta_parcial ON benchmark.chave_pix (numero_agencia, numero_conta) WHERE data_hora_inativacao IS NULL;
+SELECT relname, pg_size_pretty(pg_relation_size(oid)) FROM pg_class WHERE relname LIKE 'idx_%_parcial';
+EXPLAIN (ANALYZE, BUFFERS) SELECT 1 FROM benchmark.chave_pix
+ WHERE valor_chave = 'chave1001@teste.com' AND data_hora_inativacao IS NULL;
+EXPLAIN (ANALYZE, BUFFERS) SELECT count(*) FROM benchmark.chave_pix
+ WHERE numero_agencia = 1001 AND numero_conta = 250 AND data_hora_inativacao IS NULL;
+
+DROP SCHEMA benchmark CASCADE;
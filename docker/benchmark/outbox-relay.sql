@@ -0,0 +1,24 @@
+-- Mede a vazão do relay da outbox do lado do banco: cada transação do pgbench bloqueia um lote com SKIP LOCKED, lê o
+-- payload e apaga o lote, como PublicarEventosChavePixService faz.
+-- Preparação (com a aplicação já tendo criado chave_pix_evento):
+--   psql -h localhost -U user -d pixdb -v eventos=2000000 -f docker/benchmark/outbox-relay.sql
+-- Execução (eventos por segundo = tps x lote):
+--   pgbench -h localhost -U user -n -c 1 -T 60 -D lote=1000 -f docker/benchmark/outbox-relay.pgbench pixdb
+--   pgbench -h localhost -U user -n -c 4 -j 4 -T 60 -D lote=1000 -f docker/benchmark/outbox-relay.pgbench pixdb
+-- O -c corresponde a chave-pix.outbox.relay.trabalhadores. A preparação precisa ter eventos suficientes para os 60s;
+-- transações que encontram a outbox vazia inflam o tps.
+\set ON_ERROR_STOP on
+\if :{?eventos}
+\else
+\set eventos 2000000
+\endif
+
+TRUNCATE chave_pix_evento;
+INSERT INTO chave_pix_evento (tipo, chave_id, versao, data_hora, payload)
+SELECT 'CHAVE_CADASTRADA', id, 0, now(),
+       json_build_object('id', id, 'tipoChave', 'EMAIL', 'valorChave', 'chave' || n || '@teste.com',
+                         'tipoConta', 'CORRENTE', 'numeroAgencia', n % 10000, 'numeroConta', n,
+                         'nomeCorrentista', 'Carolina', 'sobrenomeCorrentista', 'Andrade',
+                         'dataInclusao', now(), 'dataInativacao', '')::text
+  FROM (SELECT n, gen_random_uuid() AS id FROM generate_series(1, :eventos) AS n) AS chaves;
+VACUUM ANALYZE chave_pix_evento;
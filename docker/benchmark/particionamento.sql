@@ -0,0 +1,73 @@
+-- Latência de busca por valor e de inserção em chave_pix particionada e não particionada.
+-- Uso: psql -h localhost -U user -d pixdb -v linhas=10000000 -v particoes=16 -f docker/benchmark/particionamento.sql
+\set ON_ERROR_STOP on
+\if :{?linhas}
+\else
+\set linhas 10000000
+\endif
+\if :{?particoes}
+\else
+\set particoes 16
+\endif
+
+DROP SCHEMA IF EXISTS benchmark CASCADE;
+CREATE SCHEMA benchmark;
+
+CREATE TABLE benchmark.nao_particionada (
+    id uuid NOT NULL PRIMARY KEY,
+    valor_chave varchar(255) NOT NULL,
+    numero_agencia integer NOT NULL,
+    numero_conta integer NOT NULL,
+    data_hora_inativacao timestamp
+);
+CREATE TABLE benchmark.particionada (LIKE benchmark.nao_particionada INCLUDING DEFAULTS) PARTITION BY HASH (valor_chave);
+SELECT format('CREATE TABLE benchmark.particionada_p%s PARTITION OF benchmark.particionada '
+              'FOR VALUES WITH (MODULUS %s, REMAINDER %s)', p, :particoes, p)
+FROM generate_series(0, :particoes - 1) AS p \gexec
+ALTER TABLE benchmark.particionada ADD PRIMARY KEY (id, valor_chave);
+
+INSERT INTO benchmark.nao_particionada
+SELECT gen_random_uuid(), 'chave' || n || '@teste.com', 1000 + n % 5000, n / 4, NULL
+FROM generate_series(1, :linhas) AS n;
+INSERT INTO benchmark.particionada SELECT * FROM benchmark.nao_particionada;
+
+CREATE UNIQUE INDEX ON benchmark.nao_particionada (valor_chave) WHERE data_hora_inativacao IS NULL;
+CREATE UNIQUE INDEX ON benchmark.particionada (valor_chave) WHERE data_hora_inativacao IS NULL;
+ANALYZE benchmark.nao_particionada;
+ANALYZE benchmark.particionada;
+
+CREATE FUNCTION benchmark.medir(tabela text, linhas bigint) RETURNS TABLE (operacao text, media_us numeric) AS $$
+DECLARE
+    inicio timestamptz;
+    n integer;
+    existe boolean;
+BEGIN
+    inicio := clock_timestamp();
+    FOR n IN 1 .. 100000 LOOP
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM benchmark.%I WHERE valor_chave = $1 AND data_hora_inativacao IS NULL)', tabela)
+            INTO existe USING 'chave' || (1 + floor(random() * linhas)::bigint) || '@teste.com';
+    END LOOP;
+    operacao := 'busca por valor';
+    media_us := round(extract(epoch FROM clock_timestamp() - inicio) * 1e6 / 100000, 2);
+    RETURN NEXT;
+
+    inicio := clock_timestamp();
+    FOR n IN 1 .. 100000 LOOP
+        EXECUTE format('INSERT INTO benchmark.%I VALUES ($1, $2, 1, 1, NULL)', tabela)
+            USING gen_random_uuid(), 'nova' || n || '@teste.com';
+    END LOOP;
+    operacao := 'inserção';
+    media_us := round(extract(epoch FROM clock_timestamp() - inicio) * 1e6 / 100000, 2);
+    RETURN NEXT;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT 'nao_particionada' AS tabela, * FROM benchmark.medir('nao_particionada', :linhas)
+UNION ALL
+SELECT 'particionada', * FROM benchmark.medir('particionada', :linhas);
+
+-- a busca por valor deve ler uma única partição
+EXPLAIN (ANALYZE, COSTS OFF) SELECT 1 FROM benchmark.particionada
+ WHERE valor_chave = 'chave42@teste.com' AND data_hora_inativacao IS NULL;
+
+DROP SCHEMA benchmark CASCADE;
@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Compara o controller síncrono, o profile assincrono e as threads virtuais sob muitas conexões simultâneas, com o hey
+# (https://github.com/rakyll/hey). Suba a aplicação em cada modo e rode o script contra cada uma:
+#   SPRING_PROFILES_ACTIVE=dev mvn spring-boot:run
+#   SPRING_PROFILES_ACTIVE=dev,assincrono mvn spring-boot:run
+#   SPRING_PROFILES_ACTIVE=dev CHAVE_PIX_THREADSVIRTUAIS_HABILITADO=true mvn spring-boot:run
+#   docker/benchmark/requisicoes-concorrentes.sh 5000 60s
+# Ao fim são lidas do actuator as threads vivas e a memória de heap usada, que junto com o req/s e os 503 do hey dão a
+# vazão e o custo de memória por requisição em andamento; o hey mostra a distribuição de latência, e com threads
+# virtuais a fila por conexão sai em chave_pix.datasource.aguardando.
+set -euo pipefail
+
+CONEXOES=${1:-5000}
+DURACAO=${2:-60s}
+URL=${URL:-http://localhost:8080}
+
+ID=$(curl -sf -X POST "$URL/api/v1/chaves-pix" -H 'Content-Type: application/json' -d '{
+  "tipoChave": "EMAIL", "valorChave": "benchmark-'"$RANDOM"'@teste.com", "tipoConta": "CORRENTE",
+  "numeroAgencia": 1, "numeroConta": 1, "nomeCorrentista": "Benchmark", "sobrenomeCorrentista": "Carga",
+  "tipoPessoa": "PESSOA_FISICA"}' | sed -E 's/.*"id":"([^"]+)".*/\1/')
+
+hey -z "$DURACAO" -c "$CONEXOES" "$URL/api/v1/chaves-pix?id=$ID"
+
+metrica() {
+  curl -sf "$URL/actuator/metrics/$1" | sed -E 's/.*"value":([0-9.E+]+).*/\1/'
+}
+echo "threads vivas: $(metrica jvm.threads.live)"
+echo "heap usado (bytes): $(metrica 'jvm.memory.used?tag=area:heap')"
+echo "aguardando conexão: $(metrica chave_pix.datasource.aguardando 2>/dev/null || echo -)"
@@ -0,0 +1,64 @@
+-- Converte chave_pix numa tabela particionada por hash de valor_chave.
+--
+-- Uso: psql -h localhost -U user -d pixdb -v particoes=16 -f docker/migracao/particionar-chave-pix.sql
+--
+-- A cópia roda numa única transação com a tabela travada para escrita (as leituras continuam); a tabela original fica
+-- como chave_pix_nao_particionada para rollback e pode ser removida depois da validação. Com a tabela particionada a
+-- aplicação deve subir com o profile "particionado", que desliga o ddl-auto do Hibernate.
+--
+-- Restrições do particionamento no PostgreSQL: toda chave única precisa conter valor_chave, então a chave primária
+-- passa a ser (id, valor_chave) e a unicidade do id deixa de ser garantida pelo banco (o id é um UUID aleatório
+-- gerado pela aplicação). Consultas por valor_chave leem uma única partição; por id, conta ou nome, todas.
+\set ON_ERROR_STOP on
+\if :{?particoes}
+\else
+\set particoes 16
+\endif
+
+CREATE OR REPLACE FUNCTION particionar_chave_pix(particoes integer) RETURNS void AS $$
+DECLARE
+    particao integer;
+BEGIN
+    IF particoes < 2 THEN
+        RAISE EXCEPTION 'A quantidade de partições deve ser maior que 1: %', particoes;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid
+               WHERE c.relname = 'chave_pix' AND c.relnamespace = current_schema()::regnamespace) THEN
+        RAISE NOTICE 'chave_pix já é particionada';
+        RETURN;
+    END IF;
+
+    LOCK TABLE chave_pix IN EXCLUSIVE MODE;
+
+    CREATE TABLE chave_pix_particionada (LIKE chave_pix INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY HASH (valor_chave);
+
+    FOR particao IN 0 .. particoes - 1 LOOP
+        EXECUTE format('CREATE TABLE chave_pix_p%s PARTITION OF chave_pix_particionada '
+                       'FOR VALUES WITH (MODULUS %s, REMAINDER %s)', particao, particoes, particao);
+    END LOOP;
+
+    INSERT INTO chave_pix_particionada SELECT * FROM chave_pix;
+
+    -- os nomes de índices e constraints são únicos no schema: os da tabela original ganham sufixo
+    ALTER TABLE chave_pix RENAME TO chave_pix_nao_particionada;
+    ALTER TABLE chave_pix_nao_particionada RENAME CONSTRAINT chave_pix_pkey TO chave_pix_nao_particionada_pkey;
+    ALTER INDEX IF EXISTS uk_chave_pix_valor_chave_ativa RENAME TO uk_chave_pix_valor_chave_ativa_np;
+    ALTER INDEX IF EXISTS idx_chave_pix_conta_ativa RENAME TO idx_chave_pix_conta_ativa_np;
+    ALTER INDEX IF EXISTS idx_chave_pix_conta RENAME TO idx_chave_pix_conta_np;
+    ALTER INDEX IF EXISTS idx_chave_pix_agencia_conta RENAME TO idx_chave_pix_agencia_conta_np;
+    ALTER INDEX IF EXISTS idx_chave_pix_nome_id RENAME TO idx_chave_pix_nome_id_np;
+
+    ALTER TABLE chave_pix_particionada RENAME TO chave_pix;
+    ALTER TABLE chave_pix ADD CONSTRAINT chave_pix_pkey PRIMARY KEY (id, valor_chave);
+    CREATE UNIQUE INDEX uk_chave_pix_valor_chave_ativa ON chave_pix (valor_chave) WHERE data_hora_inativacao IS NULL;
+    CREATE INDEX idx_chave_pix_conta_ativa ON chave_pix (numero_agencia, numero_conta) WHERE data_hora_inativacao IS NULL;
+    CREATE INDEX idx_chave_pix_conta ON chave_pix (numero_agencia, numero_conta);
+    CREATE INDEX idx_chave_pix_nome_id ON chave_pix (nome_correntista, id);
+
+    ANALYZE chave_pix;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT particionar_chave_pix(:particoes);
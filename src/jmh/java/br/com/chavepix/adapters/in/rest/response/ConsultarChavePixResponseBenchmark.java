@@ -0,0 +1,73 @@
+package br.com.chavepix.adapters.in.rest.response;
+
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.config.application.JacksonConfig;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de listas de {@link ConsultarChavePixResponse} com o {@link ObjectMapper} da aplicação (o do Boot com o
+ * serializador de nulos de {@link JacksonConfig}), como nas consultas por conta e por nome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultarChavePixResponseBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int tamanho;
+
+    private AnnotationConfigApplicationContext contexto;
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private List<ConsultarChavePixResponse> respostas;
+
+    @Setup
+    public void setUp() {
+        contexto = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class, JacksonConfig.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ConsultarChavePixResponse.class));
+
+        ChavePixResponseMapper mapper = new ChavePixResponseMapper();
+        respostas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            ChavePix chave = new ChavePix(TipoChave.EMAIL, "cliente" + i + "@teste.com", TipoConta.CORRENTE,
+                    TipoPessoa.PESSOA_FISICA, 1234, 567890 + i, "Carolina", "Andrade");
+            respostas.add(mapper.toConsultarResponse(chave));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Como o Spring MVC escreve a resposta: pelo tipo do valor, sem writer pré-montado.
+     */
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(respostas);
+    }
+
+    @Benchmark
+    public byte[] serializarListaComWriterTipado() throws JsonProcessingException {
+        return writer.writeValueAsBytes(respostas);
+    }
+}
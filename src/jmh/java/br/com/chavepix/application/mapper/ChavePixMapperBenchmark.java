@@ -0,0 +1,39 @@
+package br.com.chavepix.application.mapper;
+
+import br.com.chavepix.adapters.out.persistence.ChavePixEntity;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChavePixMapperBenchmark {
+
+    private ChavePix chave;
+    private ChavePixEntity entity;
+
+    @Setup
+    public void setUp() {
+        chave = new ChavePix(TipoChave.EMAIL, "carol@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "Carolina", "Andrade");
+        entity = ChavePixMapper.toEntity(chave);
+    }
+
+    @Benchmark
+    public ChavePixEntity toEntity() {
+        return ChavePixMapper.toEntity(chave);
+    }
+
+    @Benchmark
+    public ChavePix toDomain() {
+        return ChavePixMapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.chavepix.application.mapper;
+
+import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChavePixResponseMapperBenchmark {
+
+    /**
+     * Tamanho padrão e máximo da página de consulta por conta/nome.
+     */
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private final ChavePixResponseMapper mapper = new ChavePixResponseMapper();
+    private ChavePix chave;
+    private List<ChavePix> pagina;
+
+    @Setup
+    public void setUp() {
+        pagina = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            pagina.add(new ChavePix(TipoChave.EMAIL, "cliente" + i + "@teste.com", TipoConta.CORRENTE,
+                    TipoPessoa.PESSOA_FISICA, 1234, 567890 + i, "Carolina", i % 2 == 0 ? "Andrade" : null));
+        }
+        chave = pagina.get(0);
+    }
+
+    @Benchmark
+    public ConsultarChavePixResponse toConsultarResponse() {
+        return mapper.toConsultarResponse(chave);
+    }
+
+    @Benchmark
+    public AlterarChavePixResponse toAlterarResponse() {
+        return mapper.toAlterarResponse(chave);
+    }
+
+    @Benchmark
+    public ResolverChavePixResponse toResolverResponse() {
+        return mapper.toResolverResponse(chave);
+    }
+
+    @Benchmark
+    public List<ConsultarChavePixResponse> toConsultarResponseList() {
+        return mapper.toConsultarResponseList(pagina);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.chavepix.application.validator;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link ChavePixValidator#validarCampos} por tipo de chave, com um valor aceito e um recusado. A recusa inclui
+ * a exceção e a busca da mensagem, como numa requisição inválida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChavePixValidatorBenchmark {
+
+    private static final Map<TipoChave, String[]> VALORES = Map.of(
+            TipoChave.CPF, new String[]{"52998224725", "52998224724"},
+            TipoChave.CNPJ, new String[]{"11222333000181", "11222333000182"},
+            TipoChave.EMAIL, new String[]{"carol@teste.com", "carol.teste.com"},
+            TipoChave.CELULAR, new String[]{"+5511987654321", "11987654321"},
+            TipoChave.ALEATORIA, new String[]{"0123456789abcdefghijABCDEFGHIJ012345", "0123456789abcdefghij-ABCDEFGHIJ01234"});
+
+    @Param({"CPF", "CNPJ", "EMAIL", "CELULAR", "ALEATORIA"})
+    private TipoChave tipoChave;
+
+    @Param({"valido", "invalido"})
+    private String entrada;
+
+    private AnnotationConfigApplicationContext contexto;
+    private ChavePixValidator validator;
+    private String valorChave;
+
+    @Setup
+    public void setUp() {
+        contexto = new AnnotationConfigApplicationContext(MessageConfig.class);
+        validator = new ChavePixValidator(null, null, contexto.getBean(MessageConfig.class));
+        valorChave = VALORES.get(tipoChave)[entrada.equals("valido") ? 0 : 1];
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object validarCampos() {
+        try {
+            validator.validarCampos(tipoChave, valorChave, TipoConta.CORRENTE, 1234, 567890, "Carolina", "Andrade");
+            return valorChave;
+        } catch (UnprocessableEntityException e) {
+            return e;
+        }
+    }
+}
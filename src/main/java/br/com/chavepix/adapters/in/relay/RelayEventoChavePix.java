@@ -0,0 +1,87 @@
+package br.com.chavepix.adapters.in.relay;
+
+import br.com.chavepix.domain.ports.in.PublicarEventosChavePixUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Esvazia a outbox em segundo plano: cada trabalhador publica lotes seguidos enquanto vierem cheios e só espera o
+ * intervalo quando a outbox fica vazia, então a vazão sob carga depende do tamanho do lote e não do intervalo.
+ * <p>
+ * Com mais de um trabalhador os lotes são publicados em paralelo e a ordem entre lotes deixa de ser garantida; a ordem
+ * das mudanças de uma mesma chave continua recuperável pela versão do evento.
+ */
+@Slf4j
+public class RelayEventoChavePix implements AutoCloseable {
+
+    private final PublicarEventosChavePixUseCase useCase;
+    private final int tamanhoLote;
+    private final Duration intervalo;
+    private final int trabalhadores;
+    private final Counter publicados;
+    private final ExecutorService executor;
+
+    private volatile boolean ativo;
+
+    public RelayEventoChavePix(PublicarEventosChavePixUseCase useCase, int tamanhoLote, Duration intervalo,
+                               int trabalhadores, ThreadFactory threads, MeterRegistry meterRegistry) {
+        this.useCase = useCase;
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+        this.trabalhadores = trabalhadores;
+        this.publicados = Counter.builder("chave_pix.outbox.eventos_publicados").register(meterRegistry);
+
+        this.executor = Executors.newFixedThreadPool(trabalhadores, threads);
+    }
+
+    public void iniciar() {
+        ativo = true;
+        for (int i = 0; i < trabalhadores; i++) {
+            executor.execute(this::executar);
+        }
+        log.info("Relay de eventos de chave Pix iniciado: {} trabalhadores, lotes de {}", trabalhadores, tamanhoLote);
+    }
+
+    private void executar() {
+        while (ativo && !Thread.currentThread().isInterrupted()) {
+            try {
+                int quantidade = useCase.publicarPendentes(tamanhoLote);
+                publicados.increment(quantidade);
+                if (quantidade < tamanhoLote) {
+                    aguardar();
+                }
+            } catch (RuntimeException e) {
+                log.error("Falha ao publicar eventos de chave Pix; o lote fica pendente para a próxima tentativa", e);
+                aguardar();
+            }
+        }
+    }
+
+    private void aguardar() {
+        try {
+            Thread.sleep(intervalo.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Interrompe os trabalhadores e espera o lote em andamento terminar; um lote interrompido no meio tem a transação
+     * desfeita e é publicado de novo na próxima subida.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        ativo = false;
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Relay de eventos de chave Pix não terminou o lote em andamento a tempo");
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.chavepix.adapters.in.rest;
+
+import br.com.chavepix.adapters.in.rest.request.AlterarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+import br.com.chavepix.config.application.AssincronoConfig;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.ports.in.AlterarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixLoteUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ConsultarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ExportarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.InativarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ResolverChavePixUseCase;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Mesma API do {@link ChavePixController}, no perfil {@code assincrono}: as operações sobre uma chave rodam no executor
+ * de {@link AssincronoConfig} e a thread do Tomcat é liberada enquanto o banco responde. As regras continuam todas nos
+ * casos de uso e no {@link ChavePixController}, a quem cada operação é repassada. O lote e a exportação seguem como no
+ * controller síncrono; a exportação já é servida de forma assíncrona.
+ */
+@Validated
+@RestController
+@Profile("assincrono")
+@RequestMapping("/api/v1/chaves-pix")
+public class ChavePixAssincronoController {
+
+    private final ChavePixController controller;
+    private final AsyncTaskExecutor executor;
+    private final long timeout;
+
+    public ChavePixAssincronoController(
+            CadastrarChavePixUseCase cadastrarService,
+            CadastrarChavePixLoteUseCase cadastrarLoteService,
+            AlterarChavePixUseCase alterarService,
+            InativarChavePixUseCase inativarService,
+            ConsultarChavePixUseCase consultarService,
+            ResolverChavePixUseCase resolverService,
+            ExportarChavePixUseCase exportarService,
+            MessageConfig messageConfig,
+            @Qualifier(AssincronoConfig.EXECUTOR_REQUISICOES) AsyncTaskExecutor executor,
+            @Value("${chave-pix.web.assincrono.timeout:10s}") Duration timeout
+    ) {
+        this.controller = new ChavePixController(cadastrarService, cadastrarLoteService, alterarService,
+                inativarService, consultarService, resolverService, exportarService, messageConfig);
+        this.executor = executor;
+        this.timeout = timeout.toMillis();
+    }
+
+    @PostMapping
+    public WebAsyncTask<ResponseEntity<CadastrarChavePixResponse>> cadastrar(
+            @RequestBody @Valid CadastrarChavePixRequest request
+    ) {
+        return executar(() -> controller.cadastrar(request));
+    }
+
+    @PostMapping("/lote")
+    public ResponseEntity<List<CadastrarChavePixLoteResponse>> cadastrarLote(
+            @RequestBody List<CadastrarChavePixRequest> requests
+    ) {
+        return controller.cadastrarLote(requests);
+    }
+
+    @PutMapping("/{id}")
+    public WebAsyncTask<ResponseEntity<AlterarChavePixResponse>> alterar(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid AlterarChavePixRequest request
+    ) {
+        return executar(() -> controller.alterar(id, ifMatch, request));
+    }
+
+    @PatchMapping("/{id}/inativacao")
+    public WebAsyncTask<ResponseEntity<InativarChavePixResponse>> inativar(@PathVariable UUID id) {
+        return executar(() -> controller.inativar(id));
+    }
+
+    @GetMapping("/valor/{valorChave}")
+    public WebAsyncTask<ResponseEntity<ResolverChavePixResponse>> resolver(@PathVariable String valorChave) {
+        return executar(() -> controller.resolver(valorChave));
+    }
+
+    @GetMapping(value = "/exportacao", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return controller.exportar();
+    }
+
+    @GetMapping
+    public WebAsyncTask<ResponseEntity<?>> consultarChavePix(
+            @RequestParam(value = "id", required = false) UUID id,
+            @RequestParam(value = "agencia", required = false) Integer agencia,
+            @RequestParam(value = "numeroConta", required = false) Integer numeroConta,
+            @RequestParam(value = "nomeCorrentista", required = false) String nomeCorrentista,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) UUID cursor
+    ) {
+        return executar(() -> controller.consultarChavePix(id, agencia, numeroConta, nomeCorrentista, limit, cursor));
+    }
+
+    /**
+     * Fila cheia e tempo esgotado chegam ao {@link ControllerAdvice} como exceções e viram 503.
+     */
+    private <T> WebAsyncTask<T> executar(Callable<T> operacao) {
+        return new WebAsyncTask<>(timeout, executor, operacao);
+    }
+}
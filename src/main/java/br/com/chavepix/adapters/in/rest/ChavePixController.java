@@ -3,33 +3,53 @@ package br.com.chavepix.adapters.in.rest;
 import br.com.chavepix.adapters.in.rest.request.AlterarChavePixRequest;
 import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
 import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
 import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
 import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.ChavePixException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
 import br.com.chavepix.domain.ports.in.AlterarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixLoteUseCase;
 import br.com.chavepix.domain.ports.in.CadastrarChavePixUseCase;
 import br.com.chavepix.domain.ports.in.ConsultarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ExportarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.InativarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ResolverChavePixUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
 
 import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.FILTRO_ID_COMBINADO;
 import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.FILTRO_INVALIDO;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.HEADER_FIELD_INVALID;
 
+@Validated
 @RestController
+@Profile("!assincrono")
 @RequestMapping("/api/v1/chaves-pix")
 @RequiredArgsConstructor
 public class ChavePixController {
 
     private final CadastrarChavePixUseCase cadastrarService;
+    private final CadastrarChavePixLoteUseCase cadastrarLoteService;
     private final AlterarChavePixUseCase alterarService;
+    private final InativarChavePixUseCase inativarService;
     private final ConsultarChavePixUseCase consultarService;
+    private final ResolverChavePixUseCase resolverService;
+    private final ExportarChavePixUseCase exportarService;
     private final MessageConfig messageConfig;
 
 
@@ -48,13 +68,23 @@ public class ChavePixController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<CadastrarChavePixLoteResponse>> cadastrarLote(
+            @RequestBody List<CadastrarChavePixRequest> requests
+    ) {
+        List<CadastrarChavePixLoteResponse> response = cadastrarLoteService.cadastrarChaves(requests);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AlterarChavePixResponse> alterar(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid AlterarChavePixRequest request
     ) {
         AlterarChavePixResponse response = alterarService.alterarChave(
                 id,
+                versaoDoIfMatch(ifMatch),
                 request.getTipoChave(),
                 request.getValorChave(),
                 request.getTipoConta(),
@@ -63,15 +93,37 @@ public class ChavePixController {
                 request.getNomeCorrentista(),
                 request.getSobrenomeCorrentista()
         );
+        return ResponseEntity.ok().eTag(String.valueOf(response.getVersao())).body(response);
+    }
+
+    @PatchMapping("/{id}/inativacao")
+    public ResponseEntity<InativarChavePixResponse> inativar(@PathVariable UUID id) {
+        InativarChavePixResponse response = inativarService.inativarChave(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/valor/{valorChave}")
+    public ResponseEntity<ResolverChavePixResponse> resolver(@PathVariable String valorChave) {
+        ResolverChavePixResponse response = resolverService.resolverChave(valorChave);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/exportacao", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = exportarService::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
+    }
+
     @GetMapping
     public ResponseEntity<?> consultarChavePix(
             @RequestParam(value = "id", required = false) UUID id,
             @RequestParam(value = "agencia", required = false) Integer agencia,
             @RequestParam(value = "numeroConta", required = false) Integer numeroConta,
-            @RequestParam(value = "nomeCorrentista", required = false) String nomeCorrentista
+            @RequestParam(value = "nomeCorrentista", required = false) String nomeCorrentista,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) UUID cursor
     ) {
         boolean outrosFiltros = agencia != null || numeroConta != null || nomeCorrentista != null;
         if (id != null && outrosFiltros) {
@@ -81,7 +133,7 @@ public class ChavePixController {
         try {
             if (id != null) {
                 var resposta = consultarService.consultarPorId(id);
-                return ResponseEntity.ok(resposta);
+                return ResponseEntity.ok().eTag(String.valueOf(resposta.getVersao())).body(resposta);
             }
 
             if (agencia != null && numeroConta != null) {
@@ -90,7 +142,7 @@ public class ChavePixController {
             }
 
             if (nomeCorrentista != null) {
-                var resposta = consultarService.consultarPorNome(nomeCorrentista);
+                var resposta = consultarService.consultarPorNome(nomeCorrentista, limit, cursor);
                 return ResponseEntity.ok(resposta);
             }
 
@@ -101,4 +153,21 @@ public class ChavePixController {
         }
     }
 
+    /**
+     * O ETag das respostas é a versão da chave; sem If-Match, ou com "*", a alteração usa a versão lida.
+     */
+    private Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.valueOf(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(HEADER_FIELD_INVALID, messageConfig.getMessage(HEADER_FIELD_INVALID, HttpHeaders.IF_MATCH));
+        }
+    }
 }
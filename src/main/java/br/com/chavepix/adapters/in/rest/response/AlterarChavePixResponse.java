@@ -2,6 +2,7 @@ package br.com.chavepix.adapters.in.rest.response;
 
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,10 @@ public class AlterarChavePixResponse {
     private String nomeCorrentista;
     private String sobrenomeCorrentista;
     private LocalDateTime dataInclusao;
+
+    /**
+     * Devolvida no cabeçalho ETag, não no corpo.
+     */
+    @JsonIgnore
+    private Long versao;
 }
@@ -0,0 +1,20 @@
+package br.com.chavepix.adapters.in.rest.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CadastrarChavePixLoteResponse {
+    private Integer indice;
+    private String valorChave;
+    private UUID id;
+    private String codigo;
+    private String mensagem;
+}
@@ -0,0 +1,18 @@
+package br.com.chavepix.adapters.in.rest.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultarChavePixPaginaResponse {
+    private List<ConsultarChavePixResponse> chaves;
+    private UUID proximoCursor;
+}
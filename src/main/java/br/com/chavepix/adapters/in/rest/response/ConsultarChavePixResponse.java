@@ -2,6 +2,7 @@ package br.com.chavepix.adapters.in.rest.response;
 
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,4 +26,10 @@ public class ConsultarChavePixResponse {
     private String sobrenomeCorrentista;
     private LocalDateTime dataInclusao;
     private LocalDateTime dataInativacao;
+
+    /**
+     * Devolvida no cabeçalho ETag, não no corpo.
+     */
+    @JsonIgnore
+    private Long versao;
 }
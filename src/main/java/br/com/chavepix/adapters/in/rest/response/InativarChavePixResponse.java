@@ -0,0 +1,18 @@
+package br.com.chavepix.adapters.in.rest.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InativarChavePixResponse {
+    private UUID id;
+    private LocalDateTime dataInativacao;
+}
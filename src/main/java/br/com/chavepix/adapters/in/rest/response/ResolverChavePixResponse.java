@@ -0,0 +1,24 @@
+package br.com.chavepix.adapters.in.rest.response;
+
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolverChavePixResponse {
+    private TipoChave tipoChave;
+    private String valorChave;
+    private TipoConta tipoConta;
+    private TipoPessoa tipoPessoa;
+    private Integer numeroAgencia;
+    private Integer numeroConta;
+    private String nomeCorrentista;
+    private String sobrenomeCorrentista;
+}
@@ -0,0 +1,66 @@
+package br.com.chavepix.adapters.out.auditoria;
+
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Arquivo local com uma linha JSON por registro de auditoria que não coube na fila ou não pôde ser gravado no banco.
+ * As escritas são serializadas por um {@link ReentrantLock} e não por {@code synchronized}: uma thread virtual
+ * esperando o disco dentro de um monitor prende a thread carregadora.
+ */
+public class ArquivoTransbordoAuditoria implements Closeable {
+
+    private final ObjectWriter writer;
+    private final BufferedWriter arquivo;
+    private final ReentrantLock escrita = new ReentrantLock();
+
+    public ArquivoTransbordoAuditoria(ObjectMapper objectMapper, Path caminho) throws IOException {
+        this.writer = objectMapper.writerFor(RegistroAuditoria.class);
+        if (caminho.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(caminho.toAbsolutePath().getParent());
+        }
+        this.arquivo = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public void escrever(RegistroAuditoria registro) {
+        escreverTodos(List.of(registro));
+    }
+
+    public void escreverTodos(List<RegistroAuditoria> registros) {
+        escrita.lock();
+        try {
+            for (RegistroAuditoria registro : registros) {
+                arquivo.write(writer.writeValueAsString(registro));
+                arquivo.newLine();
+            }
+            arquivo.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        escrita.lock();
+        try {
+            arquivo.close();
+        } finally {
+            escrita.unlock();
+        }
+    }
+}
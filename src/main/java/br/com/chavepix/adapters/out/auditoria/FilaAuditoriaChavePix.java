@@ -0,0 +1,214 @@
+package br.com.chavepix.adapters.out.auditoria;
+
+import br.com.chavepix.config.application.UsuarioRequisicaoFilter;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.RegistroAuditoriaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auditoria com escrita adiada: as requisições só colocam o registro numa fila limitada e uma thread escritora grava a
+ * fila no banco em lotes, fora do caminho da requisição. A escritora grava lotes seguidos enquanto vierem cheios e só
+ * espera o intervalo quando a fila fica vazia, como o relay da outbox.
+ * <p>
+ * Com a fila cheia vale o {@link ModoTransbordoAuditoria}. Se a gravação de um lote falha, no modo arquivo o lote vai
+ * para o transbordo; nos outros a escritora tenta o mesmo lote de novo e a fila enche até o banco voltar.
+ */
+@Slf4j
+public class FilaAuditoriaChavePix implements AuditoriaChavePix, AutoCloseable {
+
+    private static final long ESPERA_VAGA_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final Duration TEMPO_MAXIMO_ENCERRAMENTO = Duration.ofSeconds(10);
+
+    private final FilaLimitada<RegistroAuditoria> fila;
+    private final RegistroAuditoriaRepository repository;
+    private final ModoTransbordoAuditoria modo;
+    private final ArquivoTransbordoAuditoria transbordo;
+    private final int tamanhoLote;
+    private final Duration intervalo;
+    private final Counter gravados;
+    private final Counter descartados;
+    private final Counter transbordados;
+    private final Thread escritor;
+    private final List<RegistroAuditoria> loteEmAndamento;
+
+    private volatile boolean ativo;
+
+    public FilaAuditoriaChavePix(RegistroAuditoriaRepository repository, int capacidade, int tamanhoLote,
+                                 Duration intervalo, ModoTransbordoAuditoria modo,
+                                 ArquivoTransbordoAuditoria transbordo, ThreadFactory threads,
+                                 MeterRegistry meterRegistry) {
+        if (modo == ModoTransbordoAuditoria.ARQUIVO && transbordo == null) {
+            throw new IllegalArgumentException("o modo de transbordo arquivo exige o arquivo de transbordo");
+        }
+        this.fila = new FilaLimitada<>(capacidade);
+        this.repository = repository;
+        this.modo = modo;
+        this.transbordo = transbordo;
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+        this.loteEmAndamento = new ArrayList<>(tamanhoLote);
+        this.gravados = Counter.builder("chave_pix.auditoria.gravados").register(meterRegistry);
+        this.descartados = Counter.builder("chave_pix.auditoria.descartados").register(meterRegistry);
+        this.transbordados = Counter.builder("chave_pix.auditoria.transbordados").register(meterRegistry);
+        Gauge.builder("chave_pix.auditoria.pendentes", fila, FilaLimitada::tamanho).register(meterRegistry);
+
+        this.escritor = threads.newThread(this::executar);
+    }
+
+    public void iniciar() {
+        ativo = true;
+        escritor.start();
+        log.info("Auditoria de chaves Pix iniciada: lotes de {}, transbordo {}", tamanhoLote, modo);
+    }
+
+    @Override
+    public void registrar(OperacaoAuditoria operacao, UUID chaveId) {
+        enfileirar(new RegistroAuditoria(operacao, chaveId, usuarioAtual(), LocalDateTime.now()));
+    }
+
+    @Override
+    public void registrarTodos(OperacaoAuditoria operacao, Collection<UUID> chaveIds) {
+        String usuario = usuarioAtual();
+        LocalDateTime dataHora = LocalDateTime.now();
+        for (UUID chaveId : chaveIds) {
+            enfileirar(new RegistroAuditoria(operacao, chaveId, usuario, dataHora));
+        }
+    }
+
+    private void enfileirar(RegistroAuditoria registro) {
+        if (fila.oferecer(registro)) {
+            return;
+        }
+        switch (modo) {
+            case BLOQUEAR -> aguardarVaga(registro);
+            case DESCARTAR -> descartados.increment();
+            case ARQUIVO -> transbordar(List.of(registro));
+        }
+    }
+
+    /**
+     * Espera sem lock, tentando de novo a cada 100µs; a escritora não precisa avisar os produtores quando abre vaga.
+     * Depois do encerramento não há quem esvazie a fila, e o registro é descartado.
+     */
+    private void aguardarVaga(RegistroAuditoria registro) {
+        while (!fila.oferecer(registro)) {
+            if (!ativo || Thread.currentThread().isInterrupted()) {
+                descartados.increment();
+                return;
+            }
+            LockSupport.parkNanos(ESPERA_VAGA_NANOS);
+        }
+    }
+
+    private void executar() {
+        while (ativo) {
+            if (loteEmAndamento.isEmpty()) {
+                fila.drenar(loteEmAndamento, tamanhoLote);
+            }
+            if (loteEmAndamento.isEmpty()) {
+                aguardar();
+                continue;
+            }
+
+            boolean cheio = loteEmAndamento.size() == tamanhoLote;
+            if (gravar(loteEmAndamento)) {
+                loteEmAndamento.clear();
+                if (!cheio) {
+                    aguardar();
+                }
+            } else {
+                aguardar();
+            }
+        }
+    }
+
+    private boolean gravar(List<RegistroAuditoria> lote) {
+        try {
+            repository.gravarTodos(lote);
+            gravados.increment(lote.size());
+            return true;
+        } catch (RuntimeException e) {
+            if (modo == ModoTransbordoAuditoria.ARQUIVO) {
+                log.error("Falha ao gravar {} registros de auditoria; o lote vai para o arquivo de transbordo", lote.size(), e);
+                transbordar(lote);
+                return true;
+            }
+            log.error("Falha ao gravar {} registros de auditoria; nova tentativa em {}", lote.size(), intervalo, e);
+            return false;
+        }
+    }
+
+    private void transbordar(List<RegistroAuditoria> registros) {
+        try {
+            transbordo.escreverTodos(registros);
+            transbordados.increment(registros.size());
+        } catch (UncheckedIOException e) {
+            log.error("Falha ao gravar {} registros de auditoria no arquivo de transbordo; registros descartados",
+                    registros.size(), e);
+            descartados.increment(registros.size());
+        }
+    }
+
+    private void aguardar() {
+        try {
+            Thread.sleep(intervalo.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ativo = false;
+        }
+    }
+
+    private static String usuarioAtual() {
+        String usuario = MDC.get(UsuarioRequisicaoFilter.MDC_USUARIO);
+        return usuario == null ? UsuarioRequisicaoFilter.USUARIO_ANONIMO : usuario;
+    }
+
+    /**
+     * Para a escritora e grava o que restou na fila antes de o pool de conexões fechar. O que não puder ser gravado
+     * vai para o transbordo, no modo arquivo, ou é descartado com log de erro.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        ativo = false;
+        escritor.join(TEMPO_MAXIMO_ENCERRAMENTO.toMillis());
+
+        List<RegistroAuditoria> restantes = new ArrayList<>();
+        if (escritor.isAlive()) {
+            log.warn("Escritora da auditoria de chaves Pix não terminou o lote em andamento a tempo");
+        } else {
+            restantes.addAll(loteEmAndamento);
+        }
+        fila.drenar(restantes, Integer.MAX_VALUE);
+
+        for (int inicio = 0; inicio < restantes.size(); inicio += tamanhoLote) {
+            List<RegistroAuditoria> lote = restantes.subList(inicio, Math.min(inicio + tamanhoLote, restantes.size()));
+            if (!gravar(lote)) {
+                log.error("{} registros de auditoria perdidos no encerramento", lote.size());
+                descartados.increment(lote.size());
+            }
+        }
+        log.info("Auditoria de chaves Pix encerrada com {} registros pendentes", restantes.size());
+
+        if (transbordo != null) {
+            transbordo.close();
+        }
+    }
+}
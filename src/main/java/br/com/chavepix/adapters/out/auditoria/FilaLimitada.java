@@ -0,0 +1,60 @@
+package br.com.chavepix.adapters.out.auditoria;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila limitada sem locks para muitos produtores e um consumidor. A {@link ConcurrentLinkedQueue} não tem limite e a
+ * {@link java.util.concurrent.ArrayBlockingQueue} usa um lock único, disputado por todas as requisições; aqui a vaga é
+ * reservada por CAS num contador antes de o item entrar na fila.
+ * <p>
+ * O contador pode passar um instante à frente da fila (vaga reservada, item ainda não inserido), nunca atrás, então a
+ * capacidade nunca é ultrapassada.
+ */
+class FilaLimitada<T> {
+
+    private final ConcurrentLinkedQueue<T> itens = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final int capacidade;
+
+    FilaLimitada(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("capacidade deve ser positiva");
+        }
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Retorna {@code false}, sem esperar, quando a fila está cheia.
+     */
+    boolean oferecer(T item) {
+        int atual;
+        do {
+            atual = tamanho.get();
+            if (atual >= capacidade) {
+                return false;
+            }
+        } while (!tamanho.compareAndSet(atual, atual + 1));
+        itens.offer(item);
+        return true;
+    }
+
+    /**
+     * Move até {@code maximo} itens para {@code destino}, na ordem de chegada, e retorna quantos foram movidos.
+     */
+    int drenar(Collection<? super T> destino, int maximo) {
+        int movidos = 0;
+        T item;
+        while (movidos < maximo && (item = itens.poll()) != null) {
+            destino.add(item);
+            movidos++;
+        }
+        tamanho.addAndGet(-movidos);
+        return movidos;
+    }
+
+    int tamanho() {
+        return tamanho.get();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.chavepix.adapters.out.auditoria;
+
+/**
+ * O que acontece com um registro de auditoria quando a fila está cheia.
+ */
+public enum ModoTransbordoAuditoria {
+
+    /** A requisição espera uma vaga na fila. */
+    BLOQUEAR,
+
+    /** O registro é descartado e contado em {@code chave_pix.auditoria.descartados}. */
+    DESCARTAR,
+
+    /** O registro é gravado no arquivo local de transbordo, para ser carregado depois. */
+    ARQUIVO
+}
@@ -0,0 +1,90 @@
+package br.com.chavepix.adapters.out.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter de strings, seguro para uso concorrente e sem locks.
+ * <p>
+ * O número de bits e de funções de hash é calculado a partir da capacidade esperada e da taxa de falso positivo
+ * desejada. As posições são obtidas por double hashing sobre dois hashes de 64 bits do valor.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+    private final AtomicLong bitsAtivos = new AtomicLong();
+
+    public BloomFilter(long capacidadeEsperada, double taxaFalsoPositivo) {
+        if (capacidadeEsperada <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa de falso positivo entre 0 e 1.");
+        }
+        long m = (long) Math.ceil(-capacidadeEsperada * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.quantidadeBits = Math.max(64, m);
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidadeEsperada * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((quantidadeBits + 63) / 64));
+    }
+
+    public void adicionar(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            if (ativar(posicao)) {
+                bitsAtivos.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean podeConter(String valor) {
+        long hash1 = hash(valor, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(valor, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(hash1 + i * hash2, quantidadeBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double taxaPreenchimento() {
+        return (double) bitsAtivos.get() / quantidadeBits;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    private boolean ativar(long posicao) {
+        int indice = (int) (posicao >>> 6);
+        long mascara = 1L << posicao;
+        long atual;
+        do {
+            atual = bits.get(indice);
+            if ((atual & mascara) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(indice, atual, atual | mascara));
+        return true;
+    }
+
+    private static long hash(String valor, long semente) {
+        long h = semente;
+        for (int i = 0; i < valor.length(); i++) {
+            h = (h ^ valor.charAt(i)) * 0x100000001B3L;
+        }
+        // finalizador do murmur3 para espalhar os bits do FNV
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
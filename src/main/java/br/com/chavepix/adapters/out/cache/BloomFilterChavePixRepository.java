@@ -0,0 +1,116 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator do {@link ChavePixRepository} que responde "não existe" para {@link #chaveJaExiste(String)} sem ir ao banco
+ * quando o valor não está no {@link BloomFilter}.
+ * <p>
+ * O filtro é carregado em {@link #carregar()} lendo todos os valores da tabela e recebe cada valor gravado por esta
+ * instância. Enquanto a carga não termina, toda consulta vai ao banco. Valores gravados por outras instâncias só entram
+ * na próxima carga; para esses casos a constraint única de valor_chave continua sendo a garantia final.
+ */
+@Slf4j
+public class BloomFilterChavePixRepository extends ChavePixRepositoryDecorator {
+
+    private final BloomFilter bloomFilter;
+    private final AtomicLong negativasSemConsulta = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private volatile boolean carregado;
+
+    public BloomFilterChavePixRepository(ChavePixRepository delegate, BloomFilter bloomFilter) {
+        super(delegate);
+        this.bloomFilter = bloomFilter;
+    }
+
+    public void carregar() {
+        log.info("Carregando bloom filter de chaves Pix");
+        AtomicLong quantidade = new AtomicLong();
+        delegate.percorrerValoresChave(valor -> {
+            bloomFilter.adicionar(valor);
+            quantidade.incrementAndGet();
+        });
+        carregado = true;
+        log.info("Bloom filter de chaves Pix carregado: {} valores, taxa de preenchimento {}", quantidade.get(), bloomFilter.taxaPreenchimento());
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    public double taxaPreenchimento() {
+        return bloomFilter.taxaPreenchimento();
+    }
+
+    public long getNegativasSemConsulta() {
+        return negativasSemConsulta.get();
+    }
+
+    public long getFalsosPositivos() {
+        return falsosPositivos.get();
+    }
+
+    @Override
+    public boolean chaveJaExiste(String valorChave) {
+        if (carregado && !bloomFilter.podeConter(valorChave)) {
+            negativasSemConsulta.incrementAndGet();
+            return false;
+        }
+
+        boolean existe = delegate.chaveJaExiste(valorChave);
+        if (carregado && !existe) {
+            falsosPositivos.incrementAndGet();
+        }
+        return existe;
+    }
+
+    @Override
+    public Set<String> buscarChavesExistentes(Collection<String> valoresChave) {
+        if (!carregado) {
+            return delegate.buscarChavesExistentes(valoresChave);
+        }
+
+        List<String> talvezExistentes = valoresChave.stream()
+                .filter(bloomFilter::podeConter)
+                .toList();
+        negativasSemConsulta.addAndGet(valoresChave.size() - talvezExistentes.size());
+        if (talvezExistentes.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> existentes = delegate.buscarChavesExistentes(talvezExistentes);
+        falsosPositivos.addAndGet(talvezExistentes.size() - existentes.size());
+        return existentes;
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        delegate.salvar(chavePix);
+        bloomFilter.adicionar(chavePix.getValorChave());
+    }
+
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        boolean atualizada = delegate.atualizar(chavePix);
+        if (atualizada) {
+            bloomFilter.adicionar(chavePix.getValorChave());
+        }
+        return atualizada;
+    }
+
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        boolean[] gravadas = delegate.salvarTodos(chavesPix);
+        for (int i = 0; i < gravadas.length; i++) {
+            if (gravadas[i]) {
+                bloomFilter.adicionar(chavesPix.get(i).getValorChave());
+            }
+        }
+        return gravadas;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.LOG_CACHE_MISS;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.LOG_CACHE_UPDATE;
+
+/**
+ * Decorator do {@link ChavePixRepository} que mantém em memória as chaves consultadas por id.
+ * <p>
+ * O cache é limitado por quantidade de entradas e por tempo desde a escrita; toda escrita feita por esta instância
+ * invalida as entradas afetadas antes de gravar e depois que a transação termina, e as leituras de uma transação de
+ * escrita vão direto ao banco (ver {@link CoordenacaoEscritas}).
+ * Como {@link ChavePix} é mutável, o cache guarda e devolve cópias.
+ */
+@Slf4j
+public class CachingChavePixRepository extends ChavePixRepositoryDecorator {
+
+    private static final String ENTIDADE = "ChavePix";
+
+    private final MessageConfig messageConfig;
+    private final Cache<UUID, ChavePix> cachePorId;
+    private final CoordenacaoEscritas<UUID, ChavePix> escritas;
+
+    public CachingChavePixRepository(ChavePixRepository delegate, MessageConfig messageConfig,
+                                     long tamanhoMaximo, Duration expiracao) {
+        this(delegate, messageConfig, tamanhoMaximo, expiracao, Ticker.systemTicker());
+    }
+
+    CachingChavePixRepository(ChavePixRepository delegate, MessageConfig messageConfig,
+                              long tamanhoMaximo, Duration expiracao, Ticker ticker) {
+        super(delegate);
+        this.messageConfig = messageConfig;
+        this.cachePorId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        this.escritas = new CoordenacaoEscritas<>(cachePorId);
+    }
+
+    public Cache<UUID, ChavePix> getCachePorId() {
+        return cachePorId;
+    }
+
+    public CacheStats estatisticas() {
+        return cachePorId.stats();
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorId(UUID id) {
+        if (CoordenacaoEscritas.emTransacaoDeEscrita()) {
+            return delegate.buscarPorId(id);
+        }
+        ChavePix emCache = cachePorId.getIfPresent(id);
+        if (emCache != null) {
+            return Optional.of(copiar(emCache));
+        }
+
+        log.debug(messageConfig.getMessage(LOG_CACHE_MISS), ENTIDADE, id);
+        long marca = escritas.marcar(id);
+        Optional<ChavePix> chave = delegate.buscarPorId(id);
+        chave.ifPresent(encontrada -> {
+            log.debug(messageConfig.getMessage(LOG_CACHE_UPDATE), ENTIDADE, id);
+            escritas.guardar(id, copiar(encontrada), marca);
+        });
+        return chave;
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        escrever(List.of(chavePix.getId()), () -> {
+            delegate.salvar(chavePix);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        return escrever(List.of(chavePix.getId()), () -> delegate.atualizar(chavePix));
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        return escrever(List.of(id), () -> delegate.inativar(id, dataHoraInativacao));
+    }
+
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        return escrever(chavesPix.stream().map(ChavePix::getId).toList(), () -> delegate.salvarTodos(chavesPix));
+    }
+
+    private <T> T escrever(List<UUID> ids, Supplier<T> escrita) {
+        return escritas.escrever(ids, () -> cachePorId.invalidateAll(ids), escrita);
+    }
+}
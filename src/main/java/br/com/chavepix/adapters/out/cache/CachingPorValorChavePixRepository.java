@@ -0,0 +1,147 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator do {@link ChavePixRepository} que mantém em memória a resolução de chaves por valor.
+ * <p>
+ * Guarda também as consultas sem resultado, com uma expiração menor, para que valores inexistentes muito consultados
+ * não cheguem ao banco. Como a alteração de uma chave pode trocar o seu valor, o decorator mantém o valor em cache de
+ * cada id para invalidar a entrada antiga quando a chave é gravada por esta instância. As invalidações acontecem antes
+ * da gravação e de novo depois que a transação termina (ver {@link CoordenacaoEscritas}): sem a segunda, uma resolução
+ * entre a gravação e o commit guardaria como ativa uma chave recém-inativada, ou como inexistente um valor recém-cadastrado.
+ */
+public class CachingPorValorChavePixRepository extends ChavePixRepositoryDecorator {
+
+    private final Cache<String, Optional<ChavePix>> cachePorValor;
+    private final Map<UUID, String> valorPorId = new ConcurrentHashMap<>();
+    private final CoordenacaoEscritas<String, Optional<ChavePix>> escritas;
+
+    public CachingPorValorChavePixRepository(ChavePixRepository delegate, long tamanhoMaximo,
+                                             Duration expiracao, Duration expiracaoNegativa) {
+        this(delegate, tamanhoMaximo, expiracao, expiracaoNegativa, Ticker.systemTicker());
+    }
+
+    CachingPorValorChavePixRepository(ChavePixRepository delegate, long tamanhoMaximo,
+                                      Duration expiracao, Duration expiracaoNegativa, Ticker ticker) {
+        super(delegate);
+        this.cachePorValor = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoPorResultado(expiracao.toNanos(), expiracaoNegativa.toNanos()))
+                .removalListener(this::removerIndice)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        this.escritas = new CoordenacaoEscritas<>(cachePorValor);
+    }
+
+    public Cache<String, Optional<ChavePix>> getCachePorValor() {
+        return cachePorValor;
+    }
+
+    public CacheStats estatisticas() {
+        return cachePorValor.stats();
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorValor(String valorChave) {
+        if (CoordenacaoEscritas.emTransacaoDeEscrita()) {
+            return delegate.buscarPorValor(valorChave);
+        }
+        Optional<ChavePix> emCache = cachePorValor.getIfPresent(valorChave);
+        if (emCache != null) {
+            return emCache.map(ChavePixRepositoryDecorator::copiar);
+        }
+
+        long marca = escritas.marcar(valorChave);
+        Optional<ChavePix> chave = delegate.buscarPorValor(valorChave);
+        escritas.guardar(valorChave, chave.map(ChavePixRepositoryDecorator::copiar), marca);
+        chave.ifPresent(encontrada -> {
+            if (cachePorValor.asMap().containsKey(valorChave)) {
+                valorPorId.put(encontrada.getId(), valorChave);
+            }
+        });
+        return chave;
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        escritas.escrever(List.of(chavePix.getValorChave()), () -> invalidar(chavePix), () -> {
+            delegate.salvar(chavePix);
+            return null;
+        });
+    }
+
+    /**
+     * O valor anterior só é conhecido se estiver em cache, então a alteração afeta todas as leituras em andamento.
+     */
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        return escritas.escreverTodas(() -> invalidar(chavePix), () -> delegate.atualizar(chavePix));
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        return escritas.escreverTodas(() -> invalidarValorDoId(id), () -> delegate.inativar(id, dataHoraInativacao));
+    }
+
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        return escritas.escrever(chavesPix.stream().map(ChavePix::getValorChave).toList(),
+                () -> chavesPix.forEach(this::invalidar), () -> delegate.salvarTodos(chavesPix));
+    }
+
+    private void invalidar(ChavePix chavePix) {
+        invalidarValorDoId(chavePix.getId());
+        cachePorValor.invalidate(chavePix.getValorChave());
+    }
+
+    private void invalidarValorDoId(UUID id) {
+        String valor = valorPorId.get(id);
+        if (valor != null) {
+            cachePorValor.invalidate(valor);
+        }
+    }
+
+    private void removerIndice(String valorChave, Optional<ChavePix> chave, RemovalCause causa) {
+        // numa substituição o índice já aponta para a entrada nova
+        if (causa != RemovalCause.REPLACED && chave != null) {
+            chave.ifPresent(removida -> valorPorId.remove(removida.getId(), valorChave));
+        }
+    }
+
+    private record ExpiracaoPorResultado(long expiracaoNanos, long expiracaoNegativaNanos)
+            implements Expiry<String, Optional<ChavePix>> {
+
+        @Override
+        public long expireAfterCreate(String valorChave, Optional<ChavePix> chave, long agora) {
+            return chave.isPresent() ? expiracaoNanos : expiracaoNegativaNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String valorChave, Optional<ChavePix> chave, long agora, long duracaoAtual) {
+            return expireAfterCreate(valorChave, chave, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String valorChave, Optional<ChavePix> chave, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Base dos decorators do {@link ChavePixRepository}: repassa todas as operações ao delegate, para que cada decorator
+ * sobrescreva apenas o que precisa interceptar.
+ */
+public abstract class ChavePixRepositoryDecorator implements ChavePixRepository {
+
+    protected final ChavePixRepository delegate;
+
+    protected ChavePixRepositoryDecorator(ChavePixRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean chaveJaExiste(String valorChave) {
+        return delegate.chaveJaExiste(valorChave);
+    }
+
+    @Override
+    public void percorrerValoresChave(Consumer<String> consumidor) {
+        delegate.percorrerValoresChave(consumidor);
+    }
+
+    @Override
+    public void percorrerChavesPix(Consumer<ChavePix> consumidor) {
+        delegate.percorrerChavesPix(consumidor);
+    }
+
+    @Override
+    public Set<String> buscarChavesExistentes(Collection<String> valoresChave) {
+        return delegate.buscarChavesExistentes(valoresChave);
+    }
+
+    @Override
+    public Map<TipoChave, Long> contarChavesAtivasPorTipo(Integer agencia, Integer numeroConta) {
+        return delegate.contarChavesAtivasPorTipo(agencia, numeroConta);
+    }
+
+    @Override
+    public List<ChavePix> buscarPorConta(Integer agencia, Integer numeroConta) {
+        return delegate.buscarPorConta(agencia, numeroConta);
+    }
+
+    @Override
+    public List<ChavePix> buscarPorNome(String nomeCorrentista, UUID aposId, int limite) {
+        return delegate.buscarPorNome(nomeCorrentista, aposId, limite);
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorId(UUID id) {
+        return delegate.buscarPorId(id);
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorValor(String valorChave) {
+        return delegate.buscarPorValor(valorChave);
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        delegate.salvar(chavePix);
+    }
+
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        return delegate.atualizar(chavePix);
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        return delegate.inativar(id, dataHoraInativacao);
+    }
+
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        return delegate.salvarTodos(chavesPix);
+    }
+
+    protected static ChavePix copiar(ChavePix chave) {
+        return new ChavePix(
+                chave.getId(),
+                chave.getTipoChave(),
+                chave.getValorChave(),
+                chave.getTipoConta(),
+                chave.getTipoPessoa(),
+                chave.getNumeroAgencia(),
+                chave.getNumeroConta(),
+                chave.getNomeCorrentista(),
+                chave.getSobrenomeCorrentista(),
+                chave.getDataHoraInclusao(),
+                chave.getDataHoraInativacao(),
+                chave.getVersao()
+        );
+    }
+}
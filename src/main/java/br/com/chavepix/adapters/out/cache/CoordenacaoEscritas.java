@@ -0,0 +1,105 @@
+package br.com.chavepix.adapters.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Mantém um cache coerente com as transações que gravam as chaves.
+ * <p>
+ * Invalidar só ao fim do método de escrita não basta: até o commit, uma leitura concorrente ainda encontra no banco a
+ * linha antiga e a guarda de novo, por toda a expiração. Por isso cada escrita invalida antes de gravar e de novo depois
+ * que a transação termina (confirmada ou revertida), e nos dois momentos avança a geração das chaves afetadas. A
+ * leitura anota a geração antes de ir ao banco e só guarda o resultado se ela não mudou. Guardar e invalidar disputam a
+ * mesma entrada do mapa do cache, e a geração avança antes da invalidação, então ou a leitura vê a geração nova ou a
+ * invalidação remove o que ela guardou.
+ * <p>
+ * As gerações ficam em faixas pelo hash da chave, com memória fixa; uma escrita em outra chave da mesma faixa só faz a
+ * leitura deixar de ser guardada. A geração geral serve às escritas que não sabem quais entradas afetam.
+ * <p>
+ * Dentro de uma transação de escrita a leitura não usa o cache ({@link #emTransacaoDeEscrita}): a alteração confere a
+ * versão lida, e uma entrada ainda não expirada de antes de uma escrita de outra instância daria conflito em toda
+ * nova tentativa. O que ela lê também não é guardado, porque pode não ter sido confirmado.
+ */
+final class CoordenacaoEscritas<K, V> {
+
+    private static final int FAIXAS = 1024;
+
+    private final Cache<K, V> cache;
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+    private final AtomicLong geracaoGeral = new AtomicLong();
+
+    CoordenacaoEscritas(Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Anotada antes da leitura no banco e conferida em {@link #guardar}.
+     */
+    long marcar(K chave) {
+        // as duas gerações só crescem, então a soma só se repete se nenhuma mudou
+        return geracoes.get(faixa(chave)) + geracaoGeral.get();
+    }
+
+    void guardar(K chave, V valor, long marca) {
+        if (emTransacaoDeEscrita()) {
+            return;
+        }
+        cache.asMap().compute(chave, (k, atual) -> marcar(k) == marca ? valor : atual);
+    }
+
+    /**
+     * Escrita que afeta só as entradas de {@code chaves}.
+     */
+    <T> T escrever(Collection<K> chaves, Runnable invalidar, Supplier<T> escrita) {
+        return escrever(() -> chaves.forEach(chave -> geracoes.incrementAndGet(faixa(chave))), invalidar, escrita);
+    }
+
+    /**
+     * Escrita que pode afetar entradas que não se sabe identificar antes da gravação; {@code invalidar} é executado de
+     * novo depois da transação, quando já pode encontrá-las.
+     */
+    <T> T escreverTodas(Runnable invalidar, Supplier<T> escrita) {
+        return escrever(geracaoGeral::incrementAndGet, invalidar, escrita);
+    }
+
+    private <T> T escrever(Runnable avancar, Runnable invalidar, Supplier<T> escrita) {
+        avancar.run();
+        invalidar.run();
+        try {
+            return escrita.get();
+        } finally {
+            aoTerminarTransacao(() -> {
+                avancar.run();
+                invalidar.run();
+            });
+        }
+    }
+
+    static boolean emTransacaoDeEscrita() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static void aoTerminarTransacao(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acao.run();
+            }
+        });
+    }
+
+    private static int faixa(Object chave) {
+        return Math.floorMod(chave.hashCode(), FAIXAS);
+    }
+}
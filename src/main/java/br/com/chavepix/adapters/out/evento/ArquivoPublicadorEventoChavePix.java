@@ -0,0 +1,90 @@
+package br.com.chavepix.adapters.out.evento;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.ports.out.PublicadorEventoChavePix;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publicador padrão enquanto não há broker: acrescenta cada evento como uma linha JSON ao fim de um arquivo. O lote
+ * inteiro é escrito com um único flush, sob um {@link ReentrantLock} para não prender a thread carregadora quando o relay
+ * roda em threads virtuais.
+ */
+@Slf4j
+@Component
+@RegisterReflectionForBinding(ArquivoPublicadorEventoChavePix.Linha.class)
+@ConditionalOnProperty(name = "chave-pix.outbox.publicador.tipo", havingValue = "arquivo", matchIfMissing = true)
+public class ArquivoPublicadorEventoChavePix implements PublicadorEventoChavePix {
+
+    private final ObjectWriter writer;
+    private final BufferedWriter arquivo;
+    private final ReentrantLock escrita = new ReentrantLock();
+
+    public ArquivoPublicadorEventoChavePix(
+            ObjectMapper objectMapper,
+            @Value("${chave-pix.outbox.publicador.arquivo:eventos-chave-pix.ndjson}") String arquivo
+    ) throws IOException {
+        this.writer = objectMapper.writerFor(Linha.class);
+        Path caminho = Path.of(arquivo);
+        if (caminho.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(caminho.toAbsolutePath().getParent());
+        }
+        this.arquivo = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("Eventos de chave Pix publicados no arquivo {}", caminho.toAbsolutePath());
+    }
+
+    /**
+     * O payload já é JSON e entra na linha sem ser escapado de novo.
+     */
+    record Linha(Long sequencia, TipoEventoChavePix tipo, UUID chaveId, Long versao, LocalDateTime dataHora,
+                         @JsonRawValue String payload) {
+    }
+
+    @Override
+    public void publicar(List<EventoChavePix> eventos) {
+        escrita.lock();
+        try {
+            for (EventoChavePix evento : eventos) {
+                arquivo.write(writer.writeValueAsString(new Linha(evento.getSequencia(), evento.getTipo(),
+                        evento.getChaveId(), evento.getVersao(), evento.getDataHora(), evento.getPayload())));
+                arquivo.newLine();
+            }
+            arquivo.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        escrita.lock();
+        try {
+            arquivo.close();
+        } finally {
+            escrita.unlock();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.chavepix.adapters.out.evento;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.ports.out.PublicadorEventoChavePix;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guarda os eventos publicados em memória, para testes e desenvolvimento local sem consumidores reais. Nada é
+ * descartado; não deve ficar ligado num ambiente com volume.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chave-pix.outbox.publicador.tipo", havingValue = "memoria")
+public class MemoriaPublicadorEventoChavePix implements PublicadorEventoChavePix {
+
+    private final List<EventoChavePix> publicados = new ArrayList<>();
+
+    @Override
+    public synchronized void publicar(List<EventoChavePix> eventos) {
+        publicados.addAll(eventos);
+        log.debug("{} eventos de chave Pix publicados em memória", eventos.size());
+    }
+
+    public synchronized List<EventoChavePix> getPublicados() {
+        return List.copyOf(publicados);
+    }
+
+    public synchronized void limpar() {
+        publicados.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Trilha de auditoria dos acessos às chaves Pix, só acrescida. Gravada só por {@link RegistroAuditoriaRepositoryImpl}
+ * via JDBC; a entidade existe para que a tabela seja criada junto com o schema.
+ */
+@Entity
+@Table(name = "chave_pix_auditoria")
+@Getter
+@NoArgsConstructor
+public class ChavePixAuditoriaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sequencia", nullable = false, updatable = false)
+    private Long sequencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operacao", nullable = false, length = 30, updatable = false)
+    private OperacaoAuditoria operacao;
+
+    @Column(name = "chave_id", nullable = false, updatable = false)
+    private UUID chaveId;
+
+    @Column(name = "usuario", nullable = false, length = 100, updatable = false)
+    private String usuario;
+
+    @Column(name = "data_hora", nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+}
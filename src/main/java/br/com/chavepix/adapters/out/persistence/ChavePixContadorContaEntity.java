@@ -0,0 +1,51 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Tabela chave_pix_contador_conta, lida e gravada só por {@link ContadorChavePixRepositoryImpl} via JDBC. Uma coluna
+ * por tipo de chave, e não uma linha, para que o limite da conta seja conferido e reservado num único UPDATE.
+ */
+@Entity
+@Table(name = "chave_pix_contador_conta")
+@Getter
+@NoArgsConstructor
+public class ChavePixContadorContaEntity {
+
+    @EmbeddedId
+    private Conta conta;
+
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "quantidade_cpf", nullable = false)
+    private Integer quantidadeCpf;
+
+    @Column(name = "quantidade_cnpj", nullable = false)
+    private Integer quantidadeCnpj;
+
+    @Column(name = "quantidade_email", nullable = false)
+    private Integer quantidadeEmail;
+
+    @Column(name = "quantidade_celular", nullable = false)
+    private Integer quantidadeCelular;
+
+    @Column(name = "quantidade_aleatoria", nullable = false)
+    private Integer quantidadeAleatoria;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Conta implements Serializable {
+
+        @Column(name = "numero_agencia", nullable = false)
+        private Integer numeroAgencia;
+
+        @Column(name = "numero_conta", nullable = false)
+        private Integer numeroConta;
+    }
+}
@@ -5,18 +5,29 @@ import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.model.TipoPessoa;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chave_pix")
+@Table(name = "chave_pix", indexes = {
+        @Index(name = "idx_chave_pix_conta", columnList = "numero_agencia, numero_conta"),
+        @Index(name = "idx_chave_pix_nome_id", columnList = "nome_correntista, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ChavePixEntity {
+public class ChavePixEntity implements Persistable<UUID> {
+
+    /**
+     * Índice único parcial sobre valor_chave das chaves ativas, criado por schema-postgresql.sql: uma chave inativada
+     * libera o valor para novo cadastro.
+     */
+    public static final String UK_VALOR_CHAVE = "uk_chave_pix_valor_chave_ativa";
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -26,7 +37,7 @@ public class ChavePixEntity {
     @Column(name = "tipo_chave", nullable = false)
     private TipoChave tipoChave;
 
-    @Column(name = "valor_chave", nullable = false, unique = true)
+    @Column(name = "valor_chave", nullable = false)
     private String valorChave;
 
     @Enumerated(EnumType.STRING)
@@ -54,4 +65,35 @@ public class ChavePixEntity {
 
     @Column(name = "data_hora_inativacao")
     private LocalDateTime dataHoraInativacao;
+
+    /**
+     * Incrementada a cada alteração; a alteração só é gravada se a versão lida ainda for a atual. O default no banco
+     * preenche as linhas existentes quando a coluna é criada.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    /**
+     * O id é gerado pelo domínio, então o Spring Data não consegue distinguir uma chave nova de uma existente pelo id e
+     * faria um SELECT antes de cada INSERT. Toda instância criada pela aplicação é nova; as carregadas ou já gravadas
+     * pelo Hibernate deixam de ser.
+     */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean novo = true;
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoExistente() {
+        novo = false;
+    }
 }
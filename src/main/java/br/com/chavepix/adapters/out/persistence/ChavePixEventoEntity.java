@@ -0,0 +1,41 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tabela de saída (outbox) dos eventos de chave Pix. Lida e gravada só por {@link EventoChavePixRepositoryImpl} via
+ * JDBC; a entidade existe para que a tabela seja criada junto com o schema.
+ */
+@Entity
+@Table(name = "chave_pix_evento")
+@Getter
+@NoArgsConstructor
+public class ChavePixEventoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sequencia", nullable = false, updatable = false)
+    private Long sequencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private TipoEventoChavePix tipo;
+
+    @Column(name = "chave_id", nullable = false)
+    private UUID chaveId;
+
+    @Column(name = "versao")
+    private Long versao;
+
+    @Column(name = "data_hora", nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+}
@@ -1,15 +1,107 @@
 package br.com.chavepix.adapters.out.persistence;
 
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoConta;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ChavePixJpaRepository extends JpaRepository<ChavePixEntity, UUID> {
 
-    boolean existsByValorChave(String valorChave);
+    /**
+     * Leituras que montam o {@link ChavePix} direto das colunas, sem entidade gerenciada nem snapshot no contexto de
+     * persistência.
+     */
+    String SELECT_CHAVE_PIX = """
+            select new br.com.chavepix.domain.model.ChavePix(
+                c.id, c.tipoChave, c.valorChave, c.tipoConta, c.tipoPessoa, c.numeroAgencia, c.numeroConta,
+                c.nomeCorrentista, c.sobrenomeCorrentista, c.dataHoraInclusao, c.dataHoraInativacao, c.versao)
+            from ChavePixEntity c
+            """;
+
+    boolean existsByValorChaveAndDataHoraInativacaoIsNull(String valorChave);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("select c.valorChave from ChavePixEntity c where c.dataHoraInativacao is null")
+    Stream<String> streamValoresChave();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_CHAVE_PIX)
+    Stream<ChavePix> streamChavesPix();
+
+    @Query("select c.valorChave from ChavePixEntity c where c.valorChave in :valores and c.dataHoraInativacao is null")
+    List<String> findValoresChaveExistentes(@Param("valores") Collection<String> valores);
+
+    @Query("""
+            select c.tipoChave, count(c)
+            from ChavePixEntity c
+            where c.numeroAgencia = :agencia
+              and c.numeroConta = :conta
+              and c.dataHoraInativacao is null
+            group by c.tipoChave
+            """)
+    List<Object[]> countAtivasGroupByTipoChave(@Param("agencia") Integer numeroAgencia,
+                                               @Param("conta") Integer numeroConta);
+
+    @Query(SELECT_CHAVE_PIX + "where c.id = :id")
+    Optional<ChavePix> findChavePixById(@Param("id") UUID id);
+
+    @Query(SELECT_CHAVE_PIX + "where c.valorChave = :valorChave and c.dataHoraInativacao is null")
+    Optional<ChavePix> findChavePixAtivaByValorChave(@Param("valorChave") String valorChave);
+
+    @Query(SELECT_CHAVE_PIX + "where c.numeroAgencia = :agencia and c.numeroConta = :conta")
+    List<ChavePix> findChavePixByConta(@Param("agencia") Integer numeroAgencia, @Param("conta") Integer numeroConta);
+
+    @Query(SELECT_CHAVE_PIX + "where c.nomeCorrentista = :nome order by c.id")
+    List<ChavePix> findChavePixByNome(@Param("nome") String nomeCorrentista, Pageable pageable);
+
+    @Query(SELECT_CHAVE_PIX + "where c.nomeCorrentista = :nome and c.id > :aposId order by c.id")
+    List<ChavePix> findChavePixByNomeAposId(@Param("nome") String nomeCorrentista, @Param("aposId") UUID aposId,
+                                            Pageable pageable);
 
-    List<ChavePixEntity> findByNumeroAgenciaAndNumeroConta(Integer numeroAgencia, Integer numeroConta);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update ChavePixEntity c
+            set c.valorChave = :valorChave,
+                c.tipoConta = :tipoConta,
+                c.numeroAgencia = :agencia,
+                c.numeroConta = :conta,
+                c.nomeCorrentista = :nome,
+                c.sobrenomeCorrentista = :sobrenome,
+                c.versao = c.versao + 1
+            where c.id = :id and c.versao = :versao and c.dataHoraInativacao is null
+            """)
+    int atualizarDadosPermitidos(@Param("id") UUID id,
+                                 @Param("versao") Long versao,
+                                 @Param("valorChave") String valorChave,
+                                 @Param("tipoConta") TipoConta tipoConta,
+                                 @Param("agencia") Integer numeroAgencia,
+                                 @Param("conta") Integer numeroConta,
+                                 @Param("nome") String nomeCorrentista,
+                                 @Param("sobrenome") String sobrenomeCorrentista);
 
-    List<ChavePixEntity> findByNomeCorrentista(String nomeCorrentista);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update ChavePixEntity c
+            set c.dataHoraInativacao = :dataHora,
+                c.versao = c.versao + 1
+            where c.id = :id and c.dataHoraInativacao is null
+            """)
+    int inativar(@Param("id") UUID id, @Param("dataHora") LocalDateTime dataHoraInativacao);
 }
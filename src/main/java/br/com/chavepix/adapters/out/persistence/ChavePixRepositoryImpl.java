@@ -1,52 +1,296 @@
 package br.com.chavepix.adapters.out.persistence;
 
 import br.com.chavepix.application.mapper.ChavePixMapper;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.config.application.RoteamentoDataSource;
+import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
 
 @Repository
+@Profile("!memoria")
 @RequiredArgsConstructor
 public class ChavePixRepositoryImpl implements ChavePixRepository {
 
+    private static final int TAMANHO_LOTE_CONSULTA = 1000;
+    private static final int TAMANHO_LOTE_INSERCAO = 500;
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final Pattern COLUNA_VALOR_CHAVE = Pattern.compile("\\(valor_chave(_ativa)?[ )]");
+
+    static final String INSERT_CHAVE_PIX = """
+            INSERT INTO chave_pix (id, tipo_chave, valor_chave, tipo_conta, tipo_pessoa, numero_agencia, numero_conta,
+                                   nome_correntista, sobrenome_correntista, data_hora_inclusao, data_hora_inativacao, versao)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final ChavePixJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageConfig messageConfig;
+    private final EscritasRecentes escritasRecentes;
 
     @Override
+    @Transactional(readOnly = true)
     public boolean chaveJaExiste(String valorChave) {
-        return jpaRepository.existsByValorChave(valorChave);
+        return lerConsistente(escritasRecentes.contem(valorChave), () -> jpaRepository.existsByValorChaveAndDataHoraInativacaoIsNull(valorChave));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerValoresChave(Consumer<String> consumidor) {
+        try (var valores = jpaRepository.streamValoresChave()) {
+            valores.forEach(consumidor);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public void percorrerChavesPix(Consumer<ChavePix> consumidor) {
+        try (var chaves = jpaRepository.streamChavesPix()) {
+            chaves.forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> buscarChavesExistentes(Collection<String> valoresChave) {
+        return lerConsistente(escritasRecentes.contemAlgum(valoresChave), () -> consultarExistentes(valoresChave));
+    }
+
+    private Set<String> consultarExistentes(Collection<String> valoresChave) {
+        Set<String> existentes = new HashSet<>();
+        for (List<String> lote : particionar(valoresChave)) {
+            existentes.addAll(jpaRepository.findValoresChaveExistentes(lote));
+        }
+        return existentes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<TipoChave, Long> contarChavesAtivasPorTipo(Integer agencia, Integer numeroConta) {
+        return lerConsistente(escritasRecentes.contem(new ContaBancaria(agencia, numeroConta)), () -> {
+            Map<TipoChave, Long> quantidades = new EnumMap<>(TipoChave.class);
+            for (Object[] linha : jpaRepository.countAtivasGroupByTipoChave(agencia, numeroConta)) {
+                quantidades.put((TipoChave) linha[0], (Long) linha[1]);
+            }
+            return quantidades;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ChavePix> buscarPorConta(Integer agencia, Integer numeroConta) {
-        List<ChavePixEntity> entities = jpaRepository.findByNumeroAgenciaAndNumeroConta(agencia, numeroConta);
-        return entities.stream()
-                .map(ChavePixMapper::toDomain)
-                .collect(Collectors.toList());
+        return lerConsistente(escritasRecentes.contem(new ContaBancaria(agencia, numeroConta)),
+                () -> jpaRepository.findChavePixByConta(agencia, numeroConta));
     }
 
     @Override
-    public List<ChavePix> buscarPorNome(String nomeCorrentista) {
-        List<ChavePixEntity> entities = jpaRepository.findByNomeCorrentista(nomeCorrentista);
-        return entities.stream()
-                .map(ChavePixMapper::toDomain)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<ChavePix> buscarPorNome(String nomeCorrentista, UUID aposId, int limite) {
+        PageRequest pagina = PageRequest.of(0, limite);
+        return aposId == null
+                ? jpaRepository.findChavePixByNome(nomeCorrentista, pagina)
+                : jpaRepository.findChavePixByNomeAposId(nomeCorrentista, aposId, pagina);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ChavePix> buscarPorId(UUID id) {
-        return jpaRepository.findById(id)
-                .map(ChavePixMapper::toDomain);
+        return lerConsistente(escritasRecentes.contem(id), () -> jpaRepository.findChavePixById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ChavePix> buscarPorValor(String valorChave) {
+        return lerConsistente(escritasRecentes.contem(valorChave),
+                () -> jpaRepository.findChavePixAtivaByValorChave(valorChave));
     }
 
     @Override
     public void salvar(ChavePix chavePix) {
         ChavePixEntity entity = ChavePixMapper.toEntity(chavePix);
-        jpaRepository.save(entity);
+        try {
+            jpaRepository.saveAndFlush(entity);
+            escritasRecentes.registrar(chavePix);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
+        }
+    }
+
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        try {
+            boolean atualizada = jpaRepository.atualizarDadosPermitidos(
+                    chavePix.getId(),
+                    chavePix.getVersao(),
+                    chavePix.getValorChave(),
+                    chavePix.getTipoConta(),
+                    chavePix.getNumeroAgencia(),
+                    chavePix.getNumeroConta(),
+                    chavePix.getNomeCorrentista(),
+                    chavePix.getSobrenomeCorrentista()
+            ) > 0;
+            if (atualizada) {
+                chavePix.avancarVersao();
+            }
+            escritasRecentes.registrar(chavePix);
+            return atualizada;
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
+        }
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        boolean inativada = jpaRepository.inativar(id, dataHoraInativacao) > 0;
+        escritasRecentes.registrarId(id);
+        return inativada;
+    }
+
+    /**
+     * O lote vai num único batch. Se algum valor foi cadastrado por outra transação depois da validação prévia, o batch
+     * é desfeito até o savepoint e repetido sem os valores que agora existem; se ainda houver violação, as chaves
+     * restantes são gravadas uma a uma. Só as chaves que perderam a corrida ficam de fora.
+     */
+    @Override
+    @Transactional
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        boolean[] gravadas = new boolean[chavesPix.size()];
+        if (inserirNoSavepoint(chavesPix)) {
+            Arrays.fill(gravadas, true);
+        } else {
+            Set<String> existentes = consultarExistentes(chavesPix.stream().map(ChavePix::getValorChave).toList());
+            boolean livresGravadas = inserirNoSavepoint(chavesPix.stream()
+                    .filter(chave -> !existentes.contains(chave.getValorChave()))
+                    .toList());
+            for (int i = 0; i < gravadas.length; i++) {
+                ChavePix chave = chavesPix.get(i);
+                gravadas[i] = !existentes.contains(chave.getValorChave())
+                        && (livresGravadas || inserirNoSavepoint(List.of(chave)));
+            }
+        }
+
+        for (int i = 0; i < gravadas.length; i++) {
+            if (gravadas[i]) {
+                escritasRecentes.registrar(chavesPix.get(i));
+            }
+        }
+        return gravadas;
+    }
+
+    /**
+     * Falso quando algum dos valores já existe. Voltar ao savepoint desfaz as linhas do batch já inseridas e tira a
+     * transação do estado de erro em que o PostgreSQL a deixa depois da violação.
+     */
+    private boolean inserirNoSavepoint(List<ChavePix> chavesPix) {
+        if (chavesPix.isEmpty()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            Savepoint savepoint = conexao.setSavepoint();
+            try {
+                inserirEmLote(chavesPix);
+            } catch (DataIntegrityViolationException e) {
+                conexao.rollback(savepoint);
+                if (violaValorChave(e)) {
+                    return false;
+                }
+                throw e;
+            }
+            conexao.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    private void inserirEmLote(List<ChavePix> chavesPix) {
+        jdbcTemplate.batchUpdate(INSERT_CHAVE_PIX, chavesPix, TAMANHO_LOTE_INSERCAO, ChavePixRepositoryImpl::preencherInsercao);
+    }
+
+    static void preencherInsercao(PreparedStatement ps, ChavePix chave) throws SQLException {
+        ps.setObject(1, chave.getId());
+        ps.setString(2, chave.getTipoChave().name());
+        ps.setString(3, chave.getValorChave());
+        ps.setString(4, chave.getTipoConta().name());
+        ps.setString(5, chave.getTipoPessoa().name());
+        ps.setInt(6, chave.getNumeroAgencia());
+        ps.setInt(7, chave.getNumeroConta());
+        ps.setString(8, chave.getNomeCorrentista());
+        ps.setString(9, chave.getSobrenomeCorrentista());
+        ps.setTimestamp(10, Timestamp.valueOf(chave.getDataHoraInclusao()));
+        ps.setTimestamp(11, chave.getDataHoraInativacao() == null ? null : Timestamp.valueOf(chave.getDataHoraInativacao()));
+        ps.setLong(12, chave.getVersao());
+    }
+
+    private static <T> T lerConsistente(boolean escritaRecente, Supplier<T> leitura) {
+        return escritaRecente ? RoteamentoDataSource.noPrimario(leitura) : leitura.get();
+    }
+
+    /**
+     * A constraint única de valor_chave é quem garante a unicidade, inclusive entre cadastros concorrentes que passaram
+     * juntos pela validação prévia; a violação dela vira o mesmo erro de chave existente.
+     */
+    private RuntimeException traduzirViolacao(DataIntegrityViolationException e) {
+        if (violaValorChave(e)) {
+            return new BadRequestException(CHAVE_EXISTENTE, messageConfig.getMessage(CHAVE_EXISTENTE));
+        }
+        return e;
+    }
+
+    /**
+     * Na tabela particionada o PostgreSQL informa o índice da partição ({@code chave_pix_p3_valor_chave_idx}), não o
+     * {@link ChavePixEntity#UK_VALOR_CHAVE}, então a violação é reconhecida pelo SQLState de unicidade e pela coluna:
+     * o detalhe do PostgreSQL traz {@code Key (valor_chave)=(...)}, e o H2 a coluna valor_chave_ativa do índice
+     * equivalente. A chave primária da tabela particionada, {@code (id, valor_chave)}, não conta.
+     */
+    static boolean violaValorChave(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                // no lote do JDBC o erro de cada comando fica encadeado em getNextException
+                for (SQLException erro = sql; erro != null; erro = erro.getNextException()) {
+                    if (violaValorChave(erro)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean violaValorChave(SQLException erro) {
+        if (!UNIQUE_VIOLATION.equals(erro.getSQLState()) || erro.getMessage() == null) {
+            return false;
+        }
+        String mensagem = erro.getMessage().toLowerCase(Locale.ROOT);
+        return mensagem.contains(ChavePixEntity.UK_VALOR_CHAVE) || COLUNA_VALOR_CHAVE.matcher(mensagem).find();
+    }
+
+    static <T> List<List<T>> particionar(Collection<T> valores) {
+        List<T> lista = new ArrayList<>(valores);
+        List<List<T>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_LOTE_CONSULTA) {
+            lotes.add(lista.subList(inicio, Math.min(inicio + TAMANHO_LOTE_CONSULTA, lista.size())));
+        }
+        return lotes;
     }
 }
@@ -0,0 +1,161 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.ports.out.ContadorChavePixRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a tabela chave_pix_contador_conta por JDBC. O UPDATE que reserva uma vaga só altera a linha se a conta estiver
+ * abaixo do limite, e o lock da linha dura até o fim da transação do cadastro: cadastros simultâneos na mesma conta
+ * passam um de cada vez pela conferência, sem que dois vejam a mesma quantidade.
+ */
+@Repository
+@Profile("!memoria")
+public class ContadorChavePixRepositoryImpl implements ContadorChavePixRepository {
+
+    private static final TipoChave[] TIPOS = TipoChave.values();
+
+    private static final String COLUNAS_TIPO = Arrays.stream(TIPOS)
+            .map(ContadorChavePixRepositoryImpl::coluna)
+            .collect(Collectors.joining(", "));
+
+    // cada tipo recebe 1 ou 0, para que qualquer chave use a mesma instrução e um lote vá num único batch
+    private static final String RESERVAR = "UPDATE chave_pix_contador_conta SET quantidade = quantidade + 1, "
+            + Arrays.stream(TIPOS).map(tipo -> coluna(tipo) + " = " + coluna(tipo) + " + ?").collect(Collectors.joining(", "))
+            + " WHERE numero_agencia = ? AND numero_conta = ? AND quantidade < ?";
+
+    private static final String LIBERAR = "UPDATE chave_pix_contador_conta SET quantidade = quantidade - 1, "
+            + Arrays.stream(TIPOS).map(tipo -> coluna(tipo) + " = " + coluna(tipo) + " - ?").collect(Collectors.joining(", "))
+            + " WHERE numero_agencia = ? AND numero_conta = ? AND quantidade > 0";
+
+    private static final String INSERIR = "INSERT INTO chave_pix_contador_conta (numero_agencia, numero_conta, quantidade, "
+            + COLUNAS_TIPO + ") VALUES (?, ?, ?" + ", ?".repeat(TIPOS.length) + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile String inserir;
+
+    public ContadorChavePixRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public boolean reservar(ChavePix chavePix, int limite) {
+        return jdbcTemplate.update(RESERVAR, ps -> preencherReserva(ps, chavePix, limite)) > 0;
+    }
+
+    @Override
+    public boolean[] reservarTodas(List<ChavePix> chavesPix, ToIntFunction<ChavePix> limite) {
+        if (chavesPix.isEmpty()) {
+            return new boolean[0];
+        }
+        int[][] resultados = jdbcTemplate.batchUpdate(RESERVAR, chavesPix, chavesPix.size(),
+                (ps, chave) -> preencherReserva(ps, chave, limite.applyAsInt(chave)));
+
+        boolean[] reservadas = new boolean[chavesPix.size()];
+        int indice = 0;
+        for (int[] lote : resultados) {
+            for (int linhas : lote) {
+                reservadas[indice++] = linhas > 0;
+            }
+        }
+        return reservadas;
+    }
+
+    @Override
+    public void liberar(ContaBancaria conta, TipoChave tipoChave) {
+        jdbcTemplate.update(LIBERAR, ps -> {
+            int parametro = preencherTipos(ps, 1, tipoChave);
+            ps.setInt(parametro++, conta.getNumeroAgencia());
+            ps.setInt(parametro, conta.getNumeroConta());
+        });
+    }
+
+    @Override
+    public boolean existe(ContaBancaria conta) {
+        Integer quantidade = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chave_pix_contador_conta WHERE numero_agencia = ? AND numero_conta = ?",
+                Integer.class, conta.getNumeroAgencia(), conta.getNumeroConta());
+        return quantidade != null && quantidade > 0;
+    }
+
+    @Override
+    public Set<ContaBancaria> buscarAusentes(Collection<ContaBancaria> contas) {
+        Set<ContaBancaria> ausentes = new HashSet<>(contas);
+        for (List<ContaBancaria> lote : ChavePixRepositoryImpl.particionar(ausentes)) {
+            // agencias x contas pode trazer combinações não solicitadas; remover uma delas de ausentes não tem efeito
+            Map<String, Object> parametros = Map.of(
+                    "agencias", lote.stream().map(ContaBancaria::getNumeroAgencia).collect(Collectors.toSet()),
+                    "contas", lote.stream().map(ContaBancaria::getNumeroConta).collect(Collectors.toSet()));
+            namedJdbcTemplate.query("""
+                    SELECT numero_agencia, numero_conta FROM chave_pix_contador_conta
+                     WHERE numero_agencia IN (:agencias) AND numero_conta IN (:contas)
+                    """, parametros, rs -> {
+                ausentes.remove(new ContaBancaria(rs.getInt("numero_agencia"), rs.getInt("numero_conta")));
+            });
+        }
+        return ausentes;
+    }
+
+    @Override
+    public void inicializar(ContaBancaria conta, Map<TipoChave, Long> quantidades) {
+        try {
+            jdbcTemplate.update(inserir(), ps -> {
+                ps.setInt(1, conta.getNumeroAgencia());
+                ps.setInt(2, conta.getNumeroConta());
+                ps.setLong(3, quantidades.values().stream().mapToLong(Long::longValue).sum());
+                for (int i = 0; i < TIPOS.length; i++) {
+                    ps.setLong(4 + i, quantidades.getOrDefault(TIPOS[i], 0L));
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            // só no H2: criado por um cadastro concorrente na mesma conta, com a mesma contagem
+        }
+    }
+
+    /**
+     * No PostgreSQL a violação da chave primária deixaria a transação do cadastro abortada, então o contador criado
+     * por outra transação é ignorado com {@code ON CONFLICT}, que antes espera a outra terminar. O H2 dos testes não
+     * aborta a transação na violação, e lá basta ignorá-la.
+     */
+    private String inserir() {
+        if (inserir == null) {
+            String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+            boolean postgres = banco != null && banco.toLowerCase(Locale.ROOT).contains("postgresql");
+            inserir = postgres ? INSERIR + " ON CONFLICT (numero_agencia, numero_conta) DO NOTHING" : INSERIR;
+        }
+        return inserir;
+    }
+
+    private static void preencherReserva(PreparedStatement ps, ChavePix chave, int limite) throws SQLException {
+        int parametro = preencherTipos(ps, 1, chave.getTipoChave());
+        ps.setInt(parametro++, chave.getNumeroAgencia());
+        ps.setInt(parametro++, chave.getNumeroConta());
+        ps.setInt(parametro, limite);
+    }
+
+    private static int preencherTipos(PreparedStatement ps, int inicio, TipoChave tipoChave) throws SQLException {
+        for (TipoChave tipo : TIPOS) {
+            ps.setInt(inicio++, tipo == tipoChave ? 1 : 0);
+        }
+        return inicio;
+    }
+
+    static String coluna(TipoChave tipoChave) {
+        return "quantidade_" + tipoChave.name().toLowerCase(Locale.ROOT);
+    }
+}
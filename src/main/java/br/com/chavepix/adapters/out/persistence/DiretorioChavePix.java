@@ -0,0 +1,180 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.ChavePix;
+import lombok.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tabela chave_pix_diretorio, mantida no banco de spring.datasource: indica o shard de cada id e reserva o valor das
+ * chaves ativas numa constraint única, o que mantém a unicidade do valor entre todos os shards. As escritas participam
+ * da transação do serviço, junto com a outbox e o contador por conta.
+ */
+public class DiretorioChavePix {
+
+    public static final String UK_VALOR_CHAVE_ATIVA = "uk_chave_pix_diretorio_valor";
+
+    private static final int TAMANHO_LOTE = 500;
+    private static final int TAMANHO_LOTE_CONSULTA = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DiretorioChavePix(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Value
+    public static class Localizacao {
+        UUID id;
+        int shard;
+        String valorChaveAtiva;
+    }
+
+    public void reservar(UUID id, int shard, String valorChave) {
+        jdbcTemplate.update("INSERT INTO chave_pix_diretorio (id, shard, valor_chave_ativa) VALUES (?, ?, ?)",
+                id, shard, valorChave);
+    }
+
+    /**
+     * Reserva o lote num único batch, na transação do serviço ou numa própria fora dela. Se um dos valores já existe,
+     * o batch é desfeito até o savepoint e só as chaves de valor livre são reservadas, como em
+     * {@link ChavePixRepositoryImpl#salvarTodos}: sem o savepoint, no PostgreSQL a violação abortaria a transação do
+     * serviço.
+     */
+    public boolean[] reservarTodos(List<ChavePix> chavesPix, ToIntFunction<ChavePix> shard) {
+        return transactionTemplate.execute(status -> {
+            boolean[] reservadas = new boolean[chavesPix.size()];
+            if (reservarNoSavepoint(chavesPix, shard)) {
+                Arrays.fill(reservadas, true);
+                return reservadas;
+            }
+            Set<String> existentes = existentes(chavesPix.stream().map(ChavePix::getValorChave).toList());
+            boolean livresReservadas = reservarNoSavepoint(chavesPix.stream()
+                    .filter(chave -> !existentes.contains(chave.getValorChave()))
+                    .toList(), shard);
+            for (int i = 0; i < reservadas.length; i++) {
+                ChavePix chave = chavesPix.get(i);
+                reservadas[i] = !existentes.contains(chave.getValorChave())
+                        && (livresReservadas || reservarNoSavepoint(List.of(chave), shard));
+            }
+            return reservadas;
+        });
+    }
+
+    /**
+     * Falso quando algum dos valores já está reservado; voltar ao savepoint desfaz as linhas do batch já inseridas.
+     */
+    private boolean reservarNoSavepoint(List<ChavePix> chavesPix, ToIntFunction<ChavePix> shard) {
+        if (chavesPix.isEmpty()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            Savepoint savepoint = conexao.setSavepoint();
+            try {
+                jdbcTemplate.batchUpdate("INSERT INTO chave_pix_diretorio (id, shard, valor_chave_ativa) VALUES (?, ?, ?)",
+                        chavesPix, TAMANHO_LOTE, (ps, chave) -> {
+                            ps.setObject(1, chave.getId());
+                            ps.setInt(2, shard.applyAsInt(chave));
+                            ps.setString(3, chave.getValorChave());
+                        });
+            } catch (DataIntegrityViolationException e) {
+                conexao.rollback(savepoint);
+                if (violaValorAtivo(e)) {
+                    return false;
+                }
+                throw e;
+            }
+            conexao.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    /**
+     * A constraint única do diretório faz o papel da constraint de valor_chave da tabela não distribuída.
+     */
+    public static boolean violaValorAtivo(DataIntegrityViolationException e) {
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(UK_VALOR_CHAVE_ATIVA);
+    }
+
+    public void alterar(UUID id, int shard, String valorChaveAtiva) {
+        jdbcTemplate.update("UPDATE chave_pix_diretorio SET shard = ?, valor_chave_ativa = ? WHERE id = ?",
+                shard, valorChaveAtiva, id);
+    }
+
+    public void liberar(UUID id) {
+        jdbcTemplate.update("UPDATE chave_pix_diretorio SET valor_chave_ativa = NULL WHERE id = ?", id);
+    }
+
+    public void remover(Collection<UUID> ids) {
+        jdbcTemplate.batchUpdate("DELETE FROM chave_pix_diretorio WHERE id = ?", ids, TAMANHO_LOTE,
+                (ps, id) -> ps.setObject(1, id));
+    }
+
+    public Optional<Localizacao> localizar(UUID id) {
+        return jdbcTemplate.query("SELECT id, shard, valor_chave_ativa FROM chave_pix_diretorio WHERE id = ?",
+                DiretorioChavePix::mapear, id).stream().findFirst();
+    }
+
+    /**
+     * Trava a linha da chave até o fim da transação do serviço. Toda escrita de uma chave existente passa por aqui antes
+     * de tocar o shard, então duas escritas da mesma chave se enfileiram no diretório e não esperam uma pela outra em
+     * bancos diferentes.
+     */
+    public Optional<Localizacao> localizarParaAlterar(UUID id) {
+        return jdbcTemplate.query("SELECT id, shard, valor_chave_ativa FROM chave_pix_diretorio WHERE id = ? FOR UPDATE",
+                DiretorioChavePix::mapear, id).stream().findFirst();
+    }
+
+    public Optional<Localizacao> localizarAtiva(String valorChave) {
+        return jdbcTemplate.query("SELECT id, shard, valor_chave_ativa FROM chave_pix_diretorio WHERE valor_chave_ativa = ?",
+                DiretorioChavePix::mapear, valorChave).stream().findFirst();
+    }
+
+    public boolean existe(String valorChave) {
+        return localizarAtiva(valorChave).isPresent();
+    }
+
+    public Set<String> existentes(Collection<String> valoresChave) {
+        Set<String> existentes = new HashSet<>();
+        for (List<String> lote : ChavePixRepositoryImpl.particionar(valoresChave)) {
+            existentes.addAll(namedJdbcTemplate.queryForList(
+                    "SELECT valor_chave_ativa FROM chave_pix_diretorio WHERE valor_chave_ativa IN (:valores)",
+                    Map.of("valores", lote), String.class));
+        }
+        return existentes;
+    }
+
+    /**
+     * Percorre os valores ativos numa transação para que o driver do PostgreSQL respeite o fetch size e não carregue o
+     * diretório inteiro em memória.
+     */
+    public void percorrerValores(Consumer<String> consumidor) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(
+                    "SELECT valor_chave_ativa FROM chave_pix_diretorio WHERE valor_chave_ativa IS NOT NULL");
+            ps.setFetchSize(5000);
+            return ps;
+        }, (ResultSet rs) -> consumidor.accept(rs.getString(1))));
+    }
+
+    private static Localizacao mapear(ResultSet rs, int linha) throws SQLException {
+        return new Localizacao(rs.getObject("id", UUID.class), rs.getInt("shard"), rs.getString("valor_chave_ativa"));
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Ids, valores e contas gravados por esta instância nos últimos instantes.
+ * <p>
+ * Enquanto a réplica pode não ter recebido a escrita, as leituras que envolvem esses dados vão para o primário, para
+ * que quem acabou de gravar leia o que gravou. Sem réplica configurada nada é rastreado.
+ */
+@Component
+public class EscritasRecentes {
+
+    private static final long TAMANHO_MAXIMO = 100_000;
+
+    private final Cache<Object, Boolean> recentes;
+
+    @Autowired
+    public EscritasRecentes(@Value("${chave-pix.datasource.replica.url:}") String urlReplica,
+                            @Value("${chave-pix.datasource.replica.janela-leitura-apos-escrita:2s}") Duration janela) {
+        this(!urlReplica.isBlank() && !janela.isZero() ? janela : null, Ticker.systemTicker());
+    }
+
+    EscritasRecentes(Duration janela, Ticker ticker) {
+        this.recentes = janela == null ? null : Caffeine.newBuilder()
+                .maximumSize(TAMANHO_MAXIMO)
+                .expireAfterWrite(janela)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public void registrar(ChavePix chave) {
+        if (recentes != null) {
+            recentes.put(chave.getId(), Boolean.TRUE);
+            recentes.put(chave.getValorChave(), Boolean.TRUE);
+            recentes.put(new ContaBancaria(chave.getNumeroAgencia(), chave.getNumeroConta()), Boolean.TRUE);
+        }
+    }
+
+    public void registrarId(UUID id) {
+        if (recentes != null) {
+            recentes.put(id, Boolean.TRUE);
+        }
+    }
+
+    public boolean contem(Object chave) {
+        return recentes != null && recentes.getIfPresent(chave) != null;
+    }
+
+    public boolean contemAlgum(Collection<?> chaves) {
+        return recentes != null && chaves.stream().anyMatch(this::contem);
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Grava e consome a tabela chave_pix_evento por JDBC, sem passar pelo contexto de persistência: os eventos são só
+ * inseridos, bloqueados em lote e apagados, e nunca precisam virar entidades gerenciadas.
+ */
+@Repository
+@Profile("!memoria")
+public class EventoChavePixRepositoryImpl implements EventoChavePixRepository {
+
+    private static final int TAMANHO_LOTE_INSERCAO = 500;
+
+    private static final String INSERT_EVENTO = """
+            INSERT INTO chave_pix_evento (tipo, chave_id, versao, data_hora, payload) VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_PENDENTES = """
+            SELECT sequencia, tipo, chave_id, versao, data_hora, payload
+              FROM chave_pix_evento
+             ORDER BY sequencia
+             LIMIT ?
+             FOR UPDATE
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private volatile String selectPendentes;
+
+    public EventoChavePixRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void registrar(EventoChavePix evento) {
+        jdbcTemplate.update(INSERT_EVENTO, ps -> preencherInsercao(ps, evento));
+    }
+
+    @Override
+    public void registrarTodos(List<EventoChavePix> eventos) {
+        jdbcTemplate.batchUpdate(INSERT_EVENTO, eventos, TAMANHO_LOTE_INSERCAO, EventoChavePixRepositoryImpl::preencherInsercao);
+    }
+
+    @Override
+    public List<EventoChavePix> bloquearPendentes(int limite) {
+        return jdbcTemplate.query(selectPendentes(), EventoChavePixRepositoryImpl::mapear, limite);
+    }
+
+    @Override
+    public void remover(Collection<Long> sequencias) {
+        for (List<Long> lote : ChavePixRepositoryImpl.particionar(sequencias)) {
+            namedJdbcTemplate.update("DELETE FROM chave_pix_evento WHERE sequencia IN (:sequencias)",
+                    Map.of("sequencias", lote));
+        }
+    }
+
+    /**
+     * No PostgreSQL o SKIP LOCKED faz cada relay pegar um lote diferente em vez de esperar o lote de outro. O H2 dos
+     * testes não tem SKIP LOCKED; lá o segundo relay espera o primeiro.
+     */
+    private String selectPendentes() {
+        if (selectPendentes == null) {
+            String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+            boolean skipLocked = banco != null && banco.toLowerCase(Locale.ROOT).contains("postgresql");
+            selectPendentes = skipLocked ? SELECT_PENDENTES.stripTrailing() + " SKIP LOCKED" : SELECT_PENDENTES;
+        }
+        return selectPendentes;
+    }
+
+    private static void preencherInsercao(PreparedStatement ps, EventoChavePix evento) throws SQLException {
+        ps.setString(1, evento.getTipo().name());
+        ps.setObject(2, evento.getChaveId());
+        if (evento.getVersao() == null) {
+            ps.setNull(3, Types.BIGINT);
+        } else {
+            ps.setLong(3, evento.getVersao());
+        }
+        ps.setTimestamp(4, Timestamp.valueOf(evento.getDataHora()));
+        ps.setString(5, evento.getPayload());
+    }
+
+    private static EventoChavePix mapear(ResultSet rs, int linha) throws SQLException {
+        return new EventoChavePix(
+                rs.getLong("sequencia"),
+                TipoEventoChavePix.valueOf(rs.getString("tipo")),
+                rs.getObject("chave_id", UUID.class),
+                rs.getObject("versao", Long.class),
+                rs.getTimestamp("data_hora").toLocalDateTime(),
+                rs.getString("payload")
+        );
+    }
+}
@@ -0,0 +1,417 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+
+/**
+ * {@link ChavePixRepository} sem banco, para implantações embarcadas, testes de carga e como base de um modelo de
+ * leitura replicado. As chaves ficam num mapa concorrente por id, com índices pelo valor das chaves ativas, pela conta
+ * (agência e número empacotados num único {@code long}) e pelo nome, este ordenado pelo id como no banco.
+ * <p>
+ * O índice de valores faz o papel da constraint única: o valor é reservado com {@code putIfAbsent} já na escrita, e o
+ * cadastro concorrente do mesmo valor é recusado na hora. O resto da escrita só aparece para as outras transações no
+ * commit, como no banco: até lá a versão nova fica na área da transação ({@link Pendentes}), que ela mesma enxerga nas
+ * consultas por id e por valor, e o id fica preso a ela, então outra alteração ou inativação da mesma chave é recusada
+ * como uma alteração concorrente. As consultas por conta e por nome e a contagem de chaves ativas por tipo leem só o
+ * que foi confirmado. Fora de transação a escrita é confirmada na hora.
+ * <p>
+ * Cada chave confirmada é trocada dentro do {@code compute} do seu id. Os objetos guardados nunca são alterados; quem
+ * lê recebe uma cópia.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaChavePixRepository implements ChavePixRepository {
+
+    private final MessageConfig messageConfig;
+
+    private final ConcurrentHashMap<UUID, ChavePix> porId = new ConcurrentHashMap<>();
+    /**
+     * Valores das chaves ativas e dos reservados por transações em andamento; quais estão visíveis decide
+     * {@link #ativaPorValor}.
+     */
+    private final ConcurrentHashMap<String, UUID> valores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Pendentes> travas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<UUID>> porConta = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<UUID>> porNome = new ConcurrentHashMap<>();
+
+    public MemoriaChavePixRepository(MessageConfig messageConfig) {
+        this.messageConfig = messageConfig;
+    }
+
+    @Override
+    public boolean chaveJaExiste(String valorChave) {
+        return ativaPorValor(valorChave) != null;
+    }
+
+    @Override
+    public void percorrerValoresChave(Consumer<String> consumidor) {
+        valores.keySet().forEach(valor -> {
+            if (ativaPorValor(valor) != null) {
+                consumidor.accept(valor);
+            }
+        });
+    }
+
+    @Override
+    public void percorrerChavesPix(Consumer<ChavePix> consumidor) {
+        porId.values().forEach(chave -> consumidor.accept(copiar(chave)));
+    }
+
+    @Override
+    public Set<String> buscarChavesExistentes(Collection<String> valoresChave) {
+        Set<String> existentes = new HashSet<>();
+        for (String valorChave : valoresChave) {
+            if (ativaPorValor(valorChave) != null) {
+                existentes.add(valorChave);
+            }
+        }
+        return existentes;
+    }
+
+    @Override
+    public Map<TipoChave, Long> contarChavesAtivasPorTipo(Integer agencia, Integer numeroConta) {
+        Map<TipoChave, Long> quantidades = new EnumMap<>(TipoChave.class);
+        Set<UUID> ids = porConta.get(conta(agencia, numeroConta));
+        if (ids != null) {
+            for (UUID id : ids) {
+                ChavePix chave = porId.get(id);
+                if (chave != null && !chave.estaInativa()) {
+                    quantidades.merge(chave.getTipoChave(), 1L, Long::sum);
+                }
+            }
+        }
+        return quantidades;
+    }
+
+    @Override
+    public List<ChavePix> buscarPorConta(Integer agencia, Integer numeroConta) {
+        Set<UUID> ids = porConta.get(conta(agencia, numeroConta));
+        return ids == null ? List.of() : buscarTodas(ids, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<ChavePix> buscarPorNome(String nomeCorrentista, UUID aposId, int limite) {
+        ConcurrentSkipListSet<UUID> ids = porNome.get(nomeCorrentista);
+        if (ids == null) {
+            return List.of();
+        }
+        return buscarTodas(aposId == null ? ids : ids.tailSet(aposId, false), limite);
+    }
+
+    private List<ChavePix> buscarTodas(Collection<UUID> ids, int limite) {
+        List<ChavePix> chaves = new ArrayList<>();
+        for (UUID id : ids) {
+            if (chaves.size() == limite) {
+                break;
+            }
+            ChavePix chave = porId.get(id);
+            if (chave != null) {
+                chaves.add(copiar(chave));
+            }
+        }
+        return chaves;
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorId(UUID id) {
+        return Optional.ofNullable(ler(pendentes(false), id)).map(MemoriaChavePixRepository::copiar);
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorValor(String valorChave) {
+        return Optional.ofNullable(ativaPorValor(valorChave)).map(MemoriaChavePixRepository::copiar);
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        escrever(pendentes -> {
+            reservarValor(pendentes, chavePix);
+            pendentes.chaves.put(chavePix.getId(), copiar(chavePix));
+            return null;
+        });
+    }
+
+    /**
+     * Grava as chaves cujo valor pôde ser reservado; as de valor já existente ficam de fora, como na persistência em
+     * banco.
+     */
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        return escrever(pendentes -> {
+            boolean[] reservadas = new boolean[chavesPix.size()];
+            for (int i = 0; i < reservadas.length; i++) {
+                ChavePix chave = chavesPix.get(i);
+                try {
+                    reservarValor(pendentes, chave);
+                    pendentes.chaves.put(chave.getId(), copiar(chave));
+                    reservadas[i] = true;
+                } catch (BadRequestException e) {
+                    reservadas[i] = false;
+                }
+            }
+            return reservadas;
+        });
+    }
+
+    /**
+     * Como o UPDATE da persistência em banco, só grava se a chave ainda estiver ativa e na versão lida.
+     */
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        return escrever(pendentes -> {
+            ChavePix atual = travar(pendentes, chavePix.getId());
+            if (atual == null || atual.estaInativa() || !atual.getVersao().equals(chavePix.getVersao())) {
+                return false;
+            }
+            ChavePix alterada = new ChavePix(atual.getId(), atual.getTipoChave(), chavePix.getValorChave(),
+                    chavePix.getTipoConta(), atual.getTipoPessoa(), chavePix.getNumeroAgencia(),
+                    chavePix.getNumeroConta(), chavePix.getNomeCorrentista(), chavePix.getSobrenomeCorrentista(),
+                    atual.getDataHoraInclusao(), atual.getDataHoraInativacao(), atual.getVersao() + 1);
+            if (!alterada.getValorChave().equals(atual.getValorChave())) {
+                reservarValor(pendentes, alterada);
+            }
+            pendentes.chaves.put(alterada.getId(), alterada);
+            chavePix.avancarVersao();
+            return true;
+        });
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        return escrever(pendentes -> {
+            ChavePix atual = travar(pendentes, id);
+            if (atual == null || atual.estaInativa()) {
+                return false;
+            }
+            pendentes.chaves.put(id, new ChavePix(id, atual.getTipoChave(), atual.getValorChave(), atual.getTipoConta(),
+                    atual.getTipoPessoa(), atual.getNumeroAgencia(), atual.getNumeroConta(),
+                    atual.getNomeCorrentista(), atual.getSobrenomeCorrentista(), atual.getDataHoraInclusao(),
+                    dataHoraInativacao, atual.getVersao() + 1));
+            return true;
+        });
+    }
+
+    /**
+     * Escritas de uma transação ainda não confirmadas: a versão nova de cada chave, os valores reservados por ela e os
+     * ids que ela prendeu. Ligada à transação como recurso, e desligada dela enquanto a transação está suspensa.
+     */
+    private final class Pendentes implements TransactionSynchronization {
+
+        private final Map<UUID, ChavePix> chaves = new LinkedHashMap<>();
+        private final List<ChavePix> reservadas = new ArrayList<>();
+        private final List<UUID> travadas = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(MemoriaChavePixRepository.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(MemoriaChavePixRepository.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            confirmar(this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MemoriaChavePixRepository.this);
+            if (status != STATUS_COMMITTED) {
+                descartar(this);
+            }
+        }
+    }
+
+    /**
+     * Área da transação corrente; sem transação, {@code null}, ou uma área nova que a escrita confirma ao terminar.
+     */
+    private Pendentes pendentes(boolean criar) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null && criar) {
+            pendentes = new Pendentes();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(pendentes);
+        }
+        return pendentes;
+    }
+
+    private <T> T escrever(Function<Pendentes, T> escrita) {
+        Pendentes daTransacao = pendentes(true);
+        if (daTransacao != null) {
+            return escrita.apply(daTransacao);
+        }
+        Pendentes avulsa = new Pendentes();
+        try {
+            T resultado = escrita.apply(avulsa);
+            confirmar(avulsa);
+            return resultado;
+        } catch (RuntimeException e) {
+            descartar(avulsa);
+            throw e;
+        }
+    }
+
+    /**
+     * A versão que a transação enxerga: a que ela mesma gravou ou, se não gravou, a confirmada.
+     */
+    private ChavePix ler(Pendentes pendentes, UUID id) {
+        if (pendentes != null) {
+            ChavePix gravada = pendentes.chaves.get(id);
+            if (gravada != null) {
+                return gravada;
+            }
+        }
+        return porId.get(id);
+    }
+
+    private ChavePix ativaPorValor(String valorChave) {
+        UUID id = valores.get(valorChave);
+        if (id == null) {
+            return null;
+        }
+        ChavePix chave = ler(pendentes(false), id);
+        return chave != null && !chave.estaInativa() && chave.getValorChave().equals(valorChave) ? chave : null;
+    }
+
+    /**
+     * Prende o id à transação e devolve a versão que ela enxerga; {@code null} se outra transação tem escrita pendente
+     * na chave, que no banco faria o UPDATE esperar e depois não encontrar mais a versão lida.
+     */
+    private ChavePix travar(Pendentes pendentes, UUID id) {
+        Pendentes dona = travas.putIfAbsent(id, pendentes);
+        if (dona == null) {
+            pendentes.travadas.add(id);
+        } else if (dona != pendentes) {
+            return null;
+        }
+        return ler(pendentes, id);
+    }
+
+    /**
+     * Publica as versões novas e só depois solta os valores que elas deixaram de usar e os ids presos, para que quem
+     * prender a chave em seguida já leia a versão confirmada.
+     */
+    private void confirmar(Pendentes pendentes) {
+        List<ChavePix> anteriores = new ArrayList<>();
+        pendentes.chaves.forEach((id, nova) -> porId.compute(id, (chaveId, anterior) -> {
+            indexar(anterior, nova);
+            if (anterior != null) {
+                anteriores.add(anterior);
+            }
+            return nova;
+        }));
+        anteriores.forEach(anterior -> liberarValorSemUso(pendentes, anterior));
+        pendentes.reservadas.forEach(reservada -> liberarValorSemUso(pendentes, reservada));
+        pendentes.travadas.forEach(id -> travas.remove(id, pendentes));
+    }
+
+    private void descartar(Pendentes pendentes) {
+        pendentes.reservadas.forEach(reservada -> valores.remove(reservada.getValorChave(), reservada.getId()));
+        pendentes.travadas.forEach(id -> travas.remove(id, pendentes));
+    }
+
+    /**
+     * Solta o valor de {@code chave} se a versão confirmada pela transação não for mais uma chave ativa com ele.
+     */
+    private void liberarValorSemUso(Pendentes pendentes, ChavePix chave) {
+        ChavePix confirmada = pendentes.chaves.get(chave.getId());
+        if (confirmada.estaInativa() || !confirmada.getValorChave().equals(chave.getValorChave())) {
+            valores.remove(chave.getValorChave(), chave.getId());
+        }
+    }
+
+    /**
+     * Leva os índices de conta e de nome de {@code atual} para {@code nova}; {@code atual} é nula no cadastro. Chamado
+     * dentro do {@code compute} do id.
+     */
+    private void indexar(ChavePix atual, ChavePix nova) {
+        Long contaAtual = atual == null ? null : conta(atual.getNumeroAgencia(), atual.getNumeroConta());
+        long contaNova = conta(nova.getNumeroAgencia(), nova.getNumeroConta());
+        if (!Objects.equals(contaAtual, contaNova)) {
+            adicionar(porConta, contaNova, nova.getId(), ConcurrentHashMap::newKeySet);
+            if (contaAtual != null) {
+                retirar(porConta, contaAtual, atual.getId());
+            }
+        }
+
+        String nomeAtual = atual == null ? null : atual.getNomeCorrentista();
+        String nomeNovo = nova.getNomeCorrentista();
+        if (!Objects.equals(nomeAtual, nomeNovo)) {
+            if (nomeNovo != null) {
+                adicionar(porNome, nomeNovo, nova.getId(),
+                        () -> new ConcurrentSkipListSet<>(ShardedChavePixRepository.ORDEM_UUID));
+            }
+            if (nomeAtual != null) {
+                retirar(porNome, nomeAtual, atual.getId());
+            }
+        }
+    }
+
+    /**
+     * Reservado na chave do índice com {@code compute}, para que o conjunto não seja removido por estar vazio entre
+     * ser obtido e receber o id.
+     */
+    private static <K, S extends Set<UUID>> void adicionar(Map<K, S> indice, K chave, UUID id,
+                                                          java.util.function.Supplier<S> novoConjunto) {
+        indice.compute(chave, (k, ids) -> {
+            S conjunto = ids == null ? novoConjunto.get() : ids;
+            conjunto.add(id);
+            return conjunto;
+        });
+    }
+
+    private static <K, S extends Set<UUID>> void retirar(Map<K, S> indice, K chave, UUID id) {
+        indice.computeIfPresent(chave, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * O valor já reservado pela própria chave não volta a ser anotado, para que a reversão não o solte.
+     */
+    private void reservarValor(Pendentes pendentes, ChavePix chave) {
+        UUID existente = valores.putIfAbsent(chave.getValorChave(), chave.getId());
+        if (existente == null) {
+            pendentes.reservadas.add(chave);
+        } else if (!existente.equals(chave.getId())) {
+            throw new BadRequestException(CHAVE_EXISTENTE, messageConfig.getMessage(CHAVE_EXISTENTE));
+        }
+    }
+
+    /**
+     * Agência nos 32 bits altos e número da conta nos baixos: uma chave de mapa sem o par de {@code Integer}.
+     */
+    static long conta(int agencia, int numeroConta) {
+        return ((long) agencia << 32) | (numeroConta & 0xFFFFFFFFL);
+    }
+
+    private static ChavePix copiar(ChavePix chave) {
+        return new ChavePix(chave.getId(), chave.getTipoChave(), chave.getValorChave(), chave.getTipoConta(),
+                chave.getTipoPessoa(), chave.getNumeroAgencia(), chave.getNumeroConta(), chave.getNomeCorrentista(),
+                chave.getSobrenomeCorrentista(), chave.getDataHoraInclusao(), chave.getDataHoraInativacao(),
+                chave.getVersao());
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.ports.out.ContadorChavePixRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Contadores por conta do perfil {@code memoria}. Cada contador é um {@code long[]} com o total na primeira posição e
+ * a quantidade de cada tipo nas seguintes; a conferência do limite e a soma acontecem no mesmo {@code compute}, o que
+ * faz o papel do UPDATE condicional da versão em banco.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaContadorChavePixRepository implements ContadorChavePixRepository {
+
+    private final ConcurrentHashMap<Long, long[]> contadores = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean reservar(ChavePix chavePix, int limite) {
+        long conta = MemoriaChavePixRepository.conta(chavePix.getNumeroAgencia(), chavePix.getNumeroConta());
+        boolean[] reservada = new boolean[1];
+        contadores.computeIfPresent(conta, (k, quantidades) -> {
+            if (quantidades[0] >= limite) {
+                return quantidades;
+            }
+            reservada[0] = true;
+            return somar(quantidades, chavePix.getTipoChave(), 1);
+        });
+        if (reservada[0]) {
+            TransacaoMemoria.aoReverter(() -> contadores.computeIfPresent(conta,
+                    (k, quantidades) -> somar(quantidades, chavePix.getTipoChave(), -1)));
+        }
+        return reservada[0];
+    }
+
+    @Override
+    public boolean[] reservarTodas(List<ChavePix> chavesPix, ToIntFunction<ChavePix> limite) {
+        boolean[] reservadas = new boolean[chavesPix.size()];
+        for (int i = 0; i < chavesPix.size(); i++) {
+            reservadas[i] = reservar(chavesPix.get(i), limite.applyAsInt(chavesPix.get(i)));
+        }
+        return reservadas;
+    }
+
+    @Override
+    public void liberar(ContaBancaria conta, TipoChave tipoChave) {
+        long chave = MemoriaChavePixRepository.conta(conta.getNumeroAgencia(), conta.getNumeroConta());
+        boolean[] liberada = new boolean[1];
+        contadores.computeIfPresent(chave, (k, quantidades) -> {
+            if (quantidades[0] == 0) {
+                return quantidades;
+            }
+            liberada[0] = true;
+            return somar(quantidades, tipoChave, -1);
+        });
+        if (liberada[0]) {
+            TransacaoMemoria.aoReverter(() -> contadores.computeIfPresent(chave,
+                    (k, quantidades) -> somar(quantidades, tipoChave, 1)));
+        }
+    }
+
+    @Override
+    public boolean existe(ContaBancaria conta) {
+        return contadores.containsKey(MemoriaChavePixRepository.conta(conta.getNumeroAgencia(), conta.getNumeroConta()));
+    }
+
+    @Override
+    public Set<ContaBancaria> buscarAusentes(Collection<ContaBancaria> contas) {
+        Set<ContaBancaria> ausentes = new HashSet<>();
+        for (ContaBancaria conta : contas) {
+            if (!existe(conta)) {
+                ausentes.add(conta);
+            }
+        }
+        return ausentes;
+    }
+
+    /**
+     * Já fica visível ao retornar e não é desfeito se o cadastro for revertido: as quantidades vêm das chaves confirmadas
+     * e continuam certas sem ele.
+     */
+    @Override
+    public void inicializar(ContaBancaria conta, Map<TipoChave, Long> quantidades) {
+        long[] inicial = new long[TipoChave.values().length + 1];
+        quantidades.forEach((tipo, quantidade) -> {
+            inicial[0] += quantidade;
+            inicial[1 + tipo.ordinal()] = quantidade;
+        });
+        contadores.putIfAbsent(MemoriaChavePixRepository.conta(conta.getNumeroAgencia(), conta.getNumeroConta()), inicial);
+    }
+
+    private static long[] somar(long[] quantidades, TipoChave tipoChave, int delta) {
+        long[] novas = quantidades.clone();
+        novas[0] += delta;
+        novas[1 + tipoChave.ordinal()] += delta;
+        return novas;
+    }
+}
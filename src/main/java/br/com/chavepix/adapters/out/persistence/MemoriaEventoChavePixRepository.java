@@ -0,0 +1,60 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox do perfil {@code memoria}. O evento só entra na fila quando a transação que o registrou é confirmada, e
+ * {@link #bloquearPendentes} já o retira da fila: se a transação do relay for revertida, o lote volta com as mesmas
+ * sequências e é publicado de novo, como acontece com as linhas bloqueadas na versão em banco.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaEventoChavePixRepository implements EventoChavePixRepository {
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, EventoChavePix> pendentes = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void registrar(EventoChavePix evento) {
+        registrarTodos(List.of(evento));
+    }
+
+    @Override
+    public void registrarTodos(List<EventoChavePix> eventos) {
+        TransacaoMemoria.aoConfirmar(() -> eventos.forEach(evento -> {
+            long numero = sequencia.incrementAndGet();
+            pendentes.put(numero, new EventoChavePix(numero, evento.getTipo(), evento.getChaveId(),
+                    evento.getVersao(), evento.getDataHora(), evento.getPayload()));
+        }));
+    }
+
+    @Override
+    public List<EventoChavePix> bloquearPendentes(int limite) {
+        List<EventoChavePix> bloqueados = new ArrayList<>(limite);
+        Map.Entry<Long, EventoChavePix> pendente;
+        while (bloqueados.size() < limite && (pendente = pendentes.pollFirstEntry()) != null) {
+            bloqueados.add(pendente.getValue());
+        }
+        if (!bloqueados.isEmpty()) {
+            TransacaoMemoria.aoReverter(() -> bloqueados.forEach(evento -> pendentes.put(evento.getSequencia(), evento)));
+        }
+        return bloqueados;
+    }
+
+    /**
+     * Os eventos já saíram da fila em {@link #bloquearPendentes}.
+     */
+    @Override
+    public void remover(Collection<Long> sequencias) {
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import br.com.chavepix.domain.ports.out.RegistroAuditoriaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Trilha de auditoria do perfil {@code memoria}: guarda só os registros mais recentes, até
+ * {@code chave-pix.auditoria.memoria.capacidade}, para que um serviço de longa duração não cresça sem limite.
+ */
+@Repository
+@Profile("memoria")
+public class MemoriaRegistroAuditoriaRepository implements RegistroAuditoriaRepository {
+
+    private final int capacidade;
+    private final Deque<RegistroAuditoria> registros = new ArrayDeque<>();
+
+    public MemoriaRegistroAuditoriaRepository(@Value("${chave-pix.auditoria.memoria.capacidade:100000}") int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    @Override
+    public synchronized void gravarTodos(List<RegistroAuditoria> novos) {
+        for (RegistroAuditoria registro : novos) {
+            if (registros.size() == capacidade) {
+                registros.removeFirst();
+            }
+            registros.addLast(registro);
+        }
+    }
+
+    public synchronized List<RegistroAuditoria> getRegistros() {
+        return List.copyOf(registros);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gerenciador de transações do profile memoria, em que não há banco: não abre nem confirma nada, só mantém a
+ * sincronização de transação, pela qual os repositórios em memória desfazem as próprias escritas numa reversão
+ * ({@link TransacaoMemoria}). A propagação segue as regras do Spring, com o estado da transação preso à thread.
+ */
+@Component("transactionManager")
+@Profile("memoria")
+public class MemoriaTransactionManager extends AbstractPlatformTransactionManager {
+
+    public MemoriaTransactionManager() {
+        setTransactionSynchronization(SYNCHRONIZATION_ALWAYS);
+    }
+
+    private static final class Estado {
+        private boolean somenteReversao;
+    }
+
+    private static final class Transacao implements SmartTransactionObject {
+
+        private Estado estado;
+
+        private Transacao(Estado estado) {
+            this.estado = estado;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return estado != null && estado.somenteReversao;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Transacao((Estado) TransactionSynchronizationManager.getResource(this));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((Transacao) transaction).estado != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Estado estado = new Estado();
+        ((Transacao) transaction).estado = estado;
+        TransactionSynchronizationManager.bindResource(this, estado);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((Transacao) transaction).estado = null;
+        return TransactionSynchronizationManager.unbindResource(this);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(this, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((Transacao) status.getTransaction()).estado.somenteReversao = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import br.com.chavepix.domain.ports.out.RegistroAuditoriaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Insere a trilha de auditoria por JDBC em lotes; a tabela não tem UPDATE nem DELETE pela aplicação.
+ */
+@Repository
+@Profile("!memoria")
+public class RegistroAuditoriaRepositoryImpl implements RegistroAuditoriaRepository {
+
+    private static final int TAMANHO_LOTE_INSERCAO = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RegistroAuditoriaRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void gravarTodos(List<RegistroAuditoria> registros) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO chave_pix_auditoria (operacao, chave_id, usuario, data_hora) VALUES (?, ?, ?, ?)",
+                registros, TAMANHO_LOTE_INSERCAO, (ps, registro) -> {
+                    ps.setString(1, registro.getOperacao().name());
+                    ps.setObject(2, registro.getChaveId());
+                    ps.setString(3, registro.getUsuario());
+                    ps.setTimestamp(4, Timestamp.valueOf(registro.getDataHora()));
+                });
+    }
+}
@@ -0,0 +1,464 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.*;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+
+/**
+ * {@link ChavePixRepository} distribuído em vários bancos pelo número da agência: todas as chaves de uma conta ficam no
+ * mesmo shard, então as consultas e o limite por conta acessam um único banco. O {@link DiretorioChavePix} resolve o
+ * shard a partir do id ou do valor e garante a unicidade do valor entre shards; a busca por nome consulta todos os
+ * shards em paralelo.
+ * <p>
+ * Não há transação distribuída. Dentro da transação de escrita do serviço o diretório participa dela, e cada shard
+ * acessado abre a sua, confirmada logo depois do commit da transação do serviço e revertida com ela: uma falha no
+ * evento ou na auditoria depois da gravação não deixa linha órfã no shard, e as outras transações só veem a chave depois
+ * do commit.
+ * Só uma falha no commit do shard, depois do commit do serviço, deixa os bancos divergentes, e ela chega a quem chamou.
+ * Fora de transação cada escrita é confirmada na hora e a reserva no diretório é desfeita se a gravação no shard falha.
+ * <p>
+ * A quantidade de shards faz parte da regra de roteamento; alterá-la exige redistribuir as chaves.
+ */
+@Slf4j
+public class ShardedChavePixRepository implements ChavePixRepository, AutoCloseable {
+
+    /**
+     * Ordem do PostgreSQL e do H2 para uuid (bytes sem sinal), usada para intercalar as páginas de cada shard.
+     */
+    static final Comparator<UUID> ORDEM_UUID = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final int TAMANHO_LOTE_INSERCAO = 500;
+
+    private static final String SELECT_CHAVE_PIX = """
+            SELECT id, tipo_chave, valor_chave, tipo_conta, tipo_pessoa, numero_agencia, numero_conta,
+                   nome_correntista, sobrenome_correntista, data_hora_inclusao, data_hora_inativacao, versao
+              FROM chave_pix
+            """;
+
+    private final List<Shard> shards;
+    private final DiretorioChavePix diretorio;
+    private final MessageConfig messageConfig;
+    private final ExecutorService executor;
+
+    public ShardedChavePixRepository(List<DataSource> shards, DiretorioChavePix diretorio, MessageConfig messageConfig,
+                                     ThreadFactory threads) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Ao menos um shard deve ser configurado");
+        }
+        this.shards = shards.stream().map(Shard::new).toList();
+        this.diretorio = diretorio;
+        this.messageConfig = messageConfig;
+
+        this.executor = Executors.newFixedThreadPool(shards.size(), threads);
+    }
+
+    public int shardDaAgencia(Integer numeroAgencia) {
+        return Math.floorMod(numeroAgencia, shards.size());
+    }
+
+    @Override
+    public boolean chaveJaExiste(String valorChave) {
+        return diretorio.existe(valorChave);
+    }
+
+    @Override
+    public void percorrerValoresChave(Consumer<String> consumidor) {
+        diretorio.percorrerValores(consumidor);
+    }
+
+    @Override
+    public void percorrerChavesPix(Consumer<ChavePix> consumidor) {
+        for (Shard shard : shards) {
+            shard.transacao.executeWithoutResult(status -> shard.jdbc.getJdbcTemplate().query(connection -> {
+                var ps = connection.prepareStatement(SELECT_CHAVE_PIX);
+                ps.setFetchSize(1000);
+                return ps;
+            }, (ResultSet rs) -> consumidor.accept(mapear(rs, 0))));
+        }
+    }
+
+    @Override
+    public Set<String> buscarChavesExistentes(Collection<String> valoresChave) {
+        return diretorio.existentes(valoresChave);
+    }
+
+    @Override
+    public Map<TipoChave, Long> contarChavesAtivasPorTipo(Integer agencia, Integer numeroConta) {
+        Map<TipoChave, Long> quantidades = new EnumMap<>(TipoChave.class);
+        shardDa(agencia).jdbcTemplate().query("""
+                SELECT tipo_chave, count(*) FROM chave_pix
+                 WHERE numero_agencia = ? AND numero_conta = ? AND data_hora_inativacao IS NULL
+                 GROUP BY tipo_chave
+                """, (ResultSet rs) -> {
+            quantidades.put(TipoChave.valueOf(rs.getString(1)), rs.getLong(2));
+        }, agencia, numeroConta);
+        return quantidades;
+    }
+
+    @Override
+    public List<ChavePix> buscarPorConta(Integer agencia, Integer numeroConta) {
+        return shardDa(agencia).jdbcTemplate().query(
+                SELECT_CHAVE_PIX + " WHERE numero_agencia = ? AND numero_conta = ?",
+                ShardedChavePixRepository::mapear, agencia, numeroConta);
+    }
+
+    /**
+     * Cada shard devolve até {@code limite} chaves após o cursor; a página é formada pelas menores entre todas elas.
+     */
+    @Override
+    public List<ChavePix> buscarPorNome(String nomeCorrentista, UUID aposId, int limite) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("nome", nomeCorrentista)
+                .addValue("aposId", aposId)
+                .addValue("limite", limite);
+        String sql = SELECT_CHAVE_PIX + " WHERE nome_correntista = :nome"
+                + (aposId == null ? "" : " AND id > :aposId")
+                + " ORDER BY id LIMIT :limite";
+
+        List<CompletableFuture<List<ChavePix>>> consultas = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> shard.jdbc.query(sql, parametros, ShardedChavePixRepository::mapear), executor))
+                .toList();
+
+        return consultas.stream()
+                .flatMap(consulta -> aguardar(consulta).stream())
+                .sorted(Comparator.comparing(ChavePix::getId, ORDEM_UUID))
+                .limit(limite)
+                .toList();
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorId(UUID id) {
+        return diretorio.localizar(id).flatMap(localizacao -> buscarNoShard(localizacao.getShard(), id));
+    }
+
+    @Override
+    public Optional<ChavePix> buscarPorValor(String valorChave) {
+        return diretorio.localizarAtiva(valorChave)
+                .flatMap(localizacao -> buscarNoShard(localizacao.getShard(), localizacao.getId()))
+                .filter(chavePix -> !chavePix.estaInativa());
+    }
+
+    @Override
+    public void salvar(ChavePix chavePix) {
+        int indice = shardDaAgencia(chavePix.getNumeroAgencia());
+        reservarNoDiretorio(() -> diretorio.reservar(chavePix.getId(), indice, chavePix.getValorChave()));
+        try {
+            shards.get(indice).inserir(List.of(chavePix));
+        } catch (RuntimeException e) {
+            diretorio.remover(List.of(chavePix.getId()));
+            throw e;
+        }
+    }
+
+    /**
+     * A alteração só é gravada se a chave ainda estiver na versão lida. Quando a agência muda de shard, a chave é gravada
+     * no novo shard e a cópia do shard antigo é removida com a mesma condição de versão.
+     */
+    @Override
+    public boolean atualizar(ChavePix chavePix) {
+        Optional<DiretorioChavePix.Localizacao> atual = diretorio.localizarParaAlterar(chavePix.getId());
+        if (atual.isEmpty()) {
+            return false;
+        }
+        int origem = atual.get().getShard();
+        int destino = shardDaAgencia(chavePix.getNumeroAgencia());
+
+        reservarNoDiretorio(() -> diretorio.alterar(chavePix.getId(), destino, chavePix.getValorChave()));
+        boolean atualizada;
+        try {
+            atualizada = origem == destino
+                    ? shards.get(destino).atualizar(chavePix)
+                    : mover(chavePix, origem, destino);
+        } catch (RuntimeException e) {
+            diretorio.alterar(chavePix.getId(), origem, atual.get().getValorChaveAtiva());
+            throw e;
+        }
+
+        if (atualizada) {
+            chavePix.avancarVersao();
+        } else {
+            diretorio.alterar(chavePix.getId(), origem, atual.get().getValorChaveAtiva());
+        }
+        return atualizada;
+    }
+
+    private boolean mover(ChavePix chavePix, int origem, int destino) {
+        Long versaoLida = chavePix.getVersao();
+        chavePix.avancarVersao();
+        try {
+            shards.get(destino).inserir(List.of(chavePix));
+        } finally {
+            chavePix.definirVersao(versaoLida);
+        }
+
+        boolean removida;
+        try {
+            removida = shards.get(origem).remover(chavePix.getId(), versaoLida);
+        } catch (RuntimeException e) {
+            shards.get(destino).remover(List.of(chavePix.getId()));
+            throw e;
+        }
+        if (!removida) {
+            shards.get(destino).remover(List.of(chavePix.getId()));
+        }
+        return removida;
+    }
+
+    @Override
+    public boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+        Optional<DiretorioChavePix.Localizacao> localizacao = diretorio.localizarParaAlterar(id);
+        if (localizacao.isEmpty()) {
+            return false;
+        }
+        boolean inativada = shards.get(localizacao.get().getShard()).inativar(id, dataHoraInativacao);
+        if (inativada) {
+            diretorio.liberar(id);
+        }
+        return inativada;
+    }
+
+    @Override
+    public boolean[] salvarTodos(List<ChavePix> chavesPix) {
+        boolean[] reservadas = reservarTodasNoDiretorio(chavesPix);
+        List<ChavePix> gravar = new ArrayList<>(chavesPix.size());
+        for (int i = 0; i < reservadas.length; i++) {
+            if (reservadas[i]) {
+                gravar.add(chavesPix.get(i));
+            }
+        }
+
+        Map<Integer, List<ChavePix>> chavesPorShard = gravar.stream()
+                .collect(Collectors.groupingBy(chave -> shardDaAgencia(chave.getNumeroAgencia())));
+        List<Integer> gravados = new ArrayList<>();
+        try {
+            chavesPorShard.forEach((indice, chaves) -> {
+                shards.get(indice).inserir(chaves);
+                gravados.add(indice);
+            });
+        } catch (RuntimeException e) {
+            gravados.forEach(indice -> shards.get(indice).remover(ids(chavesPorShard.get(indice))));
+            diretorio.remover(ids(gravar));
+            throw e;
+        }
+        return reservadas;
+    }
+
+    private boolean[] reservarTodasNoDiretorio(List<ChavePix> chavesPix) {
+        return diretorio.reservarTodos(chavesPix, chave -> shardDaAgencia(chave.getNumeroAgencia()));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Shard shardDa(Integer agencia) {
+        return shards.get(shardDaAgencia(agencia));
+    }
+
+    private Optional<ChavePix> buscarNoShard(int indice, UUID id) {
+        return shards.get(indice).jdbcTemplate()
+                .query(SELECT_CHAVE_PIX + " WHERE id = ?", ShardedChavePixRepository::mapear, id)
+                .stream().findFirst();
+    }
+
+    private void reservarNoDiretorio(Runnable reserva) {
+        try {
+            reserva.run();
+        } catch (DataIntegrityViolationException e) {
+            if (DiretorioChavePix.violaValorAtivo(e)) {
+                throw new BadRequestException(CHAVE_EXISTENTE, messageConfig.getMessage(CHAVE_EXISTENTE));
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> consulta) {
+        try {
+            return consulta.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private static List<UUID> ids(List<ChavePix> chavesPix) {
+        return chavesPix.stream().map(ChavePix::getId).toList();
+    }
+
+    private static ChavePix mapear(ResultSet rs, int linha) throws SQLException {
+        Timestamp inativacao = rs.getTimestamp("data_hora_inativacao");
+        return new ChavePix(
+                rs.getObject("id", UUID.class),
+                TipoChave.valueOf(rs.getString("tipo_chave")),
+                rs.getString("valor_chave"),
+                TipoConta.valueOf(rs.getString("tipo_conta")),
+                TipoPessoa.valueOf(rs.getString("tipo_pessoa")),
+                rs.getInt("numero_agencia"),
+                rs.getInt("numero_conta"),
+                rs.getString("nome_correntista"),
+                rs.getString("sobrenome_correntista"),
+                rs.getTimestamp("data_hora_inclusao").toLocalDateTime(),
+                inativacao == null ? null : inativacao.toLocalDateTime(),
+                rs.getLong("versao")
+        );
+    }
+
+    private static final class Shard {
+
+        private final DataSource dataSource;
+        private final NamedParameterJdbcTemplate jdbc;
+        private final TransactionTemplate transacao;
+
+        private Shard(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbc = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource));
+            this.transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        /**
+         * No primeiro acesso ao shard dentro de uma transação de escrita do serviço, abre a transação do shard e a deixa
+         * ligada à thread, onde o {@link JdbcTemplate} e o {@link #transacao} a encontram; as leituras seguintes na
+         * mesma transação enxergam o que ela já gravou. Não é aberta pelo {@link DataSourceTransactionManager}, que
+         * suspenderia a transação do serviço até o fim da do shard.
+         */
+        private JdbcTemplate jdbcTemplate() {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && !TransactionSynchronizationManager.hasResource(dataSource)) {
+                TransacaoShard transacaoShard = new TransacaoShard(dataSource);
+                TransactionSynchronizationManager.bindResource(dataSource, transacaoShard);
+                TransactionSynchronizationManager.registerSynchronization(transacaoShard);
+            }
+            return jdbc.getJdbcTemplate();
+        }
+
+        private void inserir(List<ChavePix> chavesPix) {
+            JdbcTemplate jdbcTemplate = jdbcTemplate();
+            transacao.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    ChavePixRepositoryImpl.INSERT_CHAVE_PIX, chavesPix, TAMANHO_LOTE_INSERCAO,
+                    ChavePixRepositoryImpl::preencherInsercao));
+        }
+
+        private boolean atualizar(ChavePix chavePix) {
+            return jdbcTemplate().update("""
+                    UPDATE chave_pix
+                       SET valor_chave = ?, tipo_conta = ?, numero_agencia = ?, numero_conta = ?,
+                           nome_correntista = ?, sobrenome_correntista = ?, versao = versao + 1
+                     WHERE id = ? AND versao = ? AND data_hora_inativacao IS NULL
+                    """,
+                    chavePix.getValorChave(), chavePix.getTipoConta().name(), chavePix.getNumeroAgencia(),
+                    chavePix.getNumeroConta(), chavePix.getNomeCorrentista(), chavePix.getSobrenomeCorrentista(),
+                    chavePix.getId(), chavePix.getVersao()) > 0;
+        }
+
+        private boolean inativar(UUID id, LocalDateTime dataHoraInativacao) {
+            return jdbcTemplate().update(
+                    "UPDATE chave_pix SET data_hora_inativacao = ?, versao = versao + 1 WHERE id = ? AND data_hora_inativacao IS NULL",
+                    Timestamp.valueOf(dataHoraInativacao), id) > 0;
+        }
+
+        private boolean remover(UUID id, Long versao) {
+            return jdbcTemplate().update("DELETE FROM chave_pix WHERE id = ? AND versao = ?", id, versao) > 0;
+        }
+
+        private void remover(List<UUID> ids) {
+            jdbcTemplate().batchUpdate("DELETE FROM chave_pix WHERE id = ?", ids, TAMANHO_LOTE_INSERCAO,
+                    (ps, id) -> ps.setObject(1, id));
+        }
+    }
+
+    /**
+     * Conexão do shard presa à transação do serviço: confirmada no {@code afterCommit}, quando o diretório, a outbox e o
+     * contador já foram confirmados, e revertida se a transação do serviço não confirmar.
+     */
+    private static final class TransacaoShard extends ConnectionHolder implements TransactionSynchronization {
+
+        private final DataSource dataSource;
+        private boolean confirmada;
+
+        private TransacaoShard(DataSource dataSource) {
+            super(abrir(dataSource));
+            this.dataSource = dataSource;
+            setTransactionActive(true);
+            setSynchronizedWithTransaction(true);
+        }
+
+        private static Connection abrir(DataSource dataSource) {
+            try {
+                Connection conexao = dataSource.getConnection();
+                conexao.setAutoCommit(false);
+                return conexao;
+            } catch (SQLException e) {
+                throw new TransactionSystemException("Não foi possível abrir a transação do shard", e);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (isRollbackOnly()) {
+                throw new TransactionSystemException("A transação do shard foi marcada para reversão e não foi confirmada");
+            }
+            try {
+                getConnection().commit();
+                confirmada = true;
+            } catch (SQLException e) {
+                throw new TransactionSystemException("Falha ao confirmar a transação do shard depois do commit do serviço", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+            Connection conexao = getConnection();
+            try {
+                if (!confirmada) {
+                    conexao.rollback();
+                }
+                conexao.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.warn("Falha ao reverter a transação do shard", e);
+            } finally {
+                try {
+                    conexao.close();
+                } catch (SQLException e) {
+                    log.warn("Falha ao fechar a conexão do shard", e);
+                }
+            }
+        }
+    }
+}
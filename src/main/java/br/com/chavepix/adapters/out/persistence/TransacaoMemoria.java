@@ -0,0 +1,41 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Os contadores e a fila de eventos em memória aplicam cada escrita na hora e registram como desfazê-la; o desfazer só
+ * roda se a transação corrente for revertida. Fora de transação a escrita é definitiva. As chaves guardam as escritas
+ * até o commit ({@link MemoriaChavePixRepository}).
+ */
+final class TransacaoMemoria {
+
+    private TransacaoMemoria() {
+    }
+
+    static void aoReverter(Runnable desfazer) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        desfazer.run();
+                    }
+                }
+            });
+        }
+    }
+
+    static void aoConfirmar(Runnable confirmar) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirmar.run();
+                }
+            });
+        } else {
+            confirmar.run();
+        }
+    }
+}
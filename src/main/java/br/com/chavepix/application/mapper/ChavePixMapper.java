@@ -18,6 +18,7 @@ public class ChavePixMapper {
         entity.setSobrenomeCorrentista(domain.getSobrenomeCorrentista());
         entity.setDataHoraInclusao(domain.getDataHoraInclusao());
         entity.setDataHoraInativacao(domain.getDataHoraInativacao());
+        entity.setVersao(domain.getVersao());
         return entity;
     }
 
@@ -33,7 +34,8 @@ public class ChavePixMapper {
                 entity.getNomeCorrentista(),
                 entity.getSobrenomeCorrentista(),
                 entity.getDataHoraInclusao(),
-                entity.getDataHoraInativacao()
+                entity.getDataHoraInativacao(),
+                entity.getVersao()
         );
     }
 }
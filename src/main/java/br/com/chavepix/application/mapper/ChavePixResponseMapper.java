@@ -3,6 +3,7 @@ package br.com.chavepix.application.mapper;
 import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
 import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
 import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
 import br.com.chavepix.domain.model.ChavePix;
 import org.springframework.stereotype.Component;
 
@@ -23,6 +24,7 @@ public class ChavePixResponseMapper {
                 .nomeCorrentista(chave.getNomeCorrentista())
                 .sobrenomeCorrentista(chave.getSobrenomeCorrentista())
                 .dataInclusao(chave.getDataHoraInclusao())
+                .versao(chave.getVersao())
                 .build();
     }
 
@@ -46,6 +48,22 @@ public class ChavePixResponseMapper {
                 )
                 .dataInclusao(chave.getDataHoraInclusao())
                 .dataInativacao(chave.getDataHoraInativacao())
+                .versao(chave.getVersao())
+                .build();
+    }
+
+    public ResolverChavePixResponse toResolverResponse(ChavePix chave) {
+        return ResolverChavePixResponse.builder()
+                .tipoChave(chave.getTipoChave())
+                .valorChave(chave.getValorChave())
+                .tipoConta(chave.getTipoConta())
+                .tipoPessoa(chave.getTipoPessoa())
+                .numeroAgencia(chave.getNumeroAgencia())
+                .numeroConta(chave.getNumeroConta())
+                .nomeCorrentista(chave.getNomeCorrentista())
+                .sobrenomeCorrentista(
+                        chave.getSobrenomeCorrentista() == null ? "" : chave.getSobrenomeCorrentista()
+                )
                 .build();
     }
 
@@ -0,0 +1,48 @@
+package br.com.chavepix.application.mapper;
+
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Monta os eventos de mudança com o mesmo JSON que a API devolve na consulta da chave.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventoChavePixMapper {
+
+    private final ChavePixResponseMapper responseMapper;
+    private final ObjectMapper objectMapper;
+
+    public EventoChavePix toCadastrada(ChavePix chave) {
+        return new EventoChavePix(TipoEventoChavePix.CHAVE_CADASTRADA, chave.getId(), chave.getVersao(),
+                json(responseMapper.toConsultarResponse(chave)));
+    }
+
+    public EventoChavePix toAlterada(ChavePix chave) {
+        return new EventoChavePix(TipoEventoChavePix.CHAVE_ALTERADA, chave.getId(), chave.getVersao(),
+                json(responseMapper.toConsultarResponse(chave)));
+    }
+
+    /**
+     * A inativação também avança a versão, que vai no evento para ordená-lo depois das alterações anteriores.
+     */
+    public EventoChavePix toInativada(InativarChavePixResponse inativacao, Long versao) {
+        return new EventoChavePix(TipoEventoChavePix.CHAVE_INATIVADA, inativacao.getId(), versao, json(inativacao));
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
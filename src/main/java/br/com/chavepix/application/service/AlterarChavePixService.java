@@ -2,19 +2,27 @@ package br.com.chavepix.application.service;
 
 import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
 import br.com.chavepix.application.validator.ChavePixValidator;
 import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.ConflictException;
 import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.exceptions.PreconditionFailedException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.ports.in.AlterarChavePixUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -29,10 +37,13 @@ public class AlterarChavePixService implements AlterarChavePixUseCase {
     private final ChavePixValidator validator;
     private final MessageConfig messageConfig;
     private final ChavePixResponseMapper mapper;
-
+    private final EventoChavePixRepository eventoRepository;
+    private final EventoChavePixMapper eventoMapper;
+    private final AuditoriaChavePix auditoria;
 
     @Override
-    public AlterarChavePixResponse alterarChave(UUID id, TipoChave tipoChave, String valorChave, TipoConta tipoConta, Integer numeroAgencia, Integer numeroConta, String nomeCorrentista, String sobrenomeCorrentista) {
+    @Transactional
+    public AlterarChavePixResponse alterarChave(UUID id, Long versaoEsperada, TipoChave tipoChave, String valorChave, TipoConta tipoConta, Integer numeroAgencia, Integer numeroConta, String nomeCorrentista, String sobrenomeCorrentista) {
         log.info("Iniciando alteração da chave Pix com ID {}", id);
 
         ChavePix chave = repository.buscarPorId(id)
@@ -60,8 +71,25 @@ public class AlterarChavePixService implements AlterarChavePixUseCase {
                 sobrenomeCorrentista
         );
 
+        if (versaoEsperada != null) {
+            chave.definirVersao(versaoEsperada);
+        }
+        ContaBancaria contaAnterior = new ContaBancaria(chave.getNumeroAgencia(), chave.getNumeroConta());
         chave.atualizarDadosPermitidos(tipoConta, valorChave, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
-        repository.salvar(chave);
+
+        if (!contaAnterior.equals(new ContaBancaria(chave.getNumeroAgencia(), chave.getNumeroConta()))) {
+            validator.transferirLimitePorConta(contaAnterior, chave);
+        }
+
+        // a versão é conferida na própria gravação, sem lock: se outra alteração foi gravada depois da leitura, nada muda
+        if (!repository.atualizar(chave)) {
+            log.warn("Chave Pix alterada concorrentemente: id={}, versao={}", id, chave.getVersao());
+            throw versaoEsperada != null
+                    ? new PreconditionFailedException(VERSAO_CHAVE_DIVERGENTE, messageConfig.getMessage(VERSAO_CHAVE_DIVERGENTE))
+                    : new ConflictException(CHAVE_ALTERADA_CONCORRENTEMENTE, messageConfig.getMessage(CHAVE_ALTERADA_CONCORRENTEMENTE));
+        }
+        eventoRepository.registrar(eventoMapper.toAlterada(chave));
+        auditoria.registrar(OperacaoAuditoria.ALTERACAO, id);
 
         log.info("Chave Pix atualizada com sucesso: id={}", id);
         return mapper.toAlterarResponse(chave);
@@ -0,0 +1,209 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.RestException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixLoteUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CadastrarChavePixLoteService implements CadastrarChavePixLoteUseCase {
+
+    private final ChavePixRepository repository;
+    private final ChavePixValidator validator;
+    private final MessageConfig messageConfig;
+    private final EventoChavePixRepository eventoRepository;
+    private final EventoChavePixMapper eventoMapper;
+    private final AuditoriaChavePix auditoria;
+    private final Validator beanValidator;
+
+    @Value("${chave-pix.lote.tamanho-maximo:10000}")
+    private int tamanhoMaximoLote = 10000;
+
+    @Override
+    @Transactional
+    public List<CadastrarChavePixLoteResponse> cadastrarChaves(List<CadastrarChavePixRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > tamanhoMaximoLote) {
+            throw new BadRequestException(LOTE_TAMANHO_EXCEDIDO, messageConfig.getMessage(LOTE_TAMANHO_EXCEDIDO, tamanhoMaximoLote));
+        }
+        log.info("Iniciando cadastro em lote de {} chaves Pix", requests.size());
+
+        CadastrarChavePixLoteResponse[] resultados = new CadastrarChavePixLoteResponse[requests.size()];
+        Map<Integer, CadastrarChavePixRequest> candidatas = validarItens(requests, resultados);
+
+        Set<String> existentes = repository.buscarChavesExistentes(
+                candidatas.values().stream().map(CadastrarChavePixRequest::getValorChave).toList());
+
+        Map<Integer, ChavePix> chavesPorIndice = new LinkedHashMap<>();
+        for (Map.Entry<Integer, CadastrarChavePixRequest> candidata : candidatas.entrySet()) {
+            int indice = candidata.getKey();
+            CadastrarChavePixRequest request = candidata.getValue();
+
+            if (existentes.contains(request.getValorChave())) {
+                resultados[indice] = erro(indice, request, CHAVE_EXISTENTE);
+                continue;
+            }
+
+            chavesPorIndice.put(indice, new ChavePix(
+                    request.getTipoChave(),
+                    request.getValorChave(),
+                    request.getTipoConta(),
+                    request.getTipoPessoa(),
+                    request.getNumeroAgencia(),
+                    request.getNumeroConta(),
+                    request.getNomeCorrentista(),
+                    request.getSobrenomeCorrentista()
+            ));
+        }
+
+        // as vagas são reservadas na ordem do lote: numa conta que estoura o limite, ficam de fora as últimas chaves
+        boolean[] reservadas = validator.reservarLimitesPorConta(new ArrayList<>(chavesPorIndice.values()));
+
+        List<ChavePix> novasChaves = new ArrayList<>();
+        List<Integer> indicesNovasChaves = new ArrayList<>();
+        int posicao = 0;
+        for (Map.Entry<Integer, ChavePix> candidata : chavesPorIndice.entrySet()) {
+            int indice = candidata.getKey();
+            ChavePix novaChave = candidata.getValue();
+
+            if (!reservadas[posicao++]) {
+                resultados[indice] = erro(indice, requests.get(indice), LIMITE_CHAVE_EXCEDIDO);
+                continue;
+            }
+
+            novasChaves.add(novaChave);
+            indicesNovasChaves.add(indice);
+            resultados[indice] = CadastrarChavePixLoteResponse.builder()
+                    .indice(indice)
+                    .valorChave(novaChave.getValorChave())
+                    .id(novaChave.getId())
+                    .build();
+        }
+
+        boolean[] gravadas = repository.salvarTodos(novasChaves);
+        List<ChavePix> cadastradas = new ArrayList<>(novasChaves.size());
+        for (int i = 0; i < gravadas.length; i++) {
+            ChavePix novaChave = novasChaves.get(i);
+            if (gravadas[i]) {
+                cadastradas.add(novaChave);
+                continue;
+            }
+            // valor cadastrado por outra transação depois da consulta de existentes: só este item é recusado
+            int indice = indicesNovasChaves.get(i);
+            resultados[indice] = erro(indice, requests.get(indice), CHAVE_EXISTENTE);
+            validator.liberarLimitePorConta(novaChave);
+        }
+        eventoRepository.registrarTodos(cadastradas.stream().map(eventoMapper::toCadastrada).toList());
+        auditoria.registrarTodos(OperacaoAuditoria.CADASTRO, cadastradas.stream().map(ChavePix::getId).toList());
+
+        log.info("Cadastro em lote finalizado: {} chaves cadastradas, {} rejeitadas", cadastradas.size(), requests.size() - cadastradas.size());
+        return Arrays.asList(resultados);
+    }
+
+    private Map<Integer, CadastrarChavePixRequest> validarItens(List<CadastrarChavePixRequest> requests,
+                                                               CadastrarChavePixLoteResponse[] resultados) {
+        Map<Integer, CadastrarChavePixRequest> candidatas = new LinkedHashMap<>();
+        Set<String> valoresNoLote = new HashSet<>();
+
+        for (int indice = 0; indice < requests.size(); indice++) {
+            CadastrarChavePixRequest request = requests.get(indice);
+
+            if (request == null) {
+                resultados[indice] = CadastrarChavePixLoteResponse.builder()
+                        .indice(indice)
+                        .codigo(INVALID_REQUEST)
+                        .mensagem(messageConfig.getMessage(INVALID_REQUEST))
+                        .build();
+                continue;
+            }
+
+            // as anotações do request são conferidas aqui, item a item: com @Valid nos itens da lista um único item
+            // inválido recusaria o lote inteiro
+            Optional<CadastrarChavePixLoteResponse> campoInvalido = validarAnotacoes(indice, request);
+            if (campoInvalido.isPresent()) {
+                resultados[indice] = campoInvalido.get();
+                continue;
+            }
+
+            try {
+                validator.validarCampos(
+                        request.getTipoChave(),
+                        request.getValorChave(),
+                        request.getTipoConta(),
+                        request.getNumeroAgencia(),
+                        request.getNumeroConta(),
+                        request.getNomeCorrentista(),
+                        request.getSobrenomeCorrentista()
+                );
+            } catch (RestException e) {
+                resultados[indice] = CadastrarChavePixLoteResponse.builder()
+                        .indice(indice)
+                        .valorChave(request.getValorChave())
+                        .codigo(e.getResponseBodyCode())
+                        .mensagem(e.getMessage())
+                        .build();
+                continue;
+            }
+
+            // só os itens válidos disputam o valor: um item inválido não tira o valor do item válido seguinte
+            if (!valoresNoLote.add(request.getValorChave())) {
+                resultados[indice] = erro(indice, request, CHAVE_DUPLICADA_LOTE);
+                continue;
+            }
+            candidatas.put(indice, request);
+        }
+        return candidatas;
+    }
+
+    private Optional<CadastrarChavePixLoteResponse> validarAnotacoes(int indice, CadastrarChavePixRequest request) {
+        return beanValidator.validate(request).stream()
+                .min(Comparator.comparing(violacao -> violacao.getPropertyPath().toString()))
+                .map(violacao -> {
+                    String campo = violacao.getPropertyPath().toString();
+                    String codigo = obrigatorio(violacao) ? FIELD_NOT_BE_NULL : FIELD_MUST_BE_VALID;
+                    return CadastrarChavePixLoteResponse.builder()
+                            .indice(indice)
+                            .valorChave(request.getValorChave())
+                            .codigo(codigo)
+                            .mensagem(messageConfig.getMessage(codigo, campo))
+                            .build();
+                });
+    }
+
+    private static boolean obrigatorio(ConstraintViolation<?> violacao) {
+        Object anotacao = violacao.getConstraintDescriptor().getAnnotation();
+        return anotacao instanceof NotNull || anotacao instanceof NotBlank;
+    }
+
+    private CadastrarChavePixLoteResponse erro(int indice, CadastrarChavePixRequest request, String codigo) {
+        return CadastrarChavePixLoteResponse.builder()
+                .indice(indice)
+                .valorChave(request.getValorChave())
+                .codigo(codigo)
+                .mensagem(messageConfig.getMessage(codigo))
+                .build();
+    }
+}
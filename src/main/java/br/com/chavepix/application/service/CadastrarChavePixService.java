@@ -2,16 +2,22 @@ package br.com.chavepix.application.service;
 
 import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
 import br.com.chavepix.application.validator.ChavePixValidator;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.model.TipoPessoa;
 import br.com.chavepix.domain.ports.in.CadastrarChavePixUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -21,13 +27,24 @@ public class CadastrarChavePixService implements CadastrarChavePixUseCase {
     private final ChavePixRepository repository;
     private final ChavePixValidator validator;
     private final ChavePixResponseMapper mapper;
+    private final EventoChavePixRepository eventoRepository;
+    private final EventoChavePixMapper eventoMapper;
+    private final AuditoriaChavePix auditoria;
+
+    /**
+     * Consulta de existência antes do INSERT, só para falhar cedo; a unicidade é garantida pela constraint do banco.
+     */
+    @Value("${chave-pix.cadastro.pre-validar-existencia:true}")
+    private boolean preValidarExistencia = true;
 
     @Override
+    @Transactional
     public CadastrarChavePixResponse cadastrarChave(TipoChave tipoChave, String valorChave, TipoConta tipoConta, TipoPessoa tipoPessoa, Integer numeroAgencia, Integer numeroConta, String nomeCorrentista, String sobrenomeCorrentista) {
         log.info("Iniciando cadastro da chave Pix do tipo {} para conta {}-{}", tipoChave, numeroAgencia, numeroConta);
 
-        validator.validarChaveExistente(valorChave);
-        validator.validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        if (preValidarExistencia) {
+            validator.validarChaveExistente(valorChave);
+        }
         validator.validarCampos(tipoChave, valorChave, tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
 
         ChavePix novaChave = new ChavePix(
@@ -41,7 +58,10 @@ public class CadastrarChavePixService implements CadastrarChavePixUseCase {
                 sobrenomeCorrentista
         );
 
+        validator.reservarLimitePorConta(novaChave);
         repository.salvar(novaChave);
+        eventoRepository.registrar(eventoMapper.toCadastrada(novaChave));
+        auditoria.registrar(OperacaoAuditoria.CADASTRO, novaChave.getId());
 
         log.info("Chave Pix cadastrada com sucesso: id={}, tipo={}, conta {}-{}", novaChave.getId(), tipoChave, numeroAgencia, numeroConta);
         return mapper.toCadastrarResponse(novaChave);
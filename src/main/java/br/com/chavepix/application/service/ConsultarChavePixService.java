@@ -1,20 +1,26 @@
 package br.com.chavepix.application.service;
 
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixPaginaResponse;
 import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.config.application.MascaraLog;
 import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.NotFoundException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
 import br.com.chavepix.domain.ports.in.ConsultarChavePixUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
 
-import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_NAO_ENCONTRADA;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.*;
 
 @Slf4j
 @Service
@@ -24,6 +30,13 @@ public class ConsultarChavePixService implements ConsultarChavePixUseCase {
     private final ChavePixRepository repository;
     private final MessageConfig messageConfig;
     private final ChavePixResponseMapper mapper;
+    private final AuditoriaChavePix auditoria;
+
+    @Value("${chave-pix.consulta.tamanho-padrao-pagina:20}")
+    private int tamanhoPadraoPagina = 20;
+
+    @Value("${chave-pix.consulta.tamanho-maximo-pagina:100}")
+    private int tamanhoMaximoPagina = 100;
 
     @Override
     public ConsultarChavePixResponse consultarPorId(UUID id) {
@@ -31,6 +44,7 @@ public class ConsultarChavePixService implements ConsultarChavePixUseCase {
 
         ChavePix chave = repository.buscarPorId(id)
                 .orElseThrow(() -> new NotFoundException(CHAVE_NAO_ENCONTRADA, messageConfig.getMessage(CHAVE_NAO_ENCONTRADA) ));
+        auditoria.registrar(OperacaoAuditoria.CONSULTA_POR_ID, chave.getId());
 
         return mapper.toConsultarResponse(chave);
     }
@@ -44,16 +58,32 @@ public class ConsultarChavePixService implements ConsultarChavePixUseCase {
         if (chaves.isEmpty()) {
             throw new NotFoundException(CHAVE_NAO_ENCONTRADA, messageConfig.getMessage(CHAVE_NAO_ENCONTRADA));
         }
+        auditoria.registrarTodos(OperacaoAuditoria.CONSULTA_POR_CONTA, chaves.stream().map(ChavePix::getId).toList());
 
         return mapper.toConsultarResponseList(chaves);
     }
 
     @Override
-    public List<ConsultarChavePixResponse> consultarPorNome(String nomeCorrentista){
-        log.info("Consultando chaves Pix por nome do correntista: {}", nomeCorrentista);
+    public ConsultarChavePixPaginaResponse consultarPorNome(String nomeCorrentista, Integer limite, UUID cursor){
+        if (log.isInfoEnabled()) {
+            log.info("Consultando chaves Pix por nome do correntista: {}", MascaraLog.nome(nomeCorrentista));
+        }
 
-        List<ChavePix> chaves = repository.buscarPorNome(nomeCorrentista);
+        int tamanhoPagina = limite == null ? tamanhoPadraoPagina : limite;
+        if (tamanhoPagina < 1 || tamanhoPagina > tamanhoMaximoPagina) {
+            log.warn(messageConfig.getMessage(LOG_MAX_RESULTS_PER_PAGE), tamanhoPagina);
+            throw new BadRequestException(TAMANHO_PAGINA_INVALIDO, messageConfig.getMessage(TAMANHO_PAGINA_INVALIDO, tamanhoMaximoPagina));
+        }
 
-        return mapper.toConsultarResponseList(chaves);
+        // uma linha a mais indica se existe próxima página sem precisar de count
+        List<ChavePix> chaves = repository.buscarPorNome(nomeCorrentista, cursor, tamanhoPagina + 1);
+        boolean possuiProximaPagina = chaves.size() > tamanhoPagina;
+        List<ChavePix> pagina = possuiProximaPagina ? chaves.subList(0, tamanhoPagina) : chaves;
+        auditoria.registrarTodos(OperacaoAuditoria.CONSULTA_POR_NOME, pagina.stream().map(ChavePix::getId).toList());
+
+        return ConsultarChavePixPaginaResponse.builder()
+                .chaves(mapper.toConsultarResponseList(pagina))
+                .proximoCursor(possuiProximaPagina ? pagina.get(pagina.size() - 1).getId() : null)
+                .build();
     }
 }
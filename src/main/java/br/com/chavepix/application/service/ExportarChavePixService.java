@@ -0,0 +1,67 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.ports.in.ExportarChavePixUseCase;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escreve todas as chaves Pix em JSON delimitado por linha, uma chave por linha, à medida que são lidas do banco.
+ * Nenhuma etapa acumula as chaves, então a memória usada não depende do tamanho da base.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportarChavePixService implements ExportarChavePixUseCase {
+
+    private final ChavePixRepository repository;
+    private final ChavePixResponseMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida) {
+        log.info("Iniciando exportação das chaves Pix");
+
+        // o flush fica a cargo do buffer do gerador, e não a cada linha
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        AtomicLong quantidade = new AtomicLong();
+
+        try (JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+
+            repository.percorrerChavesPix(chave -> {
+                escrever(writer, gerador, chave);
+                quantidade.incrementAndGet();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exportação das chaves Pix finalizada: {} chaves", quantidade.get());
+        return quantidade.get();
+    }
+
+    private void escrever(ObjectWriter writer, JsonGenerator gerador, ChavePix chave) {
+        try {
+            writer.writeValue(gerador, mapper.toConsultarResponse(chave));
+            gerador.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
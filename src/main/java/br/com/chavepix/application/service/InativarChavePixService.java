@@ -0,0 +1,69 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.ports.in.InativarChavePixUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_INATIVA;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_NAO_ENCONTRADA;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InativarChavePixService implements InativarChavePixUseCase {
+
+    private final ChavePixRepository repository;
+    private final ChavePixValidator validator;
+    private final MessageConfig messageConfig;
+    private final EventoChavePixRepository eventoRepository;
+    private final EventoChavePixMapper eventoMapper;
+    private final AuditoriaChavePix auditoria;
+
+    @Override
+    @Transactional
+    public InativarChavePixResponse inativarChave(UUID id) {
+        log.info("Iniciando inativação da chave Pix com ID {}", id);
+
+        LocalDateTime dataHoraInativacao = LocalDateTime.now();
+        if (!repository.inativar(id, dataHoraInativacao)) {
+            // o UPDATE não distingue chave inexistente de chave já inativa; só nesse caso a chave é lida
+            boolean existe = repository.buscarPorId(id).isPresent();
+            if (!existe) {
+                log.warn("Chave Pix não encontrada: id={}", id);
+                throw new NotFoundException(CHAVE_NAO_ENCONTRADA, messageConfig.getMessage(CHAVE_NAO_ENCONTRADA));
+            }
+            log.warn("Chave Pix inativa: id={}", id);
+            throw new BadRequestException(CHAVE_INATIVA, messageConfig.getMessage(CHAVE_INATIVA));
+        }
+
+        // o UPDATE acima mantém a linha bloqueada, então a conta e a versão lidas aqui não mudam até o fim da transação
+        ChavePix inativada = repository.buscarPorId(id).orElseThrow();
+        validator.liberarLimitePorConta(inativada);
+
+        InativarChavePixResponse response = InativarChavePixResponse.builder()
+                .id(id)
+                .dataInativacao(dataHoraInativacao)
+                .build();
+        eventoRepository.registrar(eventoMapper.toInativada(response, inativada.getVersao()));
+        auditoria.registrar(OperacaoAuditoria.INATIVACAO, id);
+
+        log.info("Chave Pix inativada com sucesso: id={}", id);
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.ports.in.PublicarEventosChavePixUseCase;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import br.com.chavepix.domain.ports.out.PublicadorEventoChavePix;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Publica um lote da outbox e apaga os eventos publicados na mesma transação que os bloqueou. Se a publicação falha,
+ * a transação é desfeita e o lote volta a ficar pendente; se a falha vem depois da publicação, o lote é publicado de
+ * novo. A entrega é, portanto, pelo menos uma vez, e o consumidor descarta repetidos pela sequência ou pela versão.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PublicarEventosChavePixService implements PublicarEventosChavePixUseCase {
+
+    private final EventoChavePixRepository repository;
+    private final PublicadorEventoChavePix publicador;
+
+    @Override
+    @Transactional
+    public int publicarPendentes(int limite) {
+        List<EventoChavePix> eventos = repository.bloquearPendentes(limite);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        publicador.publicar(eventos);
+        repository.remover(eventos.stream().map(EventoChavePix::getSequencia).toList());
+
+        log.debug("Lote de {} eventos de chave Pix publicado: sequências {} a {}", eventos.size(),
+                eventos.get(0).getSequencia(), eventos.get(eventos.size() - 1).getSequencia());
+        return eventos.size();
+    }
+}
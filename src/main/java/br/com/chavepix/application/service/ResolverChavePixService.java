@@ -0,0 +1,68 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.ports.in.ResolverChavePixUseCase;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_NAO_ENCONTRADA;
+
+@Slf4j
+@Service
+public class ResolverChavePixService implements ResolverChavePixUseCase {
+
+    private static final String METRICA_RESOLUCAO = "chave_pix.resolucao";
+
+    private final ChavePixRepository repository;
+    private final MessageConfig messageConfig;
+    private final ChavePixResponseMapper mapper;
+    private final AuditoriaChavePix auditoria;
+    private final Timer resolucaoEncontrada;
+    private final Timer resolucaoNaoEncontrada;
+
+    public ResolverChavePixService(ChavePixRepository repository, MessageConfig messageConfig,
+                                   ChavePixResponseMapper mapper, AuditoriaChavePix auditoria,
+                                   MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.messageConfig = messageConfig;
+        this.mapper = mapper;
+        this.auditoria = auditoria;
+        this.resolucaoEncontrada = timer(meterRegistry, "encontrada");
+        this.resolucaoNaoEncontrada = timer(meterRegistry, "nao_encontrada");
+    }
+
+    @Override
+    public ResolverChavePixResponse resolverChave(String valorChave) {
+        log.debug("Resolvendo chave Pix por valor");
+
+        long inicio = System.nanoTime();
+        Optional<ChavePix> chave = repository.buscarPorValor(valorChave);
+        Timer timer = chave.isPresent() ? resolucaoEncontrada : resolucaoNaoEncontrada;
+        timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        chave.ifPresent(encontrada -> auditoria.registrar(OperacaoAuditoria.RESOLUCAO, encontrada.getId()));
+
+        return chave
+                .map(mapper::toResolverResponse)
+                .orElseThrow(() -> new NotFoundException(CHAVE_NAO_ENCONTRADA, messageConfig.getMessage(CHAVE_NAO_ENCONTRADA)));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder(METRICA_RESOLUCAO)
+                .description("Tempo de resolução de chave Pix por valor")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
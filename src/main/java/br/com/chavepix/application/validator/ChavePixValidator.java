@@ -1,16 +1,24 @@
 package br.com.chavepix.application.validator;
 
+import br.com.chavepix.config.application.MascaraLog;
 import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.model.TipoPessoa;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.ContadorChavePixRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.*;
 
 @Slf4j
@@ -18,28 +26,91 @@ import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.*;
 @RequiredArgsConstructor
 public class ChavePixValidator {
 
+    /**
+     * Pesos do segundo dígito verificador do CNPJ; os do primeiro são os mesmos a partir da segunda posição.
+     */
+    private static final int[] PESOS_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
     private final ChavePixRepository repository;
+    private final ContadorChavePixRepository contadorRepository;
     private final MessageConfig messageConfig;
 
     public void validarChaveExistente(String valorChave) {
-        log.info("Validando existência da chave Pix: {}", valorChave);
+        if (log.isInfoEnabled()) {
+            log.info("Validando existência da chave Pix: {}", MascaraLog.chave(valorChave));
+        }
         if (repository.chaveJaExiste(valorChave)) {
-            log.warn("Chave Pix já existe: {}", valorChave);
+            log.warn("Chave Pix já existe: {}", MascaraLog.chave(valorChave));
             throw new BadRequestException(CHAVE_EXISTENTE, messageConfig.getMessage(CHAVE_EXISTENTE));
         }
     }
 
-    public void validarLimitePorConta(Integer numeroAgencia, Integer numeroConta, TipoPessoa tipoPessoa) {
-        log.info("Validando limite de chaves para conta {}-{}, tipo pessoa: {}", numeroAgencia, numeroConta, tipoPessoa);
-        var chaves = repository.buscarPorConta(numeroAgencia, numeroConta);
-        int limite = tipoPessoa == TipoPessoa.PESSOA_FISICA ? 5 : 20;
+    /**
+     * Confere o limite da conta e já reserva a vaga da chave no contador da conta, no mesmo UPDATE. A vaga fica presa
+     * até o fim da transação do cadastro e é devolvida se ele for desfeito.
+     */
+    public void reservarLimitePorConta(ChavePix chave) {
+        log.info("Validando limite de chaves para conta {}-{}, tipo pessoa: {}", chave.getNumeroAgencia(), chave.getNumeroConta(), chave.getTipoPessoa());
+        int limite = limitePorTipoPessoa(chave.getTipoPessoa());
 
-        if (chaves.size() >= limite) {
-            log.warn("Limite de chaves excedido para conta {}-{}: {} chaves cadastradas, limite {}", numeroAgencia, numeroConta, chaves.size(), limite);
+        if (!reservar(chave, limite)) {
+            log.warn("Limite de chaves excedido para conta {}-{}: limite {}", chave.getNumeroAgencia(), chave.getNumeroConta(), limite);
             throw new BadRequestException(LIMITE_CHAVE_EXCEDIDO, messageConfig.getMessage(LIMITE_CHAVE_EXCEDIDO));
         }
     }
 
+    /**
+     * Reserva as vagas das chaves na ordem da lista; uma posição {@code false} indica que a conta da chave já estava no
+     * limite quando chegou a vez dela.
+     */
+    public boolean[] reservarLimitesPorConta(List<ChavePix> chaves) {
+        Set<ContaBancaria> contas = chaves.stream().map(ChavePixValidator::conta).collect(Collectors.toSet());
+        contadorRepository.buscarAusentes(contas).forEach(this::inicializarContador);
+        return contadorRepository.reservarTodas(chaves, chave -> limitePorTipoPessoa(chave.getTipoPessoa()));
+    }
+
+    /**
+     * Move a vaga da chave para a conta nova, sem conferir o limite dela: a alteração de conta não está sujeita ao
+     * limite, só o contador precisa acompanhar.
+     */
+    public void transferirLimitePorConta(ContaBancaria contaAnterior, ChavePix chave) {
+        contadorRepository.liberar(contaAnterior, chave.getTipoChave());
+        reservar(chave, Integer.MAX_VALUE);
+    }
+
+    public void liberarLimitePorConta(ChavePix chave) {
+        contadorRepository.liberar(conta(chave), chave.getTipoChave());
+    }
+
+    private boolean reservar(ChavePix chave, int limite) {
+        if (contadorRepository.reservar(chave, limite)) {
+            return true;
+        }
+        ContaBancaria conta = conta(chave);
+        if (contadorRepository.existe(conta)) {
+            return false;
+        }
+        inicializarContador(conta);
+        return contadorRepository.reservar(chave, limite);
+    }
+
+    /**
+     * Conta sem contador ainda: parte das chaves ativas já gravadas. A partir daí todo cadastro passa pelo contador,
+     * então as chaves de cadastros ainda não confirmados não precisam entrar nessa contagem.
+     */
+    private void inicializarContador(ContaBancaria conta) {
+        contadorRepository.inicializar(conta,
+                repository.contarChavesAtivasPorTipo(conta.getNumeroAgencia(), conta.getNumeroConta()));
+    }
+
+    private static ContaBancaria conta(ChavePix chave) {
+        return new ContaBancaria(chave.getNumeroAgencia(), chave.getNumeroConta());
+    }
+
+    public int limitePorTipoPessoa(TipoPessoa tipoPessoa) {
+        return tipoPessoa == TipoPessoa.PESSOA_FISICA ? 5 : 20;
+    }
+
     public void validarCampos(
             TipoChave tipoChave,
             String valorChave,
@@ -49,35 +120,40 @@ public class ChavePixValidator {
             String nomeCorrentista,
             String sobrenomeCorrentista
     ) {
-        log.info("Validando campos da chave Pix: tipoChave={}, valorChave={}, tipoConta={}, agencia={}, conta={}, nome='{}', sobrenome='{}'",
-                tipoChave, valorChave, tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
+        if (log.isInfoEnabled()) {
+            log.info("Validando campos da chave Pix: tipoChave={}, valorChave={}, tipoConta={}, agencia={}, conta={}, nome='{}', sobrenome='{}'",
+                    tipoChave, MascaraLog.chave(valorChave), tipoConta, numeroAgencia, numeroConta,
+                    MascaraLog.nome(nomeCorrentista), MascaraLog.nome(sobrenomeCorrentista));
+        }
 
         validarTipoChave(tipoChave, valorChave);
         validarTipoConta(tipoConta);
 
         if (nomeCorrentista == null || nomeCorrentista.length() > 30) {
-            log.error("Nome do correntista inválido: '{}'", nomeCorrentista);
+            log.error("Nome do correntista inválido: '{}'", MascaraLog.nome(nomeCorrentista));
             throw new UnprocessableEntityException(NOME_INVALIDO, messageConfig.getMessage(NOME_INVALIDO));
         }
 
         if (sobrenomeCorrentista != null && sobrenomeCorrentista.length() > 45) {
-            log.error("Sobrenome do correntista inválido: '{}'", sobrenomeCorrentista);
+            log.error("Sobrenome do correntista inválido: '{}'", MascaraLog.nome(sobrenomeCorrentista));
             throw new UnprocessableEntityException(SOBRENOME_INVALIDO, messageConfig.getMessage(SOBRENOME_INVALIDO));
         }
 
-        if (numeroAgencia == null || numeroAgencia.toString().length() > 4) {
+        if (numeroAgencia == null || caracteres(numeroAgencia) > 4) {
             log.error("Número da agência inválido: '{}'", numeroAgencia);
             throw new UnprocessableEntityException(AGENCIA_INVALIDA, messageConfig.getMessage(AGENCIA_INVALIDA));
         }
 
-        if (numeroConta == null || numeroConta.toString().length() > 8) {
+        if (numeroConta == null || caracteres(numeroConta) > 8) {
             log.error("Número da conta inválido: '{}'", numeroConta);
             throw new UnprocessableEntityException(CONTA_INVALIDA, messageConfig.getMessage(CONTA_INVALIDA));
         }
     }
 
     private void validarTipoChave(TipoChave tipo, String valor) {
-        log.info("Validando tipo de chave: {} com valor '{}'", tipo, valor);
+        if (log.isInfoEnabled()) {
+            log.info("Validando tipo de chave: {} com valor '{}'", tipo, MascaraLog.chave(valor));
+        }
         switch (tipo) {
             case CPF -> validarCpf(valor);
             case CNPJ -> validarCnpj(valor);
@@ -92,79 +168,169 @@ public class ChavePixValidator {
     }
 
     private void validarCpf(String valor) {
-        log.info("Validando CPF: {}", valor);
-        if (valor == null || !valor.matches("\\d{11}")) {
-            throw new UnprocessableEntityException(CPF_INVALIDO, messageConfig.getMessage(CPF_INVALIDO));
+        if (log.isInfoEnabled()) {
+            log.info("Validando CPF: {}", MascaraLog.chave(valor));
         }
-        if (valor.matches("(\\d)\\1{10}")) {
+        if (!cpfValido(valor)) {
             throw new UnprocessableEntityException(CPF_INVALIDO, messageConfig.getMessage(CPF_INVALIDO));
         }
+    }
 
-        int soma = 0, peso = 10;
-        for (int i = 0; i < 9; i++) {
-            soma += Character.getNumericValue(valor.charAt(i)) * peso--;
+    private void validarCnpj(String valor) {
+        if (log.isInfoEnabled()) {
+            log.info("Validando CNPJ: {}", MascaraLog.chave(valor));
         }
-        int digito1 = 11 - (soma % 11);
-        if (digito1 > 9) digito1 = 0;
-
-        soma = 0; peso = 11;
-        for (int i = 0; i < 10; i++) {
-            soma += Character.getNumericValue(valor.charAt(i)) * peso--;
+        if (!cnpjValido(valor)) {
+            throw new UnprocessableEntityException(CNPJ_INVALIDO, messageConfig.getMessage(CNPJ_INVALIDO));
         }
-        int digito2 = 11 - (soma % 11);
-        if (digito2 > 9) digito2 = 0;
+    }
 
-        if (valor.charAt(9) != Character.forDigit(digito1, 10) ||
-                valor.charAt(10) != Character.forDigit(digito2, 10)) {
-            throw new UnprocessableEntityException(CPF_INVALIDO, messageConfig.getMessage(CPF_INVALIDO));
+    private void validarEmail(String valor) {
+        if (log.isInfoEnabled()) {
+            log.info("Validando email: {}", MascaraLog.chave(valor));
+        }
+        if (valor == null || valor.length() > 77 || valor.indexOf('@') < 0) {
+            throw new UnprocessableEntityException(EMAIL_INVALIDO, messageConfig.getMessage(EMAIL_INVALIDO));
         }
     }
 
-    private void validarCnpj(String valor) {
-        log.info("Validando CNPJ: {}", valor);
-        if (valor == null || !valor.matches("\\d{14}")) {
-            throw new UnprocessableEntityException(CNPJ_INVALIDO, messageConfig.getMessage(CNPJ_INVALIDO));
+    private void validarCelular(String valor) {
+        if (log.isInfoEnabled()) {
+            log.info("Validando celular: {}", MascaraLog.chave(valor));
         }
-        if (valor.matches("(\\d)\\1{13}")) {
-            throw new UnprocessableEntityException(CNPJ_INVALIDO, messageConfig.getMessage(CNPJ_INVALIDO));
+        if (!celularValido(valor)) {
+            throw new UnprocessableEntityException(CELULAR_INVALIDO, messageConfig.getMessage(CELULAR_INVALIDO));
         }
+    }
 
-        int[] pesos1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-        int[] pesos2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+    private void validarAleatoria(String valor) {
+        if (log.isInfoEnabled()) {
+            log.info("Validando chave aleatória: {}", MascaraLog.chave(valor));
+        }
+        if (!aleatoriaValida(valor)) {
+            throw new UnprocessableEntityException(ALEATORIA_INVALIDA, messageConfig.getMessage(ALEATORIA_INVALIDA));
+        }
+    }
 
-        int soma = 0;
-        for (int i = 0; i < 12; i++) soma += Character.getNumericValue(valor.charAt(i)) * pesos1[i];
-        int dig1 = soma % 11; dig1 = dig1 < 2 ? 0 : 11 - dig1;
+    /*
+     * As conferências de formato percorrem o valor uma vez, caractere a caractere, sem expressão regular e sem alocar.
+     * Só os dígitos ASCII contam como dígito, como no \d das expressões que elas substituem.
+     */
 
-        soma = 0;
-        for (int i = 0; i < 13; i++) soma += Character.getNumericValue(valor.charAt(i)) * pesos2[i];
-        int dig2 = soma % 11; dig2 = dig2 < 2 ? 0 : 11 - dig2;
+    /**
+     * 11 dígitos, não todos iguais, com os dois dígitos verificadores.
+     */
+    static boolean cpfValido(String valor) {
+        if (valor == null || valor.length() != 11) {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        boolean repetidos = true;
+        char primeiro = valor.charAt(0);
+        for (int i = 0; i < 11; i++) {
+            char caractere = valor.charAt(i);
+            if (!digito(caractere)) {
+                return false;
+            }
+            repetidos &= caractere == primeiro;
+            int numero = caractere - '0';
+            if (i < 9) {
+                soma1 += numero * (10 - i);
+            }
+            if (i < 10) {
+                soma2 += numero * (11 - i);
+            }
+        }
+        return !repetidos
+                && valor.charAt(9) - '0' == digitoVerificadorCpf(soma1)
+                && valor.charAt(10) - '0' == digitoVerificadorCpf(soma2);
+    }
 
-        if (valor.charAt(12) != Character.forDigit(dig1, 10) ||
-                valor.charAt(13) != Character.forDigit(dig2, 10)) {
-            throw new UnprocessableEntityException(CNPJ_INVALIDO, messageConfig.getMessage(CNPJ_INVALIDO));
+    /**
+     * 14 dígitos, não todos iguais, com os dois dígitos verificadores.
+     */
+    static boolean cnpjValido(String valor) {
+        if (valor == null || valor.length() != 14) {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        boolean repetidos = true;
+        char primeiro = valor.charAt(0);
+        for (int i = 0; i < 14; i++) {
+            char caractere = valor.charAt(i);
+            if (!digito(caractere)) {
+                return false;
+            }
+            repetidos &= caractere == primeiro;
+            int numero = caractere - '0';
+            if (i < 12) {
+                soma1 += numero * PESOS_CNPJ[i + 1];
+            }
+            if (i < 13) {
+                soma2 += numero * PESOS_CNPJ[i];
+            }
         }
+        return !repetidos
+                && valor.charAt(12) - '0' == digitoVerificadorCnpj(soma1)
+                && valor.charAt(13) - '0' == digitoVerificadorCnpj(soma2);
     }
 
-    private void validarEmail(String valor) {
-        log.info("Validando email: {}", valor);
-        if (valor == null || valor.length() > 77 || !valor.contains("@")) {
-            throw new UnprocessableEntityException(EMAIL_INVALIDO, messageConfig.getMessage(EMAIL_INVALIDO));
+    /**
+     * {@code +} seguido de 12 ou 13 dígitos: código do país com 1 ou 2, DDD com 2 e número com 9.
+     */
+    static boolean celularValido(String valor) {
+        if (valor == null || valor.length() < 13 || valor.length() > 14 || valor.charAt(0) != '+') {
+            return false;
+        }
+        for (int i = 1; i < valor.length(); i++) {
+            if (!digito(valor.charAt(i))) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private void validarCelular(String valor) {
-        log.info("Validando celular: {}", valor);
-        if (valor == null || !valor.matches("^\\+\\d{1,2}\\d{2}\\d{9}$")) {
-            throw new UnprocessableEntityException(CELULAR_INVALIDO, messageConfig.getMessage(CELULAR_INVALIDO));
+    /**
+     * 36 letras ou dígitos ASCII.
+     */
+    static boolean aleatoriaValida(String valor) {
+        if (valor == null || valor.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char caractere = valor.charAt(i);
+            if (!digito(caractere) && !(caractere >= 'a' && caractere <= 'z') && !(caractere >= 'A' && caractere <= 'Z')) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private void validarAleatoria(String valor) {
-        log.info("Validando chave aleatória: {}", valor);
-        if (valor == null || !valor.matches("^[a-zA-Z0-9]{36}$")) {
-            throw new UnprocessableEntityException(ALEATORIA_INVALIDA, messageConfig.getMessage(ALEATORIA_INVALIDA));
+    /**
+     * Tamanho de {@code Integer.toString(numero)}, contando o sinal, sem montar a string.
+     */
+    static int caracteres(int numero) {
+        int caracteres = numero < 0 ? 2 : 1;
+        for (long resto = Math.abs((long) numero); resto >= 10; resto /= 10) {
+            caracteres++;
         }
+        return caracteres;
+    }
+
+    private static boolean digito(char caractere) {
+        return caractere >= '0' && caractere <= '9';
+    }
+
+    private static int digitoVerificadorCpf(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito > 9 ? 0 : digito;
+    }
+
+    private static int digitoVerificadorCnpj(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
     }
 
     private void validarTipoConta(TipoConta tipoConta) {
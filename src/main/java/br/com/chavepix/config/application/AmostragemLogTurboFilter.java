@@ -0,0 +1,44 @@
+package br.com.chavepix.config.application;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registrado no {@code logback-spring.xml} pelo profile {@code log-producao}: de cada linha de INFO da aplicação passa
+ * a primeira e depois uma a cada {@code taxa}. A linha é identificada pelo texto da mensagem, constante em cada ponto
+ * do código, então uma mensagem rara não é calada por outra frequente. WARN e ERROR passam sempre.
+ * <p>
+ * Os turbo filters rodam antes da formatação, então a linha descartada não chega a montar a mensagem nem a ir para o
+ * appender.
+ */
+public class AmostragemLogTurboFilter extends TurboFilter {
+
+    private final Map<String, AtomicLong> chamadas = new ConcurrentHashMap<>();
+
+    private int taxa = 100;
+    private String prefixo = "br.com.chavepix";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level != Level.INFO || taxa <= 1 || !logger.getName().startsWith(prefixo)) {
+            return FilterReply.NEUTRAL;
+        }
+        long chamada = chamadas.computeIfAbsent(format, mensagem -> new AtomicLong()).getAndIncrement();
+        return chamada % taxa == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setTaxa(int taxa) {
+        this.taxa = taxa;
+    }
+
+    public void setPrefixo(String prefixo) {
+        this.prefixo = prefixo;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.chavepix.config.application;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+/**
+ * Executor das requisições do perfil {@code assincrono}. As threads do Tomcat só leem a requisição e a entregam a este
+ * pool, que é o único a esperar pelo banco; com a fila cheia a requisição é recusada com 503 em vez de prender mais uma
+ * thread do Tomcat. As métricas do pool saem em {@code executor.*} com a tag {@code name=executorRequisicoes}. Montado
+ * pelo {@link TaskExecutorBuilder} do Boot para receber os mesmos ajustes dos demais executores, como as threads
+ * virtuais de {@link ThreadsVirtuaisConfig}.
+ */
+@Configuration
+@Profile("assincrono")
+public class AssincronoConfig {
+
+    public static final String EXECUTOR_REQUISICOES = "executorRequisicoes";
+
+    @Bean(EXECUTOR_REQUISICOES)
+    public ThreadPoolTaskExecutor executorRequisicoes(
+            TaskExecutorBuilder builder,
+            @Value("${chave-pix.web.assincrono.trabalhadores:20}") int trabalhadores,
+            @Value("${chave-pix.web.assincrono.capacidade-fila:5000}") int capacidadeFila
+    ) {
+        return builder
+                .corePoolSize(trabalhadores)
+                .maxPoolSize(trabalhadores)
+                .queueCapacity(capacidadeFila)
+                .threadNamePrefix("requisicao-chave-pix-")
+                .taskDecorator(AssincronoConfig::comMdc)
+                .build();
+    }
+
+    /**
+     * Com outro executor no contexto o Boot deixa de criar o seu, que o Spring MVC usa na exportação; recriado aqui como
+     * o Boot o criaria.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * O usuário auditado está no MDC da thread do Tomcat ({@link UsuarioRequisicaoFilter}); a tarefa o leva consigo.
+     */
+    static Runnable comMdc(Runnable tarefa) {
+        Map<String, String> contexto = MDC.getCopyOfContextMap();
+        return () -> {
+            if (contexto != null) {
+                MDC.setContextMap(contexto);
+            }
+            try {
+                tarefa.run();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.out.auditoria.ArquivoTransbordoAuditoria;
+import br.com.chavepix.adapters.out.auditoria.FilaAuditoriaChavePix;
+import br.com.chavepix.adapters.out.auditoria.ModoTransbordoAuditoria;
+import br.com.chavepix.domain.ports.out.RegistroAuditoriaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * A fila de auditoria é fechada antes do pool de conexões, do qual depende, então os registros pendentes são gravados
+ * no banco no encerramento da aplicação.
+ */
+@Slf4j
+@Configuration
+public class AuditoriaConfig {
+
+    @Bean(initMethod = "iniciar")
+    public FilaAuditoriaChavePix filaAuditoriaChavePix(
+            RegistroAuditoriaRepository repository,
+            ObjectMapper objectMapper,
+            FabricaThreads fabricaThreads,
+            MeterRegistry meterRegistry,
+            @Value("${chave-pix.auditoria.capacidade-fila:100000}") int capacidade,
+            @Value("${chave-pix.auditoria.tamanho-lote:1000}") int tamanhoLote,
+            @Value("${chave-pix.auditoria.intervalo:100ms}") Duration intervalo,
+            @Value("${chave-pix.auditoria.transbordo.modo:arquivo}") ModoTransbordoAuditoria modo,
+            @Value("${chave-pix.auditoria.transbordo.arquivo:auditoria-transbordo.ndjson}") String arquivo
+    ) throws IOException {
+        ArquivoTransbordoAuditoria transbordo = null;
+        if (modo == ModoTransbordoAuditoria.ARQUIVO) {
+            Path caminho = Path.of(arquivo);
+            transbordo = new ArquivoTransbordoAuditoria(objectMapper, caminho);
+            log.info("Registros de auditoria que não couberem na fila vão para o arquivo {}", caminho.toAbsolutePath());
+        }
+        return new FilaAuditoriaChavePix(repository, capacidade, tamanhoLote, intervalo, modo, transbordo,
+                fabricaThreads.criar("escritor-auditoria-chave-pix-"), meterRegistry);
+    }
+}
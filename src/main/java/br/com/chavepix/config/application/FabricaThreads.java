@@ -0,0 +1,32 @@
+package br.com.chavepix.config.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Cria as threads dos trabalhadores em segundo plano (relay da outbox, escritor da auditoria, consultas aos shards):
+ * virtuais com {@code chave-pix.threads-virtuais.habilitado=true}, de plataforma e daemon caso contrário. Em ambos os
+ * casos os nomes seguem {@code prefixo + sequência}.
+ */
+@Component
+public class FabricaThreads {
+
+    private final boolean virtuais;
+
+    public FabricaThreads(@Value("${chave-pix.threads-virtuais.habilitado:false}") boolean virtuais) {
+        this.virtuais = virtuais;
+    }
+
+    public ThreadFactory criar(String prefixo) {
+        if (virtuais) {
+            return Thread.ofVirtual().name(prefixo, 0).factory();
+        }
+        return Thread.ofPlatform().name(prefixo, 0).daemon().factory();
+    }
+
+    public boolean isVirtuais() {
+        return virtuais;
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.in.rest.request.AlterarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixPaginaResponse;
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ErrorResponse;
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+import br.com.chavepix.adapters.out.persistence.ChavePixAuditoriaEntity;
+import br.com.chavepix.adapters.out.persistence.ChavePixContadorContaEntity;
+import br.com.chavepix.adapters.out.persistence.ChavePixEntity;
+import br.com.chavepix.adapters.out.persistence.ChavePixEventoEntity;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.ChavePixException;
+import br.com.chavepix.domain.exceptions.ConflictException;
+import br.com.chavepix.domain.exceptions.InternalServerErrorException;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.exceptions.PreconditionFailedException;
+import br.com.chavepix.domain.exceptions.RestException;
+import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Dicas para a imagem nativa ({@code mvn -Pnative native:compile}): o que é lido por reflexão fora do que o AOT do
+ * Spring descobre sozinho. No JVM não tem efeito.
+ */
+@Configuration
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+public class ImagemNativaConfig {
+
+    /**
+     * DTOs e {@link RegistroAuditoria} são (des)serializados pelo Jackson, e os campos dos DTOs também são lidos pelo
+     * Hibernate Validator e pelo {@link JacksonPropertyNodeNameProvider}, que traduz o nome do campo inválido.
+     */
+    static final List<Class<?>> JSON = List.of(
+            CadastrarChavePixRequest.class, AlterarChavePixRequest.class,
+            CadastrarChavePixResponse.class, CadastrarChavePixLoteResponse.class, AlterarChavePixResponse.class,
+            InativarChavePixResponse.class, ConsultarChavePixResponse.class, ConsultarChavePixPaginaResponse.class,
+            ResolverChavePixResponse.class, ErrorResponse.class, RegistroAuditoria.class);
+
+    static final List<Class<?>> ENTIDADES = List.of(
+            ChavePixEntity.class, ChavePixEventoEntity.class, ChavePixContadorContaEntity.class,
+            ChavePixAuditoriaEntity.class);
+
+    static final List<Class<? extends RuntimeException>> EXCECOES = List.of(
+            ChavePixException.class, RestException.class, BadRequestException.class, NotFoundException.class,
+            ConflictException.class, PreconditionFailedException.class, UnprocessableEntityException.class,
+            InternalServerErrorException.class);
+
+    static class Dicas implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON.toArray(Class[]::new));
+            JSON.forEach(tipo -> hints.reflection().registerType(tipo, MemberCategory.DECLARED_FIELDS));
+
+            ENTIDADES.forEach(tipo -> hints.reflection().registerType(tipo, MemberCategory.values()));
+
+            EXCECOES.forEach(tipo -> {
+                hints.reflection().registerType(tipo, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.serialization().registerType(tipo);
+            });
+
+            hints.reflection().registerType(JacksonPropertyNodeNameProvider.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            hints.resources().registerPattern("messages.properties");
+            hints.resources().registerPattern(ShardingConfig.SCHEMA_SHARD);
+            hints.resources().registerPattern(ShardingConfig.SCHEMA_DIRETORIO);
+        }
+    }
+}
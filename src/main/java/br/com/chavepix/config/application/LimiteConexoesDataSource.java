@@ -0,0 +1,122 @@
+package br.com.chavepix.config.application;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Com threads virtuais milhares de requisições podem pedir conexão ao mesmo tempo. Este DataSource deixa passar para o
+ * pool no máximo {@code vagas} conexões, e as demais esperam num semáforo justo: são atendidas por ordem de chegada e
+ * estacionam sem ocupar a thread carregadora. A vaga é devolvida quando a conexão é fechada.
+ * <p>
+ * Uma thread que já tem vaga não espera de novo: a conexão de uma transação aninhada ({@code REQUIRES_NEW}) vai direto
+ * ao pool. Com {@code vagas} menor que o pool, sobram conexões para elas e as transações externas não ficam esperando
+ * umas pelas outras.
+ */
+public class LimiteConexoesDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore vagas;
+    private final long esperaMaximaNanos;
+    private final ThreadLocal<AtomicInteger> abertasNaThread = ThreadLocal.withInitial(AtomicInteger::new);
+
+    public LimiteConexoesDataSource(DataSource dataSource, int vagas, Duration esperaMaxima) {
+        super(dataSource);
+        this.vagas = new Semaphore(vagas, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return obterConexao(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return obterConexao(() -> super.getConnection(username, password));
+    }
+
+    public int getAguardando() {
+        return vagas.getQueueLength();
+    }
+
+    /**
+     * O Spring encerra o bean pelo {@code close}; sem repassá-lo, o pool envolvido ficaria aberto.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    private void reservarVaga() throws SQLException {
+        try {
+            if (!vagas.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Nenhuma conexão livre após "
+                        + Duration.ofNanos(esperaMaximaNanos).toMillis() + "ms; " + vagas.getQueueLength() + " aguardando");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection obterConexao(ObterConexao obter) throws SQLException {
+        AtomicInteger abertas = abertasNaThread.get();
+        boolean comVaga = abertas.get() == 0;
+        if (comVaga) {
+            reservarVaga();
+        }
+
+        Connection conexao;
+        try {
+            conexao = obter.obter();
+        } catch (SQLException | RuntimeException e) {
+            if (comVaga) {
+                vagas.release();
+            }
+            throw e;
+        }
+        abertas.incrementAndGet();
+
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("close") && fechada.compareAndSet(false, true)) {
+                        try {
+                            return metodo.invoke(conexao, argumentos);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            abertas.decrementAndGet();
+                            if (comVaga) {
+                                vagas.release();
+                            }
+                        }
+                    }
+                    if (metodo.getName().equals("isClosed") && fechada.get()) {
+                        return true;
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ObterConexao {
+        Connection obter() throws SQLException;
+    }
+}
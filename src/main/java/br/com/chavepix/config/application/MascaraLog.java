@@ -0,0 +1,50 @@
+package br.com.chavepix.config.application;
+
+/**
+ * Valores de chave e nomes de correntistas para os logs: o parâmetro só é mascarado quando a mensagem é de fato
+ * formatada, então uma linha descartada pelo nível ou pela amostragem não monta string nenhuma. O objeto que adia a
+ * máscara ainda é criado a cada chamada; nos caminhos quentes a linha de INFO fica dentro de {@code isInfoEnabled()}.
+ */
+public final class MascaraLog {
+
+    private static final String OCULTO = "***";
+
+    private MascaraLog() {
+    }
+
+    /**
+     * Dois primeiros e dois últimos caracteres: {@code carol@teste.com} vira {@code ca***om}. Valores com até 6
+     * caracteres ficam inteiramente ocultos.
+     */
+    public static Object chave(String valor) {
+        return new Mascarado(valor, false);
+    }
+
+    /**
+     * Só a inicial: {@code Carolina} vira {@code C***}.
+     */
+    public static Object nome(String valor) {
+        return new Mascarado(valor, true);
+    }
+
+    static String mascarar(String valor, boolean nome) {
+        if (valor == null) {
+            return null;
+        }
+        if (nome) {
+            return valor.isEmpty() ? valor : valor.charAt(0) + OCULTO;
+        }
+        if (valor.length() <= 6) {
+            return OCULTO;
+        }
+        return valor.substring(0, 2) + OCULTO + valor.substring(valor.length() - 2);
+    }
+
+    private record Mascarado(String valor, boolean nome) {
+
+        @Override
+        public String toString() {
+            return String.valueOf(mascarar(valor, nome));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.in.relay.RelayEventoChavePix;
+import br.com.chavepix.domain.ports.in.PublicarEventosChavePixUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Os eventos são sempre gravados na outbox; com {@code chave-pix.outbox.relay.habilitado=false} esta instância só não
+ * os publica, o que permite concentrar o relay em poucas instâncias.
+ */
+@Configuration
+@ConditionalOnProperty(name = "chave-pix.outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean
+    public RelayEventoChavePix relayEventoChavePix(
+            PublicarEventosChavePixUseCase useCase,
+            FabricaThreads fabricaThreads,
+            MeterRegistry meterRegistry,
+            @Value("${chave-pix.outbox.relay.tamanho-lote:1000}") int tamanhoLote,
+            @Value("${chave-pix.outbox.relay.intervalo:200ms}") Duration intervalo,
+            @Value("${chave-pix.outbox.relay.trabalhadores:1}") int trabalhadores
+    ) {
+        return new RelayEventoChavePix(useCase, tamanhoLote, intervalo, trabalhadores,
+                fabricaThreads.criar("relay-evento-chave-pix-"), meterRegistry);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> iniciarRelayEventoChavePix(RelayEventoChavePix relay) {
+        return event -> relay.iniciar();
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.out.cache.BloomFilter;
+import br.com.chavepix.adapters.out.cache.BloomFilterChavePixRepository;
+import br.com.chavepix.adapters.out.cache.CachingChavePixRepository;
+import br.com.chavepix.adapters.out.cache.CachingPorValorChavePixRepository;
+import br.com.chavepix.adapters.out.persistence.ChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.ShardedChavePixRepository;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+@Profile("!memoria")
+public class RepositoryConfig {
+
+    @Bean
+    @Primary
+    public ChavePixRepository chavePixRepository(
+            ChavePixRepositoryImpl chavePixRepositoryImpl,
+            ObjectProvider<ShardedChavePixRepository> shardedRepository,
+            ObjectProvider<BloomFilterChavePixRepository> bloomFilterRepository,
+            MessageConfig messageConfig,
+            MeterRegistry meterRegistry,
+            @Value("${chave-pix.cache.por-id.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${chave-pix.cache.por-id.expiracao:5m}") Duration expiracao,
+            @Value("${chave-pix.cache.por-valor.tamanho-maximo:100000}") long tamanhoMaximoPorValor,
+            @Value("${chave-pix.cache.por-valor.expiracao:1m}") Duration expiracaoPorValor,
+            @Value("${chave-pix.cache.por-valor.expiracao-negativa:5s}") Duration expiracaoNegativaPorValor
+    ) {
+        ChavePixRepository base = bloomFilterRepository.getIfAvailable() != null
+                ? bloomFilterRepository.getIfAvailable()
+                : persistencia(chavePixRepositoryImpl, shardedRepository);
+
+        CachingChavePixRepository cachePorId = new CachingChavePixRepository(base, messageConfig, tamanhoMaximo, expiracao);
+        CaffeineCacheMetrics.monitor(meterRegistry, cachePorId.getCachePorId(), "chave_pix_por_id");
+
+        CachingPorValorChavePixRepository cachePorValor = new CachingPorValorChavePixRepository(
+                cachePorId, tamanhoMaximoPorValor, expiracaoPorValor, expiracaoNegativaPorValor);
+        CaffeineCacheMetrics.monitor(meterRegistry, cachePorValor.getCachePorValor(), "chave_pix_por_valor");
+        return cachePorValor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "chave-pix.bloom-filter.habilitado", havingValue = "true", matchIfMissing = true)
+    public BloomFilterChavePixRepository bloomFilterChavePixRepository(
+            ChavePixRepositoryImpl chavePixRepositoryImpl,
+            ObjectProvider<ShardedChavePixRepository> shardedRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chave-pix.bloom-filter.capacidade-esperada:10000000}") long capacidadeEsperada,
+            @Value("${chave-pix.bloom-filter.taxa-falso-positivo:0.01}") double taxaFalsoPositivo
+    ) {
+        BloomFilter bloomFilter = new BloomFilter(capacidadeEsperada, taxaFalsoPositivo);
+        log.info("Bloom filter de chaves Pix dimensionado com {} bits e {} funções de hash", bloomFilter.getQuantidadeBits(), bloomFilter.getQuantidadeHashes());
+
+        BloomFilterChavePixRepository repository = new BloomFilterChavePixRepository(
+                persistencia(chavePixRepositoryImpl, shardedRepository), bloomFilter);
+        Gauge.builder("chave_pix.bloom_filter.taxa_preenchimento", repository, BloomFilterChavePixRepository::taxaPreenchimento)
+                .register(meterRegistry);
+        FunctionCounter.builder("chave_pix.bloom_filter.negativas", repository, BloomFilterChavePixRepository::getNegativasSemConsulta)
+                .register(meterRegistry);
+        FunctionCounter.builder("chave_pix.bloom_filter.falsos_positivos", repository, BloomFilterChavePixRepository::getFalsosPositivos)
+                .register(meterRegistry);
+        return repository;
+    }
+
+    /**
+     * Com o sharding habilitado ({@link ShardingConfig}) os decorators passam a envolver o repositório distribuído.
+     */
+    private static ChavePixRepository persistencia(ChavePixRepositoryImpl chavePixRepositoryImpl,
+                                                   ObjectProvider<ShardedChavePixRepository> shardedRepository) {
+        ShardedChavePixRepository sharded = shardedRepository.getIfAvailable();
+        return sharded != null ? sharded : chavePixRepositoryImpl;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "chave-pix.bloom-filter.habilitado", havingValue = "true", matchIfMissing = true)
+    public ApplicationListener<ApplicationReadyEvent> carregarBloomFilter(BloomFilterChavePixRepository bloomFilterRepository,
+                                                                          FabricaThreads fabricaThreads) {
+        return event -> fabricaThreads.criar("bloom-filter-carga-").newThread(() -> {
+            try {
+                bloomFilterRepository.carregar();
+            } catch (RuntimeException e) {
+                log.error("Falha ao carregar bloom filter; consultas de existência seguem indo ao banco", e);
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.chavepix.config.application;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Envia as transações somente leitura para a réplica e todo o resto para o primário.
+ * <p>
+ * A decisão é tomada quando a conexão é de fato aberta, por isso este DataSource deve ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: assim o flag de somente leitura da
+ * transação já está definido quando a primeira instrução pede a conexão.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORCAR_PRIMARIO = new ThreadLocal<>();
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Executa a leitura no primário mesmo dentro de uma transação somente leitura. Só tem efeito se a transação ainda
+     * não abriu conexão.
+     */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        Boolean anterior = FORCAR_PRIMARIO.get();
+        FORCAR_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                FORCAR_PRIMARIO.remove();
+            } else {
+                FORCAR_PRIMARIO.set(anterior);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return somenteLeitura && FORCAR_PRIMARIO.get() == null ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.chavepix.config.application;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.internal.HibernateSchemaManagementTool;
+import org.hibernate.tool.schema.spi.*;
+
+import java.util.Map;
+
+/**
+ * Geração do schema do banco do diretório quando as chaves ficam nos shards: o ddl-auto cria e altera as tabelas da
+ * outbox, do contador e da auditoria, mas não a tabela chave_pix, que ali ficaria vazia e com índices a manter.
+ * <p>
+ * O Hibernate 6.1 ignora {@code hibernate.hbm2ddl.schema_filter_provider} no ddl-auto, sempre executado com o filtro
+ * padrão; o filtro é então trocado nas opções repassadas a cada etapa.
+ */
+final class SchemaDiretorioManagementTool extends HibernateSchemaManagementTool {
+
+    private static final String TABELA_CHAVE_PIX = "chave_pix";
+
+    private static final SchemaFilter SEM_TABELA_CHAVE_PIX = new SchemaFilter() {
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table table) {
+            return !TABELA_CHAVE_PIX.equalsIgnoreCase(table.getName());
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return true;
+        }
+    };
+
+    @Override
+    public SchemaCreator getSchemaCreator(Map<String, Object> options) {
+        SchemaCreator creator = super.getSchemaCreator(options);
+        return (metadata, opcoes, matcher, origem, destino) ->
+                creator.doCreation(metadata, semTabelaChavePix(opcoes), matcher, origem, destino);
+    }
+
+    @Override
+    public SchemaDropper getSchemaDropper(Map<String, Object> options) {
+        SchemaDropper dropper = super.getSchemaDropper(options);
+        return new SchemaDropper() {
+            @Override
+            public void doDrop(Metadata metadata, ExecutionOptions opcoes, ContributableMatcher matcher,
+                               SourceDescriptor origem, TargetDescriptor destino) {
+                dropper.doDrop(metadata, semTabelaChavePix(opcoes), matcher, origem, destino);
+            }
+
+            @Override
+            public DelayedDropAction buildDelayedAction(Metadata metadata, ExecutionOptions opcoes,
+                                                        ContributableMatcher matcher, SourceDescriptor origem) {
+                return dropper.buildDelayedAction(metadata, semTabelaChavePix(opcoes), matcher, origem);
+            }
+        };
+    }
+
+    @Override
+    public SchemaMigrator getSchemaMigrator(Map<String, Object> options) {
+        SchemaMigrator migrator = super.getSchemaMigrator(options);
+        return (metadata, opcoes, matcher, destino) ->
+                migrator.doMigration(metadata, semTabelaChavePix(opcoes), matcher, destino);
+    }
+
+    @Override
+    public SchemaValidator getSchemaValidator(Map<String, Object> options) {
+        SchemaValidator validator = super.getSchemaValidator(options);
+        return (metadata, opcoes, matcher) -> validator.doValidation(metadata, semTabelaChavePix(opcoes), matcher);
+    }
+
+    private static ExecutionOptions semTabelaChavePix(ExecutionOptions opcoes) {
+        return new ExecutionOptions() {
+            @Override
+            public Map<String, Object> getConfigurationValues() {
+                return opcoes.getConfigurationValues();
+            }
+
+            @Override
+            public boolean shouldManageNamespaces() {
+                return opcoes.shouldManageNamespaces();
+            }
+
+            @Override
+            public ExceptionHandler getExceptionHandler() {
+                return opcoes.getExceptionHandler();
+            }
+
+            @Override
+            public SchemaFilter getSchemaFilter() {
+                return SEM_TABELA_CHAVE_PIX;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.out.persistence.DiretorioChavePix;
+import br.com.chavepix.adapters.out.persistence.ShardedChavePixRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ativada com {@code chave-pix.sharding.habilitado=true}: as chaves passam a ser gravadas nos bancos de
+ * {@code chave-pix.sharding.shards} e o banco de {@code spring.datasource} guarda só o diretório. Nesse banco o ddl-auto
+ * do Hibernate não cria a tabela chave_pix, e schema-postgresql.sql só mexe nela se ela já existir.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chave-pix.sharding.habilitado", havingValue = "true")
+public class ShardingConfig {
+
+    public static final String SCHEMA_SHARD = "sharding/schema-shard.sql";
+    public static final String SCHEMA_DIRETORIO = "sharding/schema-diretorio.sql";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaDiretorio() {
+        return propriedades -> propriedades.put(AvailableSettings.SCHEMA_MANAGEMENT_TOOL, new SchemaDiretorioManagementTool());
+    }
+
+    @Bean
+    public ShardedChavePixRepository shardedChavePixRepository(
+            DataSource dataSource,
+            MessageConfig messageConfig,
+            Environment environment,
+            FabricaThreads fabricaThreads,
+            @Value("${chave-pix.sharding.inicializar-schema:true}") boolean inicializarSchema,
+            @Value("${chave-pix.threads-virtuais.conexoes-aninhadas:2}") int conexoesAninhadas,
+            @Value("${chave-pix.threads-virtuais.espera-conexao:30s}") Duration esperaConexao
+    ) {
+        Binder binder = Binder.get(environment);
+        List<DataSourceProperties> configuracoes = binder
+                .bind("chave-pix.sharding.shards", Bindable.listOf(DataSourceProperties.class))
+                .orElseThrow(() -> new IllegalStateException("chave-pix.sharding.shards deve ter ao menos um shard"));
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int indice = 0; indice < configuracoes.size(); indice++) {
+            HikariDataSource shard = configuracoes.get(indice).initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            shard.setPoolName("shard-" + indice);
+            binder.bind("chave-pix.sharding.hikari", Bindable.ofInstance(shard));
+            pools.add(shard);
+            shards.add(fabricaThreads.isVirtuais()
+                    ? ThreadsVirtuaisConfig.limitar(shard.getPoolName(), shard, conexoesAninhadas, esperaConexao)
+                    : shard);
+        }
+
+        if (inicializarSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_DIRETORIO)).execute(dataSource);
+            shards.forEach(new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SHARD))::execute);
+        }
+
+        log.info("Chaves Pix distribuídas em {} shards pelo número da agência", shards.size());
+        return new ShardedChavePixRepository(shards, new DiretorioChavePix(dataSource), messageConfig,
+                fabricaThreads.criar("chave-pix-shard-"));
+    }
+
+    @PreDestroy
+    public void fecharShards() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
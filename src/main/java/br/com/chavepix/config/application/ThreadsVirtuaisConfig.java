@@ -0,0 +1,84 @@
+package br.com.chavepix.config.application;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.task.TaskExecutorCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Ativada com {@code chave-pix.threads-virtuais.habilitado=true}: as requisições do Tomcat, os executores montados pelo
+ * Boot (inclusive os do profile {@code assincrono}) e os trabalhadores de {@link FabricaThreads} passam a rodar em
+ * threads virtuais. Sem o limite de threads, quem limita a concorrência com o banco é o pool de conexões; cada pool
+ * Hikari é envolvido por um {@link LimiteConexoesDataSource} que deixa {@code chave-pix.threads-virtuais.conexoes-aninhadas}
+ * conexões livres para as transações aninhadas.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chave-pix.threads-virtuais.habilitado", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> threadsVirtuaisTomcat() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    @Bean
+    public TaskExecutorCustomizer threadsVirtuaisExecutores() {
+        return executor -> executor.setThreadFactory(
+                Thread.ofVirtual().name(executor.getThreadNamePrefix(), 0).factory());
+    }
+
+    @Bean
+    public MeterBinder conexoesAguardando(ListableBeanFactory beanFactory) {
+        return registry -> beanFactory.getBeansOfType(LimiteConexoesDataSource.class).forEach((nome, dataSource) ->
+                Gauge.builder("chave_pix.datasource.aguardando", dataSource, LimiteConexoesDataSource::getAguardando)
+                        .tag("pool", nome)
+                        .register(registry));
+    }
+
+    /**
+     * Estático para ser registrado antes dos DataSources, quando os placeholders de {@code @Value} ainda não são
+     * resolvidos; por isso a espera é lida do {@link Environment}. Aplicado depois da ligação de
+     * {@code spring.datasource.hikari}, então o tamanho do pool já é o configurado.
+     */
+    @Bean
+    public static BeanPostProcessor limiteConexoesPostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        Duration esperaConexao = binder.bind("chave-pix.threads-virtuais.espera-conexao", Duration.class)
+                .orElse(Duration.ofSeconds(30));
+        int conexoesAninhadas = binder.bind("chave-pix.threads-virtuais.conexoes-aninhadas", Integer.class).orElse(2);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return limitar(beanName, pool, conexoesAninhadas, esperaConexao);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ao menos uma conexão fica reservada para as transações aninhadas e ao menos uma para as externas.
+     */
+    static LimiteConexoesDataSource limitar(String nome, HikariDataSource pool, int conexoesAninhadas, Duration espera) {
+        int vagas = Math.max(1, pool.getMaximumPoolSize() - Math.max(1, conexoesAninhadas));
+        log.info("Pool {} limitado a {} de {} conexões para transações externas, com fila justa",
+                nome, vagas, pool.getMaximumPoolSize());
+        return new LimiteConexoesDataSource(pool, vagas, espera);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.chavepix.config.application;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * A autenticação fica no gateway, que repassa o usuário num cabeçalho. O filtro o coloca no MDC durante a requisição,
+ * de onde a auditoria o lê sem que ele precise atravessar os casos de uso.
+ */
+@Component
+public class UsuarioRequisicaoFilter extends OncePerRequestFilter {
+
+    public static final String MDC_USUARIO = "usuario";
+    public static final String USUARIO_ANONIMO = "anonimo";
+
+    private static final int TAMANHO_MAXIMO_USUARIO = 100;
+
+    private final String cabecalho;
+
+    public UsuarioRequisicaoFilter(@Value("${chave-pix.auditoria.cabecalho-usuario:X-Usuario}") String cabecalho) {
+        this.cabecalho = cabecalho;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String usuario = request.getHeader(cabecalho);
+        if (usuario == null || usuario.isBlank()) {
+            usuario = USUARIO_ANONIMO;
+        } else {
+            usuario = usuario.strip();
+            if (usuario.length() > TAMANHO_MAXIMO_USUARIO) {
+                usuario = usuario.substring(0, TAMANHO_MAXIMO_USUARIO);
+            }
+        }
+
+        MDC.put(MDC_USUARIO, usuario);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_USUARIO);
+        }
+    }
+}
@@ -30,11 +30,20 @@ public class MessageErrorCodeConstants {
     public static final String CHAVE_EXISTENTE= "400.020";
     public static final String ADDITIONAL_FIELDS_NOT_ALLOWED = "400.021";
     public static final String FILTRO_INVALIDO = "400.022";
+    public static final String LOTE_TAMANHO_EXCEDIDO = "400.023";
+    public static final String CHAVE_DUPLICADA_LOTE = "400.024";
+    public static final String TAMANHO_PAGINA_INVALIDO = "400.025";
 
     //HTTP 404
     public static final String NOT_FOUND = "404.000";
     public static final String CHAVE_NAO_ENCONTRADA = "404.001";
 
+    //HTTP 409
+    public static final String CHAVE_ALTERADA_CONCORRENTEMENTE = "409.001";
+
+    //HTTP 412
+    public static final String VERSAO_CHAVE_DIVERGENTE = "412.001";
+
 
     //HTTP 422
     public static final String BUSINESS_ERROR = "422.000";
@@ -52,4 +61,12 @@ public class MessageErrorCodeConstants {
 
     //HTTP 500
     public static final String INTERNAL_SERVER_ERROR = "500.000";
+
+    //HTTP 503
+    public static final String SERVICO_SOBRECARREGADO = "503.001";
+
+    //LOG
+    public static final String LOG_CACHE_MISS = "LOG.0002";
+    public static final String LOG_CACHE_UPDATE = "LOG.0003";
+    public static final String LOG_MAX_RESULTS_PER_PAGE = "LOG.0016";
 }
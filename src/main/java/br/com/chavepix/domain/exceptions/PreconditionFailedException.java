@@ -0,0 +1,15 @@
+package br.com.chavepix.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends RestException {
+
+    public PreconditionFailedException(String code, String message) {
+        super(code, message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.PRECONDITION_FAILED;
+    }
+}
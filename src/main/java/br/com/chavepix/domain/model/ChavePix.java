@@ -23,6 +23,7 @@ public class ChavePix {
     private String sobrenomeCorrentista;
     private LocalDateTime dataHoraInclusao;
     private LocalDateTime dataHoraInativacao;
+    private Long versao;
 
     public ChavePix(
             TipoChave tipoChave,
@@ -44,6 +45,7 @@ public class ChavePix {
         this.nomeCorrentista = nomeCorrentista;
         this.sobrenomeCorrentista = sobrenomeCorrentista;
         this.dataHoraInclusao = LocalDateTime.now();
+        this.versao = 0L;
     }
 
     public void atualizarDadosPermitidos(TipoConta tipoConta,
@@ -68,4 +70,18 @@ public class ChavePix {
         return dataHoraInativacao != null;
     }
 
+    /**
+     * Define a versão sobre a qual a próxima alteração será aplicada, quando o cliente informa a versão que conhece.
+     */
+    public void definirVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    /**
+     * Chamado pela persistência quando a alteração é gravada: cada alteração gravada incrementa a versão.
+     */
+    public void avancarVersao() {
+        this.versao = versao + 1;
+    }
+
 }
@@ -0,0 +1,10 @@
+package br.com.chavepix.domain.model;
+
+import lombok.Value;
+
+@Value
+public class ContaBancaria {
+
+    Integer numeroAgencia;
+    Integer numeroConta;
+}
@@ -0,0 +1,27 @@
+package br.com.chavepix.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de mudança de uma chave Pix, gravado na mesma transação da chave e publicado depois pelo relay. A sequência é
+ * atribuída pelo banco na gravação; o payload é o JSON da chave como ficou após a mudança.
+ */
+@Value
+@AllArgsConstructor
+public class EventoChavePix {
+
+    Long sequencia;
+    TipoEventoChavePix tipo;
+    UUID chaveId;
+    Long versao;
+    LocalDateTime dataHora;
+    String payload;
+
+    public EventoChavePix(TipoEventoChavePix tipo, UUID chaveId, Long versao, String payload) {
+        this(null, tipo, chaveId, versao, LocalDateTime.now(), payload);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.chavepix.domain.model;
+
+public enum OperacaoAuditoria {
+    CONSULTA_POR_ID,
+    CONSULTA_POR_CONTA,
+    CONSULTA_POR_NOME,
+    RESOLUCAO,
+    CADASTRO,
+    ALTERACAO,
+    INATIVACAO
+}
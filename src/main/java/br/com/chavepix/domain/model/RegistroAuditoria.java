@@ -0,0 +1,18 @@
+package br.com.chavepix.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Quem leu ou alterou uma chave Pix, e quando. Os registros só são inseridos, nunca alterados nem apagados.
+ */
+@Value
+public class RegistroAuditoria {
+
+    OperacaoAuditoria operacao;
+    UUID chaveId;
+    String usuario;
+    LocalDateTime dataHora;
+}
@@ -0,0 +1,7 @@
+package br.com.chavepix.domain.model;
+
+public enum TipoEventoChavePix {
+    CHAVE_CADASTRADA,
+    CHAVE_ALTERADA,
+    CHAVE_INATIVADA
+}
@@ -8,7 +8,11 @@ import java.util.UUID;
 
 public interface AlterarChavePixUseCase {
 
+    /**
+     * @param versaoEsperada versão informada pelo cliente em If-Match; nula para alterar a versão lida
+     */
     AlterarChavePixResponse alterarChave(UUID id,
+                                         Long versaoEsperada,
                                          TipoChave tipoChave,
                                          String valorChave,
                                          TipoConta tipoConta,
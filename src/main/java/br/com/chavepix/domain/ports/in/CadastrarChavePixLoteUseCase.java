@@ -0,0 +1,11 @@
+package br.com.chavepix.domain.ports.in;
+
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
+
+import java.util.List;
+
+public interface CadastrarChavePixLoteUseCase {
+
+    List<CadastrarChavePixLoteResponse> cadastrarChaves(List<CadastrarChavePixRequest> requests);
+}
@@ -1,5 +1,6 @@
 package br.com.chavepix.domain.ports.in;
 
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixPaginaResponse;
 import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
 
 import java.util.List;
@@ -9,5 +10,5 @@ public interface ConsultarChavePixUseCase {
 
     ConsultarChavePixResponse consultarPorId(UUID id);
     List<ConsultarChavePixResponse> consultarPorConta(Integer agencia, Integer numeroConta);
-    List<ConsultarChavePixResponse> consultarPorNome(String nomeCorrentista);
+    ConsultarChavePixPaginaResponse consultarPorNome(String nomeCorrentista, Integer limite, UUID cursor);
 }
@@ -0,0 +1,8 @@
+package br.com.chavepix.domain.ports.in;
+
+import java.io.OutputStream;
+
+public interface ExportarChavePixUseCase {
+
+    long exportar(OutputStream saida);
+}
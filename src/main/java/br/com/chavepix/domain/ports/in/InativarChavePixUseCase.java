@@ -0,0 +1,10 @@
+package br.com.chavepix.domain.ports.in;
+
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+
+import java.util.UUID;
+
+public interface InativarChavePixUseCase {
+
+    InativarChavePixResponse inativarChave(UUID id);
+}
@@ -0,0 +1,6 @@
+package br.com.chavepix.domain.ports.in;
+
+public interface PublicarEventosChavePixUseCase {
+
+    int publicarPendentes(int limite);
+}
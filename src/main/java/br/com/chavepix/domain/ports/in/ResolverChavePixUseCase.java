@@ -0,0 +1,8 @@
+package br.com.chavepix.domain.ports.in;
+
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+
+public interface ResolverChavePixUseCase {
+
+    ResolverChavePixResponse resolverChave(String valorChave);
+}
@@ -0,0 +1,16 @@
+package br.com.chavepix.domain.ports.out;
+
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AuditoriaChavePix {
+
+    /**
+     * Registra o acesso em nome do usuário da requisição corrente. Não espera a gravação: o registro vai para uma fila
+     * e é gravado depois, em lote.
+     */
+    void registrar(OperacaoAuditoria operacao, UUID chaveId);
+    void registrarTodos(OperacaoAuditoria operacao, Collection<UUID> chaveIds);
+}
@@ -1,16 +1,39 @@
 package br.com.chavepix.domain.ports.out;
 
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ChavePixRepository {
 
     boolean chaveJaExiste(String valorChave);
+    void percorrerValoresChave(Consumer<String> consumidor);
+    void percorrerChavesPix(Consumer<ChavePix> consumidor);
+    Set<String> buscarChavesExistentes(Collection<String> valoresChave);
+
+    /**
+     * Chaves ativas da conta por tipo, contadas no banco; os tipos sem chave ativa ficam fora do mapa.
+     */
+    Map<TipoChave, Long> contarChavesAtivasPorTipo(Integer agencia, Integer numeroConta);
     List<ChavePix> buscarPorConta(Integer agencia, Integer numeroConta);
-    List<ChavePix> buscarPorNome(String nomeCorrentista);
+    List<ChavePix> buscarPorNome(String nomeCorrentista, UUID aposId, int limite);
     Optional<ChavePix> buscarPorId(UUID id);
+    Optional<ChavePix> buscarPorValor(String valorChave);
     void salvar(ChavePix chavePix);
+    boolean atualizar(ChavePix chavePix);
+    boolean inativar(UUID id, LocalDateTime dataHoraInativacao);
+
+    /**
+     * Indica, na posição de cada chave, se ela foi gravada: as que ficam de fora são as de valor já cadastrado por outra
+     * transação depois da validação prévia.
+     */
+    boolean[] salvarTodos(List<ChavePix> chavesPix);
 }
@@ -0,0 +1,38 @@
+package br.com.chavepix.domain.ports.out;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.TipoChave;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Quantidade de chaves ativas de cada conta, por tipo de chave, mantida a cada cadastro, inativação e troca de conta.
+ */
+public interface ContadorChavePixRepository {
+
+    /**
+     * Soma a chave ao contador da conta numa única instrução condicional, só se a conta tiver menos de {@code limite}
+     * chaves ativas. Devolve {@code false} tanto no limite quanto quando a conta ainda não tem contador.
+     */
+    boolean reservar(ChavePix chavePix, int limite);
+
+    /**
+     * Reserva as chaves na ordem da lista, como chamadas seguidas de {@link #reservar}; os contadores das contas já
+     * devem existir.
+     */
+    boolean[] reservarTodas(List<ChavePix> chavesPix, ToIntFunction<ChavePix> limite);
+    void liberar(ContaBancaria conta, TipoChave tipoChave);
+    boolean existe(ContaBancaria conta);
+    Set<ContaBancaria> buscarAusentes(Collection<ContaBancaria> contas);
+
+    /**
+     * Cria o contador da conta com as quantidades informadas, na transação corrente, sem abrir outra conexão. Se outra
+     * transação criou o contador antes, o existente é mantido.
+     */
+    void inicializar(ContaBancaria conta, Map<TipoChave, Long> quantidades);
+}
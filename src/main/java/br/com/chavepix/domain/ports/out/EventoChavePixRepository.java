@@ -0,0 +1,19 @@
+package br.com.chavepix.domain.ports.out;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoChavePixRepository {
+
+    void registrar(EventoChavePix evento);
+    void registrarTodos(List<EventoChavePix> eventos);
+
+    /**
+     * Bloqueia até {@code limite} eventos pendentes, em ordem de sequência, até o fim da transação corrente. Eventos já
+     * bloqueados por outra transação são pulados, o que permite vários relays em paralelo.
+     */
+    List<EventoChavePix> bloquearPendentes(int limite);
+    void remover(Collection<Long> sequencias);
+}
@@ -0,0 +1,14 @@
+package br.com.chavepix.domain.ports.out;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+
+import java.util.List;
+
+public interface PublicadorEventoChavePix {
+
+    /**
+     * Publica os eventos na ordem recebida e só retorna depois de confirmada a entrega; uma exceção faz o lote inteiro
+     * ser publicado de novo.
+     */
+    void publicar(List<EventoChavePix> eventos);
+}
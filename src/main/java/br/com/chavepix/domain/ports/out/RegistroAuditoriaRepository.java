@@ -0,0 +1,10 @@
+package br.com.chavepix.domain.ports.out;
+
+import br.com.chavepix.domain.model.RegistroAuditoria;
+
+import java.util.List;
+
+public interface RegistroAuditoriaRepository {
+
+    void gravarTodos(List<RegistroAuditoria> registros);
+}
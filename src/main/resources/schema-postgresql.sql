@@ -0,0 +1,81 @@
+-- Executado a cada inicialização, depois do ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization).
+-- A unicidade de valor_chave vale só entre as chaves ativas: uma chave inativada libera o valor para novo cadastro.
+
+-- Bases criadas pela versão inicial têm a constraint única de @Column(unique = true) sobre valor_chave, com o nome
+-- gerado pelo Hibernate; ela é encontrada pela coluna e removida. O corpo fica entre aspas simples, e não entre $$,
+-- porque a inicialização do Spring separa os comandos em todo ';' fora de aspas.
+--
+-- A contagem das chaves ativas da conta, que inicializa o limite por conta, usa o índice parcial
+-- idx_chave_pix_conta_ativa, que só tem as ativas. A consulta por conta traz também as inativas e usa
+-- idx_chave_pix_conta, da entidade; ele substitui idx_chave_pix_agencia_conta, cuja última coluna só servia às
+-- contagens. Criado aqui também para o profile particionado.
+--
+-- Com chave-pix.sharding.habilitado a tabela chave_pix fica nos shards e não é criada neste banco, que guarda só o
+-- diretório; o bloco então não faz nada.
+DO '
+DECLARE
+    restricao name;
+BEGIN
+    IF to_regclass(''chave_pix'') IS NULL THEN
+        RETURN;
+    END IF;
+
+    FOR restricao IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND c.conkey = ARRAY[a.attnum]
+        WHERE c.conrelid = ''chave_pix''::regclass
+          AND c.contype = ''u''
+          AND a.attname = ''valor_chave''
+    LOOP
+        EXECUTE format(''ALTER TABLE chave_pix DROP CONSTRAINT %I'', restricao);
+    END LOOP;
+
+    CREATE UNIQUE INDEX IF NOT EXISTS uk_chave_pix_valor_chave_ativa
+        ON chave_pix (valor_chave)
+        WHERE data_hora_inativacao IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_chave_pix_conta_ativa
+        ON chave_pix (numero_agencia, numero_conta)
+        WHERE data_hora_inativacao IS NULL;
+
+    CREATE INDEX IF NOT EXISTS idx_chave_pix_conta
+        ON chave_pix (numero_agencia, numero_conta);
+
+    DROP INDEX IF EXISTS idx_chave_pix_agencia_conta;
+END';
+
+-- Outbox dos eventos de chave Pix. Criada também aqui porque o profile particionado não usa o ddl-auto.
+CREATE TABLE IF NOT EXISTS chave_pix_evento (
+    sequencia  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo       varchar(30)   NOT NULL,
+    chave_id   uuid          NOT NULL,
+    versao     bigint,
+    data_hora  timestamp(6)  NOT NULL,
+    payload    varchar(4000) NOT NULL
+);
+
+-- Quantidade de chaves ativas por conta, conferida e reservada num único UPDATE condicional a cada cadastro.
+CREATE TABLE IF NOT EXISTS chave_pix_contador_conta (
+    numero_agencia       integer NOT NULL,
+    numero_conta         integer NOT NULL,
+    quantidade           integer NOT NULL,
+    quantidade_cpf       integer NOT NULL,
+    quantidade_cnpj      integer NOT NULL,
+    quantidade_email     integer NOT NULL,
+    quantidade_celular   integer NOT NULL,
+    quantidade_aleatoria integer NOT NULL,
+    PRIMARY KEY (numero_agencia, numero_conta)
+);
+
+-- Trilha de auditoria de leituras e alterações das chaves, gravada em lotes fora das requisições e só acrescida.
+CREATE TABLE IF NOT EXISTS chave_pix_auditoria (
+    sequencia  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    operacao   varchar(30)  NOT NULL,
+    chave_id   uuid         NOT NULL,
+    usuario    varchar(100) NOT NULL,
+    data_hora  timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_chave_pix_auditoria_chave
+    ON chave_pix_auditoria (chave_id, data_hora);
@@ -0,0 +1,9 @@
+-- Executado no banco de spring.datasource na inicialização quando chave-pix.sharding.inicializar-schema está ligado.
+-- valor_chave_ativa fica nulo quando a chave é inativada, liberando o valor para um novo cadastro em qualquer shard.
+
+CREATE TABLE IF NOT EXISTS chave_pix_diretorio (
+    id                uuid         NOT NULL PRIMARY KEY,
+    shard             integer      NOT NULL,
+    valor_chave_ativa varchar(255),
+    CONSTRAINT uk_chave_pix_diretorio_valor UNIQUE (valor_chave_ativa)
+);
@@ -0,0 +1,23 @@
+-- Executado em cada shard na inicialização quando chave-pix.sharding.inicializar-schema está ligado. A unicidade do
+-- valor fica no diretório, então os shards não têm índice sobre valor_chave.
+
+CREATE TABLE IF NOT EXISTS chave_pix (
+    id                    uuid         NOT NULL PRIMARY KEY,
+    tipo_chave            varchar(255) NOT NULL,
+    valor_chave           varchar(255) NOT NULL,
+    tipo_conta            varchar(255) NOT NULL,
+    tipo_pessoa           varchar(255) NOT NULL,
+    numero_agencia        integer      NOT NULL,
+    numero_conta          integer      NOT NULL,
+    nome_correntista      varchar(30)  NOT NULL,
+    sobrenome_correntista varchar(45),
+    data_hora_inclusao    timestamp    NOT NULL,
+    data_hora_inativacao  timestamp,
+    versao                bigint       DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_chave_pix_agencia_conta
+    ON chave_pix (numero_agencia, numero_conta, data_hora_inativacao);
+
+CREATE INDEX IF NOT EXISTS idx_chave_pix_nome_id
+    ON chave_pix (nome_correntista, id);
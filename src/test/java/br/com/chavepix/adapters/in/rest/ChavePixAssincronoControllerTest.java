@@ -0,0 +1,190 @@
+package br.com.chavepix.adapters.in.rest;
+
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.config.application.AssincronoConfig;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.config.application.UsuarioRequisicaoFilter;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.in.AlterarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixLoteUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ConsultarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ExportarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.InativarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ResolverChavePixUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.SERVICO_SOBRECARREGADO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChavePixAssincronoController - Testes Unitários")
+public class ChavePixAssincronoControllerTest {
+
+    @Mock
+    private CadastrarChavePixUseCase cadastrarService;
+
+    @Mock
+    private CadastrarChavePixLoteUseCase cadastrarLoteService;
+
+    @Mock
+    private AlterarChavePixUseCase alterarService;
+
+    @Mock
+    private InativarChavePixUseCase inativarService;
+
+    @Mock
+    private ConsultarChavePixUseCase consultarService;
+
+    @Mock
+    private ResolverChavePixUseCase resolverService;
+
+    @Mock
+    private ExportarChavePixUseCase exportarService;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    private ThreadPoolTaskExecutor executor;
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AssincronoConfig().executorRequisicoes(new TaskExecutorBuilder(), 1, 0);
+        executor.initialize();
+
+        ChavePixAssincronoController controller = new ChavePixAssincronoController(cadastrarService,
+                cadastrarLoteService, alterarService, inativarService, consultarService, resolverService,
+                exportarService, messageConfig, executor, Duration.ofSeconds(5));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ControllerAdvice(messageConfig))
+                .build();
+
+        objectMapper = new ObjectMapper();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar no executor levando o usuário da requisição")
+    void deveCadastrarNoExecutorComUsuario() throws Exception {
+        // Given
+        CadastrarChavePixResponse expectedResponse = new CadastrarChavePixResponse();
+        expectedResponse.setId(UUID.randomUUID());
+        AtomicReference<String> thread = new AtomicReference<>();
+        AtomicReference<String> usuario = new AtomicReference<>();
+        when(cadastrarService.cadastrarChave(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    thread.set(Thread.currentThread().getName());
+                    usuario.set(MDC.get(UsuarioRequisicaoFilter.MDC_USUARIO));
+                    return expectedResponse;
+                });
+        MDC.put(UsuarioRequisicaoFilter.MDC_USUARIO, "operador");
+
+        // When
+        MvcResult resultado = mockMvc.perform(post("/api/v1/chaves-pix")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createCadastrarRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(expectedResponse.getId().toString()));
+        assertTrue(thread.get().startsWith("requisicao-chave-pix-"));
+        assertEquals("operador", usuario.get());
+    }
+
+    @Test
+    @DisplayName("Deve consultar por ID no executor devolvendo a versão no ETag")
+    void deveConsultarPorIdNoExecutor() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        ConsultarChavePixResponse expectedResponse = new ConsultarChavePixResponse();
+        expectedResponse.setId(id);
+        expectedResponse.setVersao(3L);
+        when(consultarService.consultarPorId(id)).thenReturn(expectedResponse);
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/api/v1/chaves-pix").param("id", id.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando o executor está ocupado e sem fila")
+    void deveResponder503ComExecutorOcupado() throws Exception {
+        // Given
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(resolverService.resolverChave("ocupada@teste.com")).thenAnswer(invocation -> {
+            emAndamento.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        when(messageConfig.getMessage(eq(SERVICO_SOBRECARREGADO), any())).thenReturn("Serviço sobrecarregado");
+        mockMvc.perform(get("/api/v1/chaves-pix/valor/ocupada@teste.com")).andExpect(request().asyncStarted());
+        assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/chaves-pix/valor/outra@teste.com"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.codigo").value(SERVICO_SOBRECARREGADO));
+        liberar.countDown();
+        verify(resolverService, never()).resolverChave("outra@teste.com");
+    }
+
+    private CadastrarChavePixRequest createCadastrarRequest() {
+        CadastrarChavePixRequest request = new CadastrarChavePixRequest();
+        request.setTipoChave(TipoChave.EMAIL);
+        request.setValorChave("carol@teste.com");
+        request.setTipoConta(TipoConta.CORRENTE);
+        request.setTipoPessoa(TipoPessoa.PESSOA_FISICA);
+        request.setNumeroAgencia(1234);
+        request.setNumeroConta(567890);
+        request.setNomeCorrentista("Carolina");
+        request.setSobrenomeCorrentista("Andrade");
+        return request;
+    }
+}
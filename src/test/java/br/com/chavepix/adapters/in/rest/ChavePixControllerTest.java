@@ -3,16 +3,24 @@ package br.com.chavepix.adapters.in.rest;
 import br.com.chavepix.adapters.in.rest.request.AlterarChavePixRequest;
 import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
 import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
 import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixPaginaResponse;
 import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
 import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.ChavePixException;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.model.TipoPessoa;
 import br.com.chavepix.domain.ports.in.AlterarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.CadastrarChavePixLoteUseCase;
 import br.com.chavepix.domain.ports.in.CadastrarChavePixUseCase;
 import br.com.chavepix.domain.ports.in.ConsultarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ExportarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.InativarChavePixUseCase;
+import br.com.chavepix.domain.ports.in.ResolverChavePixUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,8 +31,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -40,12 +52,24 @@ public class ChavePixControllerTest {
     @Mock
     private CadastrarChavePixUseCase cadastrarService;
 
+    @Mock
+    private CadastrarChavePixLoteUseCase cadastrarLoteService;
+
     @Mock
     private AlterarChavePixUseCase alterarService;
 
+    @Mock
+    private InativarChavePixUseCase inativarService;
+
     @Mock
     private ConsultarChavePixUseCase consultarService;
 
+    @Mock
+    private ResolverChavePixUseCase resolverService;
+
+    @Mock
+    private ExportarChavePixUseCase exportarService;
+
     @Mock
     private MessageConfig messageConfig;
 
@@ -93,6 +117,31 @@ public class ChavePixControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve cadastrar chaves PIX em lote com sucesso")
+    void deveCadastrarChavesPixEmLoteComSucesso() throws Exception {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(createCadastrarRequest());
+        CadastrarChavePixLoteResponse item = CadastrarChavePixLoteResponse.builder()
+                .indice(0)
+                .valorChave("carol@teste.com")
+                .id(UUID.randomUUID())
+                .build();
+
+        when(cadastrarLoteService.cadastrarChaves(anyList())).thenReturn(List.of(item));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/chaves-pix/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].indice").value(0))
+                .andExpect(jsonPath("$[0].id").value(item.getId().toString()));
+
+        verify(cadastrarLoteService).cadastrarChaves(requests);
+        verifyNoInteractions(cadastrarService);
+    }
+
     @Test
     @DisplayName("Deve alterar chave PIX com sucesso")
     void deveAlterarChavePixComSucesso() throws Exception {
@@ -102,7 +151,7 @@ public class ChavePixControllerTest {
         AlterarChavePixResponse expectedResponse = createAlterarResponse();
 
         when(alterarService.alterarChave(
-                any(), any(), any(), any(), any(), any(), any(), any()
+                any(), any(), any(), any(), any(), any(), any(), any(), any()
         )).thenReturn(expectedResponse);
 
         // When & Then
@@ -114,6 +163,7 @@ public class ChavePixControllerTest {
 
         verify(alterarService).alterarChave(
                 eq(id),
+                isNull(),
                 eq(request.getTipoChave()),
                 eq(request.getValorChave()),
                 eq(request.getTipoConta()),
@@ -124,6 +174,48 @@ public class ChavePixControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Deve repassar a versão do If-Match e devolver a nova versão no ETag")
+    void deveAlterarComIfMatchEDevolverEtag() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        AlterarChavePixRequest request = createAlterarRequest();
+        AlterarChavePixResponse expectedResponse = createAlterarResponse();
+        expectedResponse.setVersao(4L);
+
+        when(alterarService.alterarChave(
+                any(), any(), any(), any(), any(), any(), any(), any(), any()
+        )).thenReturn(expectedResponse);
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/chaves-pix/{id}", id)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+
+        verify(alterarService).alterarChave(eq(id), eq(3L), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar If-Match que não é uma versão")
+    void deveRejeitarIfMatchInvalido() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(messageConfig.getMessage(anyString(), any())).thenReturn("Cabeçalho inválido");
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/chaves-pix/{id}", id)
+                        .header("If-Match", "\"abc\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createAlterarRequest())))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(alterarService);
+    }
+
     @Test
     @DisplayName("Deve consultar chave PIX por ID com sucesso")
     void deveConsultarChavePixPorIdComSucesso() throws Exception {
@@ -141,7 +233,7 @@ public class ChavePixControllerTest {
 
         verify(consultarService).consultarPorId(id);
         verify(consultarService, never()).consultarPorConta(anyInt(), anyInt());
-        verify(consultarService, never()).consultarPorNome(anyString());
+        verify(consultarService, never()).consultarPorNome(anyString(), any(), any());
     }
 
     @Test
@@ -163,7 +255,7 @@ public class ChavePixControllerTest {
 
         verify(consultarService).consultarPorConta(agencia, numeroConta);
         verify(consultarService, never()).consultarPorId(any());
-        verify(consultarService, never()).consultarPorNome(anyString());
+        verify(consultarService, never()).consultarPorNome(anyString(), any(), any());
     }
 
     @Test
@@ -171,17 +263,24 @@ public class ChavePixControllerTest {
     void deveConsultarChavePixPorNomeComSucesso() throws Exception {
         // Given
         String nomeCorrentista = "João Silva";
-        List<ConsultarChavePixResponse> expectedResponse = List.of(createConsultarResponse());
+        UUID cursor = UUID.randomUUID();
+        ConsultarChavePixPaginaResponse expectedResponse = ConsultarChavePixPaginaResponse.builder()
+                .chaves(List.of(createConsultarResponse()))
+                .proximoCursor(UUID.randomUUID())
+                .build();
 
-        when(consultarService.consultarPorNome(nomeCorrentista)).thenReturn(expectedResponse);
+        when(consultarService.consultarPorNome(nomeCorrentista, 10, cursor)).thenReturn(expectedResponse);
 
         // When & Then
         mockMvc.perform(get("/api/v1/chaves-pix")
-                        .param("nomeCorrentista", nomeCorrentista))
+                        .param("nomeCorrentista", nomeCorrentista)
+                        .param("limit", "10")
+                        .param("cursor", cursor.toString()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(expectedResponse.get(0).getId().toString()));
+                .andExpect(jsonPath("$.chaves[0].id").value(expectedResponse.getChaves().get(0).getId().toString()))
+                .andExpect(jsonPath("$.proximoCursor").value(expectedResponse.getProximoCursor().toString()));
 
-        verify(consultarService).consultarPorNome(nomeCorrentista);
+        verify(consultarService).consultarPorNome(nomeCorrentista, 10, cursor);
         verify(consultarService, never()).consultarPorId(any());
         verify(consultarService, never()).consultarPorConta(anyInt(), anyInt());
     }
@@ -203,7 +302,7 @@ public class ChavePixControllerTest {
 
         verify(consultarService, never()).consultarPorId(any());
         verify(consultarService, never()).consultarPorConta(anyInt(), anyInt());
-        verify(consultarService, never()).consultarPorNome(anyString());
+        verify(consultarService, never()).consultarPorNome(anyString(), any(), any());
     }
 
     @Test
@@ -215,7 +314,7 @@ public class ChavePixControllerTest {
 
         verify(consultarService, never()).consultarPorId(any());
         verify(consultarService, never()).consultarPorConta(anyInt(), anyInt());
-        verify(consultarService, never()).consultarPorNome(anyString());
+        verify(consultarService, never()).consultarPorNome(anyString(), any(), any());
     }
 
     @Test
@@ -280,6 +379,66 @@ public class ChavePixControllerTest {
         verify(consultarService).consultarPorConta(agencia, numeroConta);
     }
 
+    @Test
+    @DisplayName("Deve resolver chave PIX pelo valor")
+    void deveResolverChavePixPeloValor() throws Exception {
+        // Given
+        ResolverChavePixResponse response = ResolverChavePixResponse.builder()
+                .tipoChave(TipoChave.EMAIL)
+                .valorChave("carol@teste.com")
+                .tipoPessoa(TipoPessoa.PESSOA_FISICA)
+                .numeroAgencia(1234)
+                .numeroConta(567890)
+                .build();
+        when(resolverService.resolverChave("carol@teste.com")).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/chaves-pix/valor/{valorChave}", "carol@teste.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tipoPessoa").value("PESSOA_FISICA"))
+                .andExpect(jsonPath("$.numeroConta").value(567890));
+
+        verify(resolverService).resolverChave("carol@teste.com");
+    }
+    @Test
+    @DisplayName("Deve inativar chave PIX")
+    void deveInativarChavePix() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(inativarService.inativarChave(id)).thenReturn(InativarChavePixResponse.builder()
+                .id(id)
+                .dataInativacao(LocalDateTime.of(2026, 1, 10, 12, 0))
+                .build());
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/chaves-pix/{id}/inativacao", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id.toString()));
+
+        verify(inativarService).inativarChave(id);
+    }
+
+    @Test
+    @DisplayName("Deve exportar as chaves PIX em NDJSON")
+    void deveExportarChavesPixEmNdjson() throws Exception {
+        // Given
+        when(exportarService.exportar(any())).thenAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("{\"valorChave\":\"a@teste.com\"}\n{\"valorChave\":\"b@teste.com\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/api/v1/chaves-pix/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"valorChave\":\"a@teste.com\"}\n{\"valorChave\":\"b@teste.com\"}\n"));
+    }
 
     private CadastrarChavePixRequest createCadastrarRequest() {
         CadastrarChavePixRequest request = new CadastrarChavePixRequest();
@@ -0,0 +1,197 @@
+package br.com.chavepix.adapters.out.auditoria;
+
+import br.com.chavepix.config.application.FabricaThreads;
+import br.com.chavepix.config.application.UsuarioRequisicaoFilter;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import br.com.chavepix.domain.ports.out.RegistroAuditoriaRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FilaAuditoriaChavePix - Testes Unitários")
+public class FilaAuditoriaChavePixTest {
+
+    private static final Duration INTERVALO = Duration.ofMillis(10);
+    private static final ThreadFactory THREADS = new FabricaThreads(false).criar("escritor-auditoria-chave-pix-");
+
+    @TempDir
+    private Path diretorio;
+
+    private RepositorioEmMemoria repository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositorioEmMemoria();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Deve gravar os registros em lotes com o usuário da requisição")
+    void deveGravarEmLotesComUsuarioDaRequisicao() throws Exception {
+        // Given
+        FilaAuditoriaChavePix fila = new FilaAuditoriaChavePix(repository, 100, 2, INTERVALO,
+                ModoTransbordoAuditoria.DESCARTAR, null, THREADS, meterRegistry);
+        MDC.put(UsuarioRequisicaoFilter.MDC_USUARIO, "maria");
+        UUID chaveId = UUID.randomUUID();
+
+        // When
+        fila.registrar(OperacaoAuditoria.CONSULTA_POR_ID, chaveId);
+        fila.registrarTodos(OperacaoAuditoria.CONSULTA_POR_CONTA, List.of(UUID.randomUUID(), UUID.randomUUID()));
+        fila.iniciar();
+        fila.close();
+
+        // Then
+        assertEquals(List.of(2, 1), repository.tamanhosDosLotes);
+        RegistroAuditoria primeiro = repository.registros.get(0);
+        assertEquals(OperacaoAuditoria.CONSULTA_POR_ID, primeiro.getOperacao());
+        assertEquals(chaveId, primeiro.getChaveId());
+        assertEquals("maria", primeiro.getUsuario());
+        assertEquals(3, meterRegistry.get("chave_pix.auditoria.gravados").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar os registros quando a fila está cheia")
+    void deveDescartarQuandoFilaCheia() throws Exception {
+        // Given
+        FilaAuditoriaChavePix fila = new FilaAuditoriaChavePix(repository, 2, 10, INTERVALO,
+                ModoTransbordoAuditoria.DESCARTAR, null, THREADS, meterRegistry);
+
+        // When
+        fila.registrarTodos(OperacaoAuditoria.CONSULTA_POR_NOME, ids(5));
+        fila.close();
+
+        // Then
+        assertEquals(2, repository.registros.size());
+        assertEquals(3, meterRegistry.get("chave_pix.auditoria.descartados").counter().count());
+        assertEquals("anonimo", repository.registros.get(0).getUsuario());
+    }
+
+    @Test
+    @DisplayName("Deve gravar no arquivo de transbordo o que não cabe na fila")
+    void deveTransbordarParaArquivo() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path arquivo = diretorio.resolve("transbordo.ndjson");
+        FilaAuditoriaChavePix fila = new FilaAuditoriaChavePix(repository, 1, 10, INTERVALO,
+                ModoTransbordoAuditoria.ARQUIVO, new ArquivoTransbordoAuditoria(objectMapper, arquivo), THREADS,
+                meterRegistry);
+        List<UUID> chaveIds = ids(3);
+
+        // When
+        fila.registrarTodos(OperacaoAuditoria.RESOLUCAO, chaveIds);
+        fila.close();
+
+        // Then
+        assertEquals(1, repository.registros.size());
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(2, linhas.size());
+        JsonNode linha = objectMapper.readTree(linhas.get(0));
+        assertEquals(chaveIds.get(1).toString(), linha.get("chaveId").asText());
+        assertEquals("RESOLUCAO", linha.get("operacao").asText());
+        assertEquals(2, meterRegistry.get("chave_pix.auditoria.transbordados").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve mandar para o arquivo de transbordo o lote que o banco recusou")
+    void deveTransbordarLoteRecusadoPeloBanco() throws Exception {
+        // Given
+        Path arquivo = diretorio.resolve("transbordo.ndjson");
+        FilaAuditoriaChavePix fila = new FilaAuditoriaChavePix(registros -> {
+            throw new IllegalStateException("banco indisponível");
+        }, 10, 10, INTERVALO, ModoTransbordoAuditoria.ARQUIVO,
+                new ArquivoTransbordoAuditoria(new ObjectMapper().registerModule(new JavaTimeModule()), arquivo),
+                THREADS, meterRegistry);
+
+        // When
+        fila.registrarTodos(OperacaoAuditoria.ALTERACAO, ids(4));
+        fila.close();
+
+        // Then
+        assertEquals(4, Files.readAllLines(arquivo).size());
+        assertEquals(0, meterRegistry.get("chave_pix.auditoria.descartados").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve fazer a requisição esperar vaga sem perder registros no modo bloquear")
+    void deveBloquearAteHaverVaga() throws Exception {
+        // Given
+        FilaAuditoriaChavePix fila = new FilaAuditoriaChavePix(repository, 4, 4, INTERVALO,
+                ModoTransbordoAuditoria.BLOQUEAR, null, THREADS, meterRegistry);
+        fila.iniciar();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> produtores = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 8; i++) {
+                produtores.add(executor.submit(() -> {
+                    largada.await();
+                    fila.registrarTodos(OperacaoAuditoria.CONSULTA_POR_ID, ids(25));
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> produtor : produtores) {
+                produtor.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        fila.close();
+
+        // Then
+        assertEquals(200, repository.registros.size());
+        assertTrue(repository.tamanhosDosLotes.stream().allMatch(tamanho -> tamanho <= 4));
+        assertEquals(0, meterRegistry.get("chave_pix.auditoria.descartados").counter().count());
+    }
+
+    private static List<UUID> ids(int quantidade) {
+        return IntStream.range(0, quantidade).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+
+    /**
+     * Copia cada lote: a fila reaproveita a lista entre gravações.
+     */
+    private static class RepositorioEmMemoria implements RegistroAuditoriaRepository {
+
+        private final List<RegistroAuditoria> registros = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> tamanhosDosLotes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void gravarTodos(List<RegistroAuditoria> lote) {
+            registros.addAll(lote);
+            tamanhosDosLotes.add(lote.size());
+        }
+    }
+}
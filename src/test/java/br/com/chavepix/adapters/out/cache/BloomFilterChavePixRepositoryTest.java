@@ -0,0 +1,140 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BloomFilterChavePixRepository - Testes Unitários")
+public class BloomFilterChavePixRepositoryTest {
+
+    @Mock
+    private ChavePixRepository delegate;
+
+    private BloomFilterChavePixRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BloomFilterChavePixRepository(delegate, new BloomFilter(1_000, 0.01));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco enquanto o filtro não foi carregado")
+    void deveConsultarBancoAntesDaCarga() {
+        // Given
+        when(delegate.chaveJaExiste("a@teste.com")).thenReturn(false);
+
+        // When
+        boolean existe = repository.chaveJaExiste("a@teste.com");
+
+        // Then
+        assertFalse(existe);
+        verify(delegate).chaveJaExiste("a@teste.com");
+    }
+
+    @Test
+    @DisplayName("Deve responder sem consultar o banco quando o valor não está no filtro")
+    void deveResponderSemConsultarBanco() {
+        // Given
+        carregar("a@teste.com");
+
+        // When
+        boolean existe = repository.chaveJaExiste("b@teste.com");
+
+        // Then
+        assertFalse(existe);
+        verify(delegate, never()).chaveJaExiste(any());
+        assertEquals(1, repository.getNegativasSemConsulta());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco quando o valor pode estar no filtro")
+    void deveConsultarBancoQuandoValorPodeExistir() {
+        // Given
+        carregar("a@teste.com");
+        when(delegate.chaveJaExiste("a@teste.com")).thenReturn(true);
+
+        // When
+        boolean existe = repository.chaveJaExiste("a@teste.com");
+
+        // Then
+        assertTrue(existe);
+        verify(delegate).chaveJaExiste("a@teste.com");
+        assertEquals(0, repository.getFalsosPositivos());
+    }
+
+    @Test
+    @DisplayName("Deve contar falso positivo quando o banco não confirma o valor")
+    void deveContarFalsoPositivo() {
+        // Given
+        carregar("a@teste.com");
+        when(delegate.chaveJaExiste("a@teste.com")).thenReturn(false);
+
+        // When
+        repository.chaveJaExiste("a@teste.com");
+
+        // Then
+        assertEquals(1, repository.getFalsosPositivos());
+    }
+
+    @Test
+    @DisplayName("Deve incluir no filtro o valor salvo")
+    void deveIncluirValorSalvo() {
+        // Given
+        carregar();
+        ChavePix chave = new ChavePix(TipoChave.EMAIL, "novo@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1234, 567890, "João", "Silva");
+        when(delegate.chaveJaExiste("novo@teste.com")).thenReturn(true);
+
+        // When
+        repository.salvar(chave);
+
+        // Then
+        assertTrue(repository.chaveJaExiste("novo@teste.com"));
+        verify(delegate).salvar(chave);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco em lote apenas com os valores que podem existir")
+    void deveFiltrarConsultaEmLote() {
+        // Given
+        carregar("a@teste.com");
+        when(delegate.buscarChavesExistentes(List.of("a@teste.com"))).thenReturn(Set.of("a@teste.com"));
+
+        // When
+        Set<String> existentes = repository.buscarChavesExistentes(List.of("a@teste.com", "b@teste.com"));
+
+        // Then
+        assertEquals(Set.of("a@teste.com"), existentes);
+        verify(delegate).buscarChavesExistentes(List.of("a@teste.com"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void carregar(String... valores) {
+        doAnswer(invocation -> {
+            Consumer<String> consumidor = invocation.getArgument(0);
+            for (String valor : valores) {
+                consumidor.accept(valor);
+            }
+            return null;
+        }).when(delegate).percorrerValoresChave(any(Consumer.class));
+        repository.carregar();
+        assertTrue(repository.isCarregado());
+    }
+}
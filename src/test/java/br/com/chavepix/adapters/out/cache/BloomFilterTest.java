@@ -0,0 +1,63 @@
+package br.com.chavepix.adapters.out.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter - Testes Unitários")
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("Não deve ter falso negativo para valores adicionados")
+    void naoDeveTerFalsoNegativo() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+
+        // When
+        IntStream.range(0, 10_000).forEach(i -> bloomFilter.adicionar("chave" + i + "@teste.com"));
+
+        // Then
+        IntStream.range(0, 10_000).forEach(i -> assertTrue(bloomFilter.podeConter("chave" + i + "@teste.com")));
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falso positivo próxima da configurada")
+    void deveManterTaxaDeFalsoPositivo() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> bloomFilter.adicionar("chave" + i + "@teste.com"));
+
+        // When
+        long falsosPositivos = IntStream.range(0, 100_000)
+                .filter(i -> bloomFilter.podeConter("ausente" + i + "@teste.com"))
+                .count();
+
+        // Then
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Deve informar a taxa de preenchimento")
+    void deveInformarTaxaDePreenchimento() {
+        // Given
+        BloomFilter bloomFilter = new BloomFilter(1_000, 0.01);
+
+        // When
+        double vazio = bloomFilter.taxaPreenchimento();
+        IntStream.range(0, 1_000).forEach(i -> bloomFilter.adicionar(String.valueOf(i)));
+
+        // Then
+        assertEquals(0.0, vazio);
+        assertTrue(bloomFilter.taxaPreenchimento() > 0.4 && bloomFilter.taxaPreenchimento() < 0.6);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar taxa de falso positivo inválida")
+    void deveRejeitarTaxaInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1_000, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+    }
+}
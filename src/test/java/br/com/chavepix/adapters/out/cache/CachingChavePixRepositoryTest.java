@@ -0,0 +1,265 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingChavePixRepository - Testes Unitários")
+public class CachingChavePixRepositoryTest {
+
+    @Mock
+    private ChavePixRepository delegate;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    private final AtomicLong relogio = new AtomicLong();
+    private CachingChavePixRepository repository;
+    private ChavePix chave;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingChavePixRepository(delegate, messageConfig, 2, Duration.ofMinutes(5), relogio::get);
+        chave = createChave();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o repository apenas na primeira leitura do id")
+    void deveConsultarRepositoryApenasNaPrimeiraLeitura() {
+        // Given
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+
+        // When
+        Optional<ChavePix> primeira = repository.buscarPorId(chave.getId());
+        Optional<ChavePix> segunda = repository.buscarPorId(chave.getId());
+
+        // Then
+        assertTrue(primeira.isPresent());
+        assertTrue(segunda.isPresent());
+        assertEquals(chave.getValorChave(), segunda.get().getValorChave());
+        verify(delegate, times(1)).buscarPorId(chave.getId());
+        assertEquals(1, repository.estatisticas().hitCount());
+        assertEquals(1, repository.estatisticas().missCount());
+    }
+
+    @Test
+    @DisplayName("Deve devolver cópia para que alterações não vazem para o cache")
+    void deveDevolverCopiaDoCache() {
+        // Given
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+        repository.buscarPorId(chave.getId());
+
+        // When
+        ChavePix lida = repository.buscarPorId(chave.getId()).orElseThrow();
+        lida.atualizarDadosPermitidos(TipoConta.POUPANCA, "outro@teste.com", 1, 2, "Maria", "Souza");
+
+        // Then
+        assertEquals("joao@teste.com", repository.buscarPorId(chave.getId()).orElseThrow().getValorChave());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar em cache id inexistente")
+    void naoDeveGuardarIdInexistente() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(delegate.buscarPorId(id)).thenReturn(Optional.empty());
+
+        // When
+        repository.buscarPorId(id);
+        repository.buscarPorId(id);
+
+        // Then
+        verify(delegate, times(2)).buscarPorId(id);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o id ao salvar")
+    void deveInvalidarIdAoSalvar() {
+        // Given
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+        repository.buscarPorId(chave.getId());
+
+        // When
+        repository.salvar(chave);
+        repository.buscarPorId(chave.getId());
+
+        // Then
+        verify(delegate).salvar(chave);
+        verify(delegate, times(2)).buscarPorId(chave.getId());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o id mesmo quando salvar falha")
+    void deveInvalidarIdQuandoSalvarFalha() {
+        // Given
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+        repository.buscarPorId(chave.getId());
+        doThrow(new IllegalStateException()).when(delegate).salvar(chave);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> repository.salvar(chave));
+        repository.buscarPorId(chave.getId());
+
+        // Then
+        verify(delegate, times(2)).buscarPorId(chave.getId());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar de novo depois do commit o que uma leitura concorrente guardou durante a escrita")
+    void deveInvalidarAposCommitLeituraConcorrente() throws Exception {
+        // Given
+        ChavePix inativa = inativa(chave);
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+        repository.buscarPorId(chave.getId());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        try {
+            repository.inativar(chave.getId(), LocalDateTime.now());
+            // antes do commit outra thread ainda lê do banco a chave ativa e a guarda
+            emOutraThread(() -> repository.buscarPorId(chave.getId()));
+            when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(inativa));
+            confirmarTransacao();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertTrue(repository.buscarPorId(chave.getId()).orElseThrow().estaInativa());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar a leitura que foi ao banco antes do commit e terminou depois dele")
+    void naoDeveGuardarLeituraQueTerminouAposCommit() throws Exception {
+        // Given
+        CountDownLatch lendo = new CountDownLatch(1);
+        CountDownLatch confirmada = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            lendo.countDown();
+            assertTrue(confirmada.await(10, TimeUnit.SECONDS));
+            return Optional.of(chave);
+        }).when(delegate).buscarPorId(chave.getId());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        Future<?> leitura;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            repository.inativar(chave.getId(), LocalDateTime.now());
+            leitura = executor.submit(() -> repository.buscarPorId(chave.getId()));
+            assertTrue(lendo.await(10, TimeUnit.SECONDS));
+            confirmarTransacao();
+            confirmada.countDown();
+            leitura.get(10, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertNull(repository.getCachePorId().getIfPresent(chave.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve ler do banco dentro de uma transação de escrita, sem usar a entrada desatualizada do cache")
+    void deveIgnorarCacheEmTransacaoDeEscrita() {
+        // Given
+        ChavePix alterada = inativa(chave);
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave), Optional.of(alterada));
+        repository.buscarPorId(chave.getId());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        Optional<ChavePix> lida;
+        try {
+            lida = repository.buscarPorId(chave.getId());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertEquals(alterada.getVersao(), lida.orElseThrow().getVersao());
+        verify(delegate, times(2)).buscarPorId(chave.getId());
+        // a leitura da transação de escrita não substitui a entrada
+        assertEquals(chave.getVersao(), repository.getCachePorId().getIfPresent(chave.getId()).getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve expirar a entrada após o tempo configurado")
+    void deveExpirarEntradaAposTempoConfigurado() {
+        // Given
+        when(delegate.buscarPorId(chave.getId())).thenReturn(Optional.of(chave));
+        repository.buscarPorId(chave.getId());
+
+        // When
+        relogio.addAndGet(Duration.ofMinutes(6).toNanos());
+        repository.buscarPorId(chave.getId());
+
+        // Then
+        verify(delegate, times(2)).buscarPorId(chave.getId());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo e contar as remoções")
+    void deveRespeitarTamanhoMaximo() {
+        // Given
+        List<ChavePix> chaves = List.of(createChave(), createChave(), createChave());
+        chaves.forEach(c -> when(delegate.buscarPorId(c.getId())).thenReturn(Optional.of(c)));
+
+        // When
+        chaves.forEach(c -> repository.buscarPorId(c.getId()));
+        repository.getCachePorId().cleanUp();
+
+        // Then
+        assertTrue(repository.getCachePorId().estimatedSize() <= 2);
+        assertTrue(repository.estatisticas().evictionCount() >= 1);
+    }
+
+    private static void emOutraThread(Runnable acao) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(acao).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void confirmarTransacao() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static ChavePix inativa(ChavePix chave) {
+        return new ChavePix(chave.getId(), chave.getTipoChave(), chave.getValorChave(), chave.getTipoConta(),
+                chave.getTipoPessoa(), chave.getNumeroAgencia(), chave.getNumeroConta(), chave.getNomeCorrentista(),
+                chave.getSobrenomeCorrentista(), chave.getDataHoraInclusao(), LocalDateTime.now(), chave.getVersao() + 1);
+    }
+
+    private ChavePix createChave() {
+        return new ChavePix(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "João", "Silva");
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.chavepix.adapters.out.cache;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingPorValorChavePixRepository - Testes Unitários")
+public class CachingPorValorChavePixRepositoryTest {
+
+    @Mock
+    private ChavePixRepository delegate;
+
+    private final AtomicLong relogio = new AtomicLong();
+    private CachingPorValorChavePixRepository repository;
+    private ChavePix chave;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingPorValorChavePixRepository(delegate, 10, Duration.ofMinutes(1), Duration.ofSeconds(5), relogio::get);
+        chave = createChave();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o repository apenas na primeira resolução do valor")
+    void deveConsultarRepositoryApenasNaPrimeiraResolucao() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+
+        // When
+        repository.buscarPorValor("joao@teste.com");
+        Optional<ChavePix> segunda = repository.buscarPorValor("joao@teste.com");
+
+        // Then
+        assertEquals(chave.getId(), segunda.orElseThrow().getId());
+        verify(delegate, times(1)).buscarPorValor("joao@teste.com");
+        assertEquals(1, repository.estatisticas().hitCount());
+    }
+
+    @Test
+    @DisplayName("Deve resolver no banco dentro de uma transação de escrita, sem usar o resultado em cache")
+    void deveIgnorarCacheEmTransacaoDeEscrita() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.empty(), Optional.of(chave));
+        repository.buscarPorValor("joao@teste.com");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        Optional<ChavePix> resolvida;
+        try {
+            resolvida = repository.buscarPorValor("joao@teste.com");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertEquals(chave.getId(), resolvida.orElseThrow().getId());
+        verify(delegate, times(2)).buscarPorValor("joao@teste.com");
+    }
+
+    @Test
+    @DisplayName("Deve guardar resultado negativo apenas pela expiração negativa")
+    void deveGuardarResultadoNegativoPelaExpiracaoNegativa() {
+        // Given
+        when(delegate.buscarPorValor("inexistente@teste.com")).thenReturn(Optional.empty());
+
+        // When
+        repository.buscarPorValor("inexistente@teste.com");
+        Optional<ChavePix> emCache = repository.buscarPorValor("inexistente@teste.com");
+        relogio.addAndGet(Duration.ofSeconds(6).toNanos());
+        repository.buscarPorValor("inexistente@teste.com");
+
+        // Then
+        assertTrue(emCache.isEmpty());
+        verify(delegate, times(2)).buscarPorValor("inexistente@teste.com");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar depois do commit a chave que uma resolução concorrente guardou como ativa")
+    void deveInvalidarAposCommitChaveInativadaGuardadaComoAtiva() throws Exception {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        try {
+            repository.inativar(chave.getId(), LocalDateTime.now());
+            // antes do commit outra thread ainda encontra a chave ativa no banco
+            emOutraThread(() -> repository.buscarPorValor("joao@teste.com"));
+            when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.empty());
+            confirmarTransacao();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertTrue(repository.buscarPorValor("joao@teste.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar depois do commit o valor recém-cadastrado que uma resolução concorrente guardou como inexistente")
+    void deveInvalidarAposCommitValorCadastradoGuardadoComoInexistente() throws Exception {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        try {
+            repository.salvar(chave);
+            emOutraThread(() -> repository.buscarPorValor("joao@teste.com"));
+            when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+            confirmarTransacao();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(chave.getId(), repository.buscarPorValor("joao@teste.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Deve manter resultado positivo além da expiração negativa")
+    void deveManterResultadoPositivoAlemDaExpiracaoNegativa() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+        repository.buscarPorValor("joao@teste.com");
+
+        // When
+        relogio.addAndGet(Duration.ofSeconds(30).toNanos());
+        repository.buscarPorValor("joao@teste.com");
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+        repository.buscarPorValor("joao@teste.com");
+
+        // Then
+        verify(delegate, times(2)).buscarPorValor("joao@teste.com");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o resultado negativo quando a chave é cadastrada")
+    void deveInvalidarResultadoNegativoAoCadastrar() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.empty(), Optional.of(chave));
+        repository.buscarPorValor("joao@teste.com");
+
+        // When
+        repository.salvarTodos(List.of(chave));
+        Optional<ChavePix> resolvida = repository.buscarPorValor("joao@teste.com");
+
+        // Then
+        assertTrue(resolvida.isPresent());
+        verify(delegate).salvarTodos(List.of(chave));
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o valor anterior quando a chave é alterada")
+    void deveInvalidarValorAnteriorAoAlterar() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave), Optional.empty());
+        repository.buscarPorValor("joao@teste.com");
+        ChavePix alterada = repository.buscarPorValor("joao@teste.com").orElseThrow();
+        alterada.atualizarDadosPermitidos(TipoConta.CORRENTE, "novo@teste.com", 1234, 567890, "João", "Silva");
+
+        // When
+        repository.salvar(alterada);
+
+        // Then
+        assertTrue(repository.buscarPorValor("joao@teste.com").isEmpty());
+        verify(delegate, times(2)).buscarPorValor("joao@teste.com");
+    }
+
+    @Test
+    @DisplayName("Deve devolver cópia para que alterações não vazem para o cache")
+    void deveDevolverCopiaDoCache() {
+        // Given
+        when(delegate.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+        repository.buscarPorValor("joao@teste.com");
+
+        // When
+        ChavePix lida = repository.buscarPorValor("joao@teste.com").orElseThrow();
+        lida.atualizarDadosPermitidos(TipoConta.POUPANCA, "outro@teste.com", 1, 2, "Maria", "Souza");
+
+        // Then
+        assertEquals("joao@teste.com", repository.buscarPorValor("joao@teste.com").orElseThrow().getValorChave());
+    }
+
+    private static void emOutraThread(Runnable acao) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(acao).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void confirmarTransacao() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private ChavePix createChave() {
+        return new ChavePix(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "João", "Silva");
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.chavepix.adapters.out.evento;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ArquivoPublicadorEventoChavePix - Testes Unitários")
+public class ArquivoPublicadorEventoChavePixTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve acrescentar uma linha JSON por evento, com o payload sem escape")
+    void deveAcrescentarUmaLinhaPorEvento() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path arquivo = diretorio.resolve("eventos.ndjson");
+        ArquivoPublicadorEventoChavePix publicador = new ArquivoPublicadorEventoChavePix(objectMapper, arquivo.toString());
+        UUID chaveId = UUID.randomUUID();
+
+        // When
+        publicador.publicar(List.of(createEvento(1L, chaveId, "{\"valorChave\":\"a@teste.com\"}")));
+        publicador.publicar(List.of(createEvento(2L, chaveId, "{\"valorChave\":\"b@teste.com\"}")));
+        publicador.fechar();
+
+        // Then
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(2, linhas.size());
+        JsonNode segunda = objectMapper.readTree(linhas.get(1));
+        assertEquals(2L, segunda.get("sequencia").asLong());
+        assertEquals(chaveId.toString(), segunda.get("chaveId").asText());
+        assertEquals("b@teste.com", segunda.get("payload").get("valorChave").asText());
+    }
+
+    private static EventoChavePix createEvento(Long sequencia, UUID chaveId, String payload) {
+        return new EventoChavePix(sequencia, TipoEventoChavePix.CHAVE_ALTERADA, chaveId, 1L, LocalDateTime.now(), payload);
+    }
+}
@@ -0,0 +1,274 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.BatchUpdateException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ChavePixRepositoryImpl.class, EscritasRecentes.class, MessageConfig.class})
+@DisplayName("ChavePixRepositoryImpl - Testes de Integração")
+public class ChavePixRepositoryImplTest {
+
+    @Autowired
+    private ChavePixRepositoryImpl repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar chave nova com um único INSERT, sem SELECT prévio")
+    void deveCadastrarComUmUnicoInsert() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com");
+
+        // When
+        repository.salvar(chave);
+        entityManager.flush();
+
+        // Then
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getEntityInsertCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve alterar chave com um único UPDATE direcionado")
+    void deveAlterarComUmUnicoUpdate() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com");
+        repository.salvar(chave);
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas.clear();
+
+        // When
+        chave.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 4321, 98765, "João", "Souza");
+        repository.atualizar(chave);
+
+        // Then
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+
+        ChavePix alterada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertEquals("novo@teste.com", alterada.getValorChave());
+        assertEquals(TipoConta.POUPANCA, alterada.getTipoConta());
+        assertEquals(98765, alterada.getNumeroConta());
+        assertEquals("Souza", alterada.getSobrenomeCorrentista());
+    }
+
+    @Test
+    @DisplayName("Deve gravar só a primeira de duas alterações feitas sobre a mesma versão")
+    void deveRejeitarAlteracaoSobreVersaoDesatualizada() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com");
+        repository.salvar(chave);
+        entityManager.flush();
+        ChavePix primeiraLeitura = repository.buscarPorId(chave.getId()).orElseThrow();
+        ChavePix segundaLeitura = repository.buscarPorId(chave.getId()).orElseThrow();
+
+        // When
+        primeiraLeitura.atualizarDadosPermitidos(TipoConta.POUPANCA, "primeira@teste.com", 1234, 567890, "João", "Silva");
+        segundaLeitura.atualizarDadosPermitidos(TipoConta.CORRENTE, "segunda@teste.com", 1234, 567890, "João", "Silva");
+        boolean primeira = repository.atualizar(primeiraLeitura);
+        boolean segunda = repository.atualizar(segundaLeitura);
+
+        // Then
+        assertTrue(primeira);
+        assertFalse(segunda);
+        assertEquals(1L, primeiraLeitura.getVersao());
+        ChavePix gravada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertEquals("primeira@teste.com", gravada.getValorChave());
+        assertEquals(1L, gravada.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve inativar chave uma única vez e liberar o valor para novo cadastro")
+    void deveInativarChaveELiberarValor() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com");
+        repository.salvar(chave);
+        entityManager.flush();
+        estatisticas.clear();
+
+        // When
+        boolean primeira = repository.inativar(chave.getId(), LocalDateTime.now());
+        boolean segunda = repository.inativar(chave.getId(), LocalDateTime.now());
+
+        // Then
+        assertTrue(primeira);
+        assertFalse(segunda);
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertTrue(repository.buscarPorId(chave.getId()).orElseThrow().estaInativa());
+        assertFalse(repository.chaveJaExiste("joao@teste.com"));
+        assertEquals(Map.of(), repository.contarChavesAtivasPorTipo(1234, 567890));
+
+        repository.salvar(createChave("joao@teste.com"));
+        assertTrue(repository.chaveJaExiste("joao@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve contar por tipo só as chaves ativas da conta, numa única consulta agrupada")
+    void deveContarChavesAtivasPorTipo() {
+        // Given
+        repository.salvar(createChave("joao@teste.com"));
+        repository.salvar(createChave("maria@teste.com"));
+        repository.salvar(new ChavePix(TipoChave.CELULAR, "+5511999999999", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1234, 567890, "João", "Silva"));
+        ChavePix inativa = createChave("antiga@teste.com");
+        repository.salvar(inativa);
+        repository.salvar(new ChavePix(TipoChave.EMAIL, "outra@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1234, 111111, "Ana", "Souza"));
+        repository.inativar(inativa.getId(), LocalDateTime.now());
+        entityManager.flush();
+        estatisticas.clear();
+
+        // When
+        Map<TipoChave, Long> quantidades = repository.contarChavesAtivasPorTipo(1234, 567890);
+
+        // Then
+        assertEquals(Map.of(TipoChave.EMAIL, 2L, TipoChave.CELULAR, 1L), quantidades);
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração lida antes da inativação e avançar a versão ao inativar")
+    void deveRecusarAlteracaoLidaAntesDaInativacao() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com");
+        repository.salvar(chave);
+        entityManager.flush();
+        ChavePix lida = repository.buscarPorId(chave.getId()).orElseThrow();
+
+        // When
+        repository.inativar(chave.getId(), LocalDateTime.now());
+        lida.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1234, 567890, "João", "Souza");
+        boolean atualizada = repository.atualizar(lida);
+
+        // Then
+        assertFalse(atualizada);
+        ChavePix gravada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertTrue(gravada.estaInativa());
+        assertEquals("joao@teste.com", gravada.getValorChave());
+        assertEquals(1L, gravada.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote sem as chaves cujo valor já foi cadastrado, em vez de recusá-lo inteiro")
+    void deveGravarLoteSemAsChavesDeValorExistente() {
+        // Given
+        repository.salvar(createChave("b@teste.com"));
+        entityManager.flush();
+        // o valor repetido dentro do lote só é percebido na gravação uma a uma
+        List<ChavePix> lote = List.of(createChave("a@teste.com"), createChave("b@teste.com"),
+                createChave("c@teste.com"), createChave("c@teste.com"), createChave("d@teste.com"));
+
+        // When
+        boolean[] gravadas = repository.salvarTodos(lote);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false, true, false, true}, gravadas);
+        assertEquals(List.of("a@teste.com", "b@teste.com", "c@teste.com", "d@teste.com"), jdbcTemplate.queryForList(
+                "SELECT valor_chave FROM chave_pix ORDER BY valor_chave", String.class));
+        assertTrue(repository.buscarPorId(lote.get(0).getId()).isPresent());
+        assertTrue(repository.buscarPorId(lote.get(1).getId()).isEmpty());
+        assertTrue(repository.buscarPorId(lote.get(3).getId()).isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Deve traduzir a violação de unicidade pela coluna quando o índice tem o nome da partição")
+    void deveTraduzirViolacaoComIndiceDaParticao() {
+        // Given
+        jdbcTemplate.execute("ALTER INDEX uk_chave_pix_valor_chave_ativa RENAME TO chave_pix_p3_valor_chave_idx");
+        try {
+            ChavePix existente = createChave("joao@teste.com");
+            repository.salvar(existente);
+            ChavePix outra = createChave("outra@teste.com");
+            repository.salvar(outra);
+
+            // When & Then
+            assertChaveExistente(() -> repository.salvar(createChave("joao@teste.com")));
+            assertArrayEquals(new boolean[]{false}, repository.salvarTodos(List.of(createChave("joao@teste.com"))));
+            outra.atualizarDadosPermitidos(TipoConta.CORRENTE, "joao@teste.com", 1234, 567890, "João", "Silva");
+            assertChaveExistente(() -> repository.atualizar(outra));
+        } finally {
+            jdbcTemplate.execute("ALTER INDEX chave_pix_p3_valor_chave_idx RENAME TO uk_chave_pix_valor_chave_ativa");
+            jdbcTemplate.update("DELETE FROM chave_pix");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer a violação do índice de partição do PostgreSQL e ignorar a da chave primária")
+    void deveReconhecerViolacaoDoPostgreSqlParticionado() {
+        // Given
+        PSQLException particao = erroPostgreSql("chave_pix_p3_valor_chave_idx", "Key (valor_chave)=(joao@teste.com) already exists.");
+        PSQLException chavePrimaria = erroPostgreSql("chave_pix_p3_pkey", "Key (id, valor_chave)=(4653de7c-a52f-4479-9786-af501b97a5e3, joao@teste.com) already exists.");
+        BatchUpdateException lote = new BatchUpdateException("Batch entry 0 INSERT INTO chave_pix was aborted", "23505", new int[0]);
+        lote.setNextException(particao);
+
+        // When & Then
+        assertTrue(ChavePixRepositoryImpl.violaValorChave(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("insert", particao, "chave_pix_p3_valor_chave_idx"))));
+        assertTrue(ChavePixRepositoryImpl.violaValorChave(new DuplicateKeyException("batch", lote)));
+        assertFalse(ChavePixRepositoryImpl.violaValorChave(new DataIntegrityViolationException("insert",
+                new ConstraintViolationException("insert", chavePrimaria, "chave_pix_p3_pkey"))));
+    }
+
+    /**
+     * Campos do ErrorResponse do protocolo como o PostgreSQL os envia para uma violação na partição chave_pix_p3.
+     */
+    private static PSQLException erroPostgreSql(String indice, String detalhe) {
+        return new PSQLException(new ServerErrorMessage("SERROR\0VERROR\0C23505\0Mduplicate key value violates unique "
+                + "constraint \"" + indice + "\"\0D" + detalhe + "\0spublic\0tchave_pix_p3\0n" + indice + "\0"));
+    }
+
+    private void assertChaveExistente(Executable operacao) {
+        BadRequestException exception = assertThrows(BadRequestException.class, operacao);
+        assertEquals(CHAVE_EXISTENTE, exception.getResponseBodyCode());
+    }
+
+    private ChavePix createChave(String valorChave) {
+        return new ChavePix(TipoChave.EMAIL, valorChave, TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "João", "Silva");
+    }
+}
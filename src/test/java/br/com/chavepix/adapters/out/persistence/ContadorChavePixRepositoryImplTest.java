@@ -0,0 +1,118 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ContadorChavePixRepositoryImpl.class)
+@DisplayName("ContadorChavePixRepositoryImpl - Testes de Integração")
+public class ContadorChavePixRepositoryImplTest {
+
+    private static final ContaBancaria CONTA = new ContaBancaria(1234, 567890);
+
+    @Autowired
+    private ContadorChavePixRepositoryImpl repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM chave_pix_contador_conta");
+    }
+
+    @Test
+    @DisplayName("Deve reservar até o limite e recusar a partir dele sem alterar o contador")
+    void deveReservarAteOLimite() {
+        // Given
+        repository.inicializar(CONTA, Map.of(TipoChave.CPF, 1L));
+
+        // When
+        boolean primeira = repository.reservar(createChave(TipoChave.EMAIL), 3);
+        boolean segunda = repository.reservar(createChave(TipoChave.CELULAR), 3);
+        boolean terceira = repository.reservar(createChave(TipoChave.EMAIL), 3);
+
+        // Then
+        assertTrue(primeira);
+        assertTrue(segunda);
+        assertFalse(terceira);
+        assertEquals(Map.of("QUANTIDADE", 3, "QUANTIDADE_CPF", 1, "QUANTIDADE_EMAIL", 1, "QUANTIDADE_CELULAR", 1),
+                contador("quantidade", "quantidade_cpf", "quantidade_email", "quantidade_celular"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a reserva de conta sem contador e manter o contador existente ao inicializar de novo")
+    void deveInicializarUmaVez() {
+        // Given
+        boolean semContador = repository.reservar(createChave(TipoChave.EMAIL), 5);
+
+        // When
+        repository.inicializar(CONTA, Map.of(TipoChave.EMAIL, 2L));
+        repository.inicializar(CONTA, Map.of(TipoChave.EMAIL, 4L));
+
+        // Then
+        assertFalse(semContador);
+        assertTrue(repository.existe(CONTA));
+        assertEquals(Map.of("QUANTIDADE", 2, "QUANTIDADE_EMAIL", 2), contador("quantidade", "quantidade_email"));
+    }
+
+    @Test
+    @DisplayName("Deve reservar o lote na ordem e recusar só as chaves que passam do limite")
+    void deveReservarLoteNaOrdem() {
+        // Given
+        ContaBancaria outraConta = new ContaBancaria(4321, 111111);
+        repository.inicializar(CONTA, Map.of(TipoChave.EMAIL, 4L));
+        repository.inicializar(outraConta, Map.of());
+        ChavePix daOutraConta = new ChavePix(TipoChave.CPF, "12345678901", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                4321, 111111, "Maria", "Souza");
+
+        // When
+        boolean[] reservadas = repository.reservarTodas(
+                List.of(createChave(TipoChave.EMAIL), daOutraConta, createChave(TipoChave.CPF)), chave -> 5);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, true, false}, reservadas);
+        assertEquals(Set.of(new ContaBancaria(1, 1)),
+                repository.buscarAusentes(List.of(CONTA, outraConta, new ContaBancaria(1, 1))));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a vaga do tipo da chave")
+    void deveLiberarVaga() {
+        // Given
+        repository.inicializar(CONTA, Map.of(TipoChave.EMAIL, 2L, TipoChave.ALEATORIA, 1L));
+
+        // When
+        repository.liberar(CONTA, TipoChave.ALEATORIA);
+
+        // Then
+        assertEquals(Map.of("QUANTIDADE", 2, "QUANTIDADE_EMAIL", 2, "QUANTIDADE_ALEATORIA", 0),
+                contador("quantidade", "quantidade_email", "quantidade_aleatoria"));
+    }
+
+    private Map<String, Object> contador(String... colunas) {
+        return jdbcTemplate.queryForMap("SELECT " + String.join(", ", colunas)
+                + " FROM chave_pix_contador_conta WHERE numero_agencia = ? AND numero_conta = ?",
+                CONTA.getNumeroAgencia(), CONTA.getNumeroConta());
+    }
+
+    private static ChavePix createChave(TipoChave tipoChave) {
+        return new ChavePix(tipoChave, "joao@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                CONTA.getNumeroAgencia(), CONTA.getNumeroConta(), "Joao", "Silva");
+    }
+}
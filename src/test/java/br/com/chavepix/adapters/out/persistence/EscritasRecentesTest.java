@@ -0,0 +1,71 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EscritasRecentes - Testes Unitários")
+public class EscritasRecentesTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    @DisplayName("Deve reconhecer id, valor e conta gravados dentro da janela")
+    void deveReconhecerEscritaDentroDaJanela() {
+        // Given
+        EscritasRecentes escritas = new EscritasRecentes(Duration.ofSeconds(2), relogio::get);
+        ChavePix chave = createChave();
+
+        // When
+        escritas.registrar(chave);
+
+        // Then
+        assertTrue(escritas.contem(chave.getId()));
+        assertTrue(escritas.contem("joao@teste.com"));
+        assertTrue(escritas.contem(new ContaBancaria(1234, 567890)));
+        assertTrue(escritas.contemAlgum(List.of("outro@teste.com", "joao@teste.com")));
+        assertFalse(escritas.contem("outro@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a escrita depois da janela")
+    void deveEsquecerEscritaDepoisDaJanela() {
+        // Given
+        EscritasRecentes escritas = new EscritasRecentes(Duration.ofSeconds(2), relogio::get);
+        escritas.registrar(createChave());
+
+        // When
+        relogio.addAndGet(Duration.ofSeconds(3).toNanos());
+
+        // Then
+        assertFalse(escritas.contem("joao@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Não deve rastrear nada sem réplica configurada")
+    void naoDeveRastrearSemReplica() {
+        // Given
+        EscritasRecentes escritas = new EscritasRecentes("", Duration.ofSeconds(2));
+
+        // When
+        escritas.registrar(createChave());
+
+        // Then
+        assertFalse(escritas.contem("joao@teste.com"));
+    }
+
+    private ChavePix createChave() {
+        return new ChavePix(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "João", "Silva");
+    }
+}
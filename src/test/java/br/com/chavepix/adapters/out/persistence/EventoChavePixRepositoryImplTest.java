@@ -0,0 +1,70 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(EventoChavePixRepositoryImpl.class)
+@DisplayName("EventoChavePixRepositoryImpl - Testes de Integração")
+public class EventoChavePixRepositoryImplTest {
+
+    @Autowired
+    private EventoChavePixRepositoryImpl repository;
+
+    @Test
+    @DisplayName("Deve devolver os eventos pendentes na ordem de gravação, limitados ao tamanho do lote")
+    void deveBloquearPendentesEmOrdem() {
+        // Given
+        UUID chaveId = UUID.randomUUID();
+        repository.registrar(createEvento(TipoEventoChavePix.CHAVE_CADASTRADA, chaveId, 0L));
+        repository.registrarTodos(List.of(
+                createEvento(TipoEventoChavePix.CHAVE_ALTERADA, chaveId, 1L),
+                createEvento(TipoEventoChavePix.CHAVE_INATIVADA, chaveId, null)
+        ));
+
+        // When
+        List<EventoChavePix> lote = repository.bloquearPendentes(2);
+
+        // Then
+        assertEquals(2, lote.size());
+        assertTrue(lote.get(0).getSequencia() < lote.get(1).getSequencia());
+        assertEquals(TipoEventoChavePix.CHAVE_CADASTRADA, lote.get(0).getTipo());
+        assertEquals(TipoEventoChavePix.CHAVE_ALTERADA, lote.get(1).getTipo());
+        assertEquals(chaveId, lote.get(1).getChaveId());
+        assertEquals(1L, lote.get(1).getVersao());
+        assertEquals("{\"id\":\"" + chaveId + "\"}", lote.get(1).getPayload());
+    }
+
+    @Test
+    @DisplayName("Deve remover só os eventos publicados")
+    void deveRemoverEventosPublicados() {
+        // Given
+        repository.registrarTodos(IntStream.range(0, 5)
+                .mapToObj(i -> createEvento(TipoEventoChavePix.CHAVE_CADASTRADA, UUID.randomUUID(), 0L))
+                .toList());
+        List<EventoChavePix> publicados = repository.bloquearPendentes(3);
+
+        // When
+        repository.remover(publicados.stream().map(EventoChavePix::getSequencia).toList());
+
+        // Then
+        List<EventoChavePix> restantes = repository.bloquearPendentes(10);
+        assertEquals(2, restantes.size());
+        assertTrue(restantes.get(0).getSequencia() > publicados.get(2).getSequencia());
+    }
+
+    private static EventoChavePix createEvento(TipoEventoChavePix tipo, UUID chaveId, Long versao) {
+        return new EventoChavePix(tipo, chaveId, versao, "{\"id\":\"" + chaveId + "\"}");
+    }
+}
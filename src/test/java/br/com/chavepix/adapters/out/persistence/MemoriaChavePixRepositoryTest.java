@@ -0,0 +1,348 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemoriaChavePixRepository - Testes Unitários")
+public class MemoriaChavePixRepositoryTest {
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    private MemoriaChavePixRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(messageConfig.getMessage(anyString())).thenReturn("Chave já cadastrada");
+        repository = new MemoriaChavePixRepository(messageConfig);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a chave e encontrá-la por id, valor, conta e nome")
+    void deveGravarEConsultarPelosIndices() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1201, 123456, "Joao");
+
+        // When
+        repository.salvar(chave);
+
+        // Then
+        assertEquals(chave.getId(), repository.buscarPorId(chave.getId()).orElseThrow().getId());
+        assertEquals(chave.getId(), repository.buscarPorValor("joao@teste.com").orElseThrow().getId());
+        assertEquals(chave.getId(), repository.buscarPorConta(1201, 123456).get(0).getId());
+        assertEquals(chave.getId(), repository.buscarPorNome("Joao", null, 10).get(0).getId());
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1201, 123456));
+        assertTrue(repository.chaveJaExiste("joao@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias, sem expor a chave guardada")
+    void deveEntregarCopias() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+
+        // When
+        repository.buscarPorId(chave.getId()).orElseThrow()
+                .atualizarDadosPermitidos(TipoConta.POUPANCA, "outro@teste.com", 1, 1, "Outro", "Nome");
+        chave.atualizarDadosPermitidos(TipoConta.POUPANCA, "outro@teste.com", 1, 1, "Outro", "Nome");
+
+        // Then
+        ChavePix guardada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertEquals("joao@teste.com", guardada.getValorChave());
+        assertEquals(TipoConta.CORRENTE, guardada.getTipoConta());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar um único cadastro quando o mesmo valor é gravado em paralelo")
+    void deveAceitarUmUnicoCadastroConcorrente() throws Exception {
+        // Given
+        int tentativas = 16;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tentativas);
+
+        // When
+        List<Future<Boolean>> resultados = IntStream.range(0, tentativas)
+                .mapToObj(i -> executor.submit(() -> {
+                    largada.await();
+                    try {
+                        repository.salvar(createChave("joao@teste.com", 1200 + i, 123456, "Joao"));
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                }))
+                .toList();
+        largada.countDown();
+        int aceitos = 0;
+        for (Future<Boolean> resultado : resultados) {
+            aceitos += resultado.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, aceitos);
+        List<ChavePix> todas = new ArrayList<>();
+        repository.percorrerChavesPix(todas::add);
+        assertEquals(1, todas.size());
+    }
+
+    @Test
+    @DisplayName("Deve liberar o valor inativado para novo cadastro")
+    void deveLiberarValorInativado() {
+        // Given
+        ChavePix antiga = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(antiga);
+
+        // When
+        boolean inativada = repository.inativar(antiga.getId(), LocalDateTime.now());
+        boolean repetida = repository.inativar(antiga.getId(), LocalDateTime.now());
+        ChavePix nova = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(nova);
+
+        // Then
+        assertTrue(inativada);
+        assertFalse(repetida);
+        assertTrue(repository.buscarPorId(antiga.getId()).orElseThrow().estaInativa());
+        assertEquals(nova.getId(), repository.buscarPorValor("joao@teste.com").orElseThrow().getId());
+        assertEquals(2, repository.buscarPorConta(1200, 123456).size());
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1200, 123456));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração lida antes da inativação e avançar a versão ao inativar")
+    void deveRecusarAlteracaoLidaAntesDaInativacao() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+        ChavePix mesmaAgencia = repository.buscarPorId(chave.getId()).orElseThrow();
+        ChavePix outraAgencia = repository.buscarPorId(chave.getId()).orElseThrow();
+
+        // When
+        repository.inativar(chave.getId(), LocalDateTime.now());
+        mesmaAgencia.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1200, 123456, "Joao", "Souza");
+        outraAgencia.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1201, 123456, "Joao", "Souza");
+
+        // Then
+        assertFalse(repository.atualizar(mesmaAgencia));
+        assertFalse(repository.atualizar(outraAgencia));
+        ChavePix gravada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertTrue(gravada.estaInativa());
+        assertEquals("joao@teste.com", gravada.getValorChave());
+        assertEquals(1200, gravada.getNumeroAgencia());
+        assertEquals(1L, gravada.getVersao());
+        assertTrue(repository.buscarPorValor("novo@teste.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reindexar a chave alterada e recusar a versão desatualizada")
+    void deveReindexarChaveAlterada() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+        ChavePix desatualizada = repository.buscarPorId(chave.getId()).orElseThrow();
+        chave.atualizarDadosPermitidos(TipoConta.POUPANCA, "joao.novo@teste.com", 1201, 654321, "Joao", "Souza");
+
+        // When
+        boolean alterada = repository.atualizar(chave);
+        boolean recusada = repository.atualizar(desatualizada);
+
+        // Then
+        assertTrue(alterada);
+        assertFalse(recusada);
+        assertEquals(1L, chave.getVersao());
+        assertEquals(1L, repository.buscarPorId(chave.getId()).orElseThrow().getVersao());
+        assertTrue(repository.buscarPorConta(1200, 123456).isEmpty());
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1201, 654321));
+        assertFalse(repository.chaveJaExiste("joao@teste.com"));
+        assertTrue(repository.chaveJaExiste("joao.novo@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve paginar a consulta por nome na ordem do id")
+    void devePaginarConsultaPorNome() {
+        // Given
+        List<ChavePix> chaves = IntStream.range(0, 9)
+                .mapToObj(i -> createChave("chave" + i + "@teste.com", 1200 + i, 100000 + i, "Carolina"))
+                .toList();
+        repository.salvarTodos(chaves);
+        List<UUID> esperados = chaves.stream().map(ChavePix::getId)
+                .sorted(ShardedChavePixRepository.ORDEM_UUID).toList();
+
+        // When
+        List<ChavePix> primeiraPagina = repository.buscarPorNome("Carolina", null, 4);
+        List<ChavePix> segundaPagina = repository.buscarPorNome("Carolina", primeiraPagina.get(3).getId(), 4);
+
+        // Then
+        assertEquals(esperados.subList(0, 4), primeiraPagina.stream().map(ChavePix::getId).toList());
+        assertEquals(esperados.subList(4, 8), segundaPagina.stream().map(ChavePix::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote sem as chaves de valor já existente")
+    void deveGravarLoteSemValorExistente() {
+        // Given
+        repository.salvar(createChave("b@teste.com", 1202, 123456, "Joao"));
+        List<ChavePix> lote = List.of(
+                createChave("a@teste.com", 1200, 123456, "Joao"),
+                createChave("b@teste.com", 1201, 123456, "Joao")
+        );
+
+        // When
+        boolean[] gravadas = repository.salvarTodos(lote);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false}, gravadas);
+        assertTrue(repository.chaveJaExiste("a@teste.com"));
+        assertTrue(repository.buscarPorId(lote.get(1).getId()).isEmpty());
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1200, 123456));
+        assertEquals(Map.of(), repository.contarChavesAtivasPorTipo(1201, 123456));
+    }
+
+    @Test
+    @DisplayName("Deve desfazer as gravações de uma transação revertida")
+    void deveDesfazerTransacaoRevertida() {
+        // Given
+        ChavePix alterada = createChave("alterada@teste.com", 1200, 123456, "Joao");
+        ChavePix inativada = createChave("inativada@teste.com", 1200, 123456, "Joao");
+        repository.salvarTodos(List.of(alterada, inativada));
+        TransactionTemplate transacao = new TransactionTemplate(new MemoriaTransactionManager());
+
+        // When
+        transacao.executeWithoutResult(status -> {
+            repository.salvar(createChave("nova@teste.com", 1200, 123456, "Joao"));
+            alterada.atualizarDadosPermitidos(TipoConta.POUPANCA, "alterada.nova@teste.com", 1201, 1, "Maria", "Souza");
+            repository.atualizar(alterada);
+            repository.inativar(inativada.getId(), LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertFalse(repository.chaveJaExiste("nova@teste.com"));
+        assertFalse(repository.chaveJaExiste("alterada.nova@teste.com"));
+        assertEquals("alterada@teste.com", repository.buscarPorId(alterada.getId()).orElseThrow().getValorChave());
+        assertFalse(repository.buscarPorId(inativada.getId()).orElseThrow().estaInativa());
+        assertEquals(Map.of(TipoChave.EMAIL, 2L), repository.contarChavesAtivasPorTipo(1200, 123456));
+        assertTrue(repository.buscarPorNome("Maria", null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve mostrar as gravações de uma transação só a ela até o commit, reservando o valor na hora")
+    void deveMostrarGravacoesSoAposCommit() throws Exception {
+        // Given
+        ChavePix nova = createChave("nova@teste.com", 1200, 123456, "Joao");
+        TransactionTemplate transacao = new TransactionTemplate(new MemoriaTransactionManager());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Callable<Boolean> visivelDeFora = () -> repository.buscarPorId(nova.getId()).isPresent()
+                || repository.chaveJaExiste("nova@teste.com") || !repository.buscarPorConta(1200, 123456).isEmpty();
+
+        // When
+        boolean[] visivelNaTransacao = new boolean[1];
+        boolean[] visivelAntesDoCommit = new boolean[1];
+        BadRequestException[] repetida = new BadRequestException[1];
+        transacao.executeWithoutResult(status -> {
+            repository.salvar(nova);
+            visivelNaTransacao[0] = repository.buscarPorValor("nova@teste.com").isPresent();
+            try {
+                visivelAntesDoCommit[0] = executor.submit(visivelDeFora).get(10, TimeUnit.SECONDS);
+                repetida[0] = executor.submit(() -> assertThrows(BadRequestException.class,
+                        () -> repository.salvar(createChave("nova@teste.com", 1201, 123456, "Maria"))))
+                        .get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        boolean visivelAposCommit = executor.submit(visivelDeFora).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertTrue(visivelNaTransacao[0]);
+        assertFalse(visivelAntesDoCommit[0]);
+        assertEquals(CHAVE_EXISTENTE, repetida[0].getResponseBodyCode());
+        assertTrue(visivelAposCommit);
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1200, 123456));
+    }
+
+    @Test
+    @DisplayName("Deve contar por tipo só as chaves ativas confirmadas da conta")
+    void deveContarPorTipoSoChavesConfirmadas() {
+        // Given
+        ChavePix inativada = createChave("inativada@teste.com", 1200, 123456, "Joao");
+        repository.salvarTodos(List.of(inativada, createChave("ativa@teste.com", 1200, 123456, "Joao"),
+                createChave("outra@teste.com", 1201, 123456, "Joao")));
+        TransactionTemplate transacao = new TransactionTemplate(new MemoriaTransactionManager());
+
+        // When
+        Map<TipoChave, Long> antesDoCommit = transacao.execute(status -> {
+            repository.salvar(new ChavePix(TipoChave.CELULAR, "+5511999999999", TipoConta.CORRENTE,
+                    TipoPessoa.PESSOA_FISICA, 1200, 123456, "Joao", "Silva"));
+            repository.inativar(inativada.getId(), LocalDateTime.now());
+            return repository.contarChavesAtivasPorTipo(1200, 123456);
+        });
+
+        // Then
+        assertEquals(Map.of(TipoChave.EMAIL, 2L), antesDoCommit);
+        assertEquals(Map.of(TipoChave.EMAIL, 1L, TipoChave.CELULAR, 1L),
+                repository.contarChavesAtivasPorTipo(1200, 123456));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração de uma chave com inativação ainda não confirmada por outra transação")
+    void deveRecusarAlteracaoDeChaveComEscritaPendente() throws Exception {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+        ChavePix lida = repository.buscarPorId(chave.getId()).orElseThrow();
+        lida.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1200, 123456, "Joao", "Souza");
+        TransactionTemplate transacao = new TransactionTemplate(new MemoriaTransactionManager());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        boolean[] alteradaEmParalelo = new boolean[1];
+        boolean[] ativaParaOutros = new boolean[1];
+        transacao.executeWithoutResult(status -> {
+            repository.inativar(chave.getId(), LocalDateTime.now());
+            try {
+                alteradaEmParalelo[0] = executor.submit(() -> repository.atualizar(lida)).get(10, TimeUnit.SECONDS);
+                ativaParaOutros[0] = executor.submit(() -> repository.chaveJaExiste("joao@teste.com"))
+                        .get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        executor.shutdown();
+
+        // Then
+        assertFalse(alteradaEmParalelo[0]);
+        assertTrue(ativaParaOutros[0]);
+        ChavePix gravada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertTrue(gravada.estaInativa());
+        assertEquals("joao@teste.com", gravada.getValorChave());
+        assertFalse(repository.chaveJaExiste("novo@teste.com"));
+        assertFalse(repository.chaveJaExiste("joao@teste.com"));
+    }
+
+    private static ChavePix createChave(String valorChave, Integer agencia, Integer conta, String nome) {
+        return new ChavePix(TipoChave.EMAIL, valorChave, TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                agencia, conta, nome, "Silva");
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.RegistroAuditoria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(RegistroAuditoriaRepositoryImpl.class)
+@DisplayName("RegistroAuditoriaRepositoryImpl - Testes de Integração")
+public class RegistroAuditoriaRepositoryImplTest {
+
+    @Autowired
+    private RegistroAuditoriaRepositoryImpl repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve acrescentar os registros na ordem do lote")
+    void deveGravarRegistrosEmOrdem() {
+        // Given
+        UUID chaveId = UUID.randomUUID();
+        LocalDateTime dataHora = LocalDateTime.of(2024, 5, 10, 14, 30);
+
+        // When
+        repository.gravarTodos(List.of(
+                new RegistroAuditoria(OperacaoAuditoria.CADASTRO, chaveId, "maria", dataHora),
+                new RegistroAuditoria(OperacaoAuditoria.CONSULTA_POR_ID, chaveId, "joao", dataHora.plusMinutes(1))
+        ));
+
+        // Then
+        List<Map<String, Object>> linhas = jdbcTemplate.queryForList(
+                "SELECT operacao, chave_id, usuario FROM chave_pix_auditoria ORDER BY sequencia");
+        assertEquals(2, linhas.size());
+        assertEquals("CADASTRO", linhas.get(0).get("operacao"));
+        assertEquals(chaveId, linhas.get(1).get("chave_id"));
+        assertEquals("joao", linhas.get(1).get("usuario"));
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.chavepix.adapters.out.persistence;
+
+import br.com.chavepix.config.application.FabricaThreads;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.config.application.ShardingConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShardedChavePixRepository - Testes de Integração")
+public class ShardedChavePixRepositoryTest {
+
+    private static final int QUANTIDADE_SHARDS = 3;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    private List<JdbcTemplate> bancosShards;
+    private ShardedChavePixRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(messageConfig.getMessage(anyString())).thenReturn("Chave já cadastrada");
+
+        List<DataSource> shards = IntStream.range(0, QUANTIDADE_SHARDS)
+                .mapToObj(indice -> criarBanco("shard" + indice, ShardingConfig.SCHEMA_SHARD))
+                .toList();
+        DataSource diretorio = criarBanco("diretorio", ShardingConfig.SCHEMA_DIRETORIO);
+
+        bancosShards = shards.stream().map(JdbcTemplate::new).toList();
+        repository = new ShardedChavePixRepository(shards, new DiretorioChavePix(diretorio), messageConfig,
+                new FabricaThreads(false).criar("chave-pix-shard-"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Deve gravar a chave no shard da agência e consultar a conta só nesse shard")
+    void deveGravarNoShardDaAgencia() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1201, 123456, "Joao");
+
+        // When
+        repository.salvar(chave);
+
+        // Then
+        assertEquals(List.of(0, 1, 0), contagemPorShard());
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), repository.contarChavesAtivasPorTipo(1201, 123456));
+        assertEquals(chave.getId(), repository.buscarPorConta(1201, 123456).get(0).getId());
+        assertEquals(chave.getId(), repository.buscarPorId(chave.getId()).orElseThrow().getId());
+        assertEquals(chave.getId(), repository.buscarPorValor("joao@teste.com").orElseThrow().getId());
+        assertTrue(repository.chaveJaExiste("joao@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valor já cadastrado em outro shard")
+    void deveRejeitarValorDeOutroShard() {
+        // Given
+        repository.salvar(createChave("joao@teste.com", 1200, 123456, "Joao"));
+
+        // When
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> repository.salvar(createChave("joao@teste.com", 1201, 654321, "Maria")));
+
+        // Then
+        assertEquals(CHAVE_EXISTENTE, exception.getResponseBodyCode());
+        assertEquals(List.of(1, 0, 0), contagemPorShard());
+    }
+
+    @Test
+    @DisplayName("Deve liberar o valor inativado para cadastro em outro shard")
+    void deveLiberarValorInativado() {
+        // Given
+        ChavePix antiga = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(antiga);
+
+        // When
+        boolean inativada = repository.inativar(antiga.getId(), LocalDateTime.now());
+        boolean repetida = repository.inativar(antiga.getId(), LocalDateTime.now());
+        ChavePix nova = createChave("joao@teste.com", 1202, 654321, "Joao");
+        repository.salvar(nova);
+
+        // Then
+        assertTrue(inativada);
+        assertFalse(repetida);
+        assertTrue(repository.buscarPorId(antiga.getId()).orElseThrow().estaInativa());
+        assertEquals(nova.getId(), repository.buscarPorValor("joao@teste.com").orElseThrow().getId());
+        assertEquals(List.of(1, 0, 1), contagemPorShard());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração lida antes da inativação e avançar a versão ao inativar")
+    void deveRecusarAlteracaoLidaAntesDaInativacao() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+        ChavePix mesmaAgencia = repository.buscarPorId(chave.getId()).orElseThrow();
+        ChavePix outraAgencia = repository.buscarPorId(chave.getId()).orElseThrow();
+
+        // When
+        repository.inativar(chave.getId(), LocalDateTime.now());
+        mesmaAgencia.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1200, 123456, "Joao", "Souza");
+        outraAgencia.atualizarDadosPermitidos(TipoConta.POUPANCA, "novo@teste.com", 1201, 123456, "Joao", "Souza");
+
+        // Then
+        assertFalse(repository.atualizar(mesmaAgencia));
+        assertFalse(repository.atualizar(outraAgencia));
+        ChavePix gravada = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertTrue(gravada.estaInativa());
+        assertEquals("joao@teste.com", gravada.getValorChave());
+        assertEquals(1200, gravada.getNumeroAgencia());
+        assertEquals(1L, gravada.getVersao());
+        assertTrue(repository.buscarPorValor("novo@teste.com").isEmpty());
+        assertEquals(List.of(1, 0, 0), contagemPorShard());
+    }
+
+    @Test
+    @DisplayName("Deve mover a chave para o shard da nova agência ao alterar")
+    void deveMoverChaveAoAlterarAgencia() {
+        // Given
+        ChavePix chave = createChave("joao@teste.com", 1200, 123456, "Joao");
+        repository.salvar(chave);
+        chave.atualizarDadosPermitidos(TipoConta.POUPANCA, "joao.novo@teste.com", 1201, 654321, "Joao", "Souza");
+
+        // When
+        repository.atualizar(chave);
+
+        // Then
+        assertEquals(List.of(0, 1, 0), contagemPorShard());
+        ChavePix movida = repository.buscarPorId(chave.getId()).orElseThrow();
+        assertEquals(1201, movida.getNumeroAgencia());
+        assertEquals(TipoConta.POUPANCA, movida.getTipoConta());
+        assertFalse(repository.chaveJaExiste("joao@teste.com"));
+        assertTrue(repository.chaveJaExiste("joao.novo@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o nome em todos os shards e paginar na ordem do id")
+    void deveConsultarNomeEmTodosOsShards() {
+        // Given
+        List<ChavePix> chaves = IntStream.range(0, 9)
+                .mapToObj(i -> createChave("chave" + i + "@teste.com", 1200 + i, 100000 + i, "Carolina"))
+                .toList();
+        repository.salvarTodos(chaves);
+        List<UUID> esperados = chaves.stream().map(ChavePix::getId)
+                .sorted(ShardedChavePixRepository.ORDEM_UUID).toList();
+
+        // When
+        List<ChavePix> primeiraPagina = repository.buscarPorNome("Carolina", null, 4);
+        List<ChavePix> segundaPagina = repository.buscarPorNome("Carolina", primeiraPagina.get(3).getId(), 4);
+
+        // Then
+        assertEquals(List.of(3, 3, 3), contagemPorShard());
+        assertEquals(esperados.subList(0, 4), primeiraPagina.stream().map(ChavePix::getId).toList());
+        assertEquals(esperados.subList(4, 8), segundaPagina.stream().map(ChavePix::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote sem as chaves de valor já existente em outro shard")
+    void deveGravarLoteSemValorExistente() {
+        // Given
+        repository.salvar(createChave("b@teste.com", 1202, 123456, "Joao"));
+        List<ChavePix> lote = List.of(
+                createChave("a@teste.com", 1200, 123456, "Joao"),
+                createChave("b@teste.com", 1201, 123456, "Joao")
+        );
+
+        // When
+        boolean[] gravadas = repository.salvarTodos(lote);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false}, gravadas);
+        assertEquals(List.of(1, 0, 1), contagemPorShard());
+        assertTrue(repository.chaveJaExiste("a@teste.com"));
+        assertTrue(repository.buscarPorId(lote.get(1).getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve contar por tipo as chaves ativas da conta no shard da agência")
+    void deveContarChavesAtivasPorTipoNoShard() {
+        // Given
+        List<ChavePix> lote = List.of(
+                createChave("a@teste.com", 1200, 123456, "Joao"),
+                createChave("b@teste.com", 1200, 123456, "Joao"),
+                createChave("c@teste.com", 1201, 654321, "Maria")
+        );
+        repository.salvarTodos(lote);
+        repository.inativar(lote.get(1).getId(), LocalDateTime.now());
+
+        // When
+        Map<TipoChave, Long> quantidades = repository.contarChavesAtivasPorTipo(1200, 123456);
+
+        // Then
+        assertEquals(Map.of(TipoChave.EMAIL, 1L), quantidades);
+        assertEquals(Map.of(), repository.contarChavesAtivasPorTipo(1202, 111111));
+    }
+
+    private List<Integer> contagemPorShard() {
+        return bancosShards.stream()
+                .map(banco -> banco.queryForObject("select count(*) from chave_pix", Integer.class))
+                .toList();
+    }
+
+    private static DataSource criarBanco(String nome, String schema) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource(schema)).execute(dataSource);
+        return dataSource;
+    }
+
+    private static ChavePix createChave(String valorChave, Integer agencia, Integer conta, String nome) {
+        return new ChavePix(TipoChave.EMAIL, valorChave, TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                agencia, conta, nome, "Silva");
+    }
+}
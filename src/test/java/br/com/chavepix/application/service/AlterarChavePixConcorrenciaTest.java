@@ -0,0 +1,120 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.out.persistence.ChavePixJpaRepository;
+import br.com.chavepix.adapters.out.persistence.ChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.ContadorChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.EscritasRecentes;
+import br.com.chavepix.adapters.out.persistence.EventoChavePixRepositoryImpl;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.ConflictException;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_ALTERADA_CONCORRENTEMENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@DataJpaTest(properties = "chave-pix.cadastro.pre-validar-existencia=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CadastrarChavePixService.class, AlterarChavePixService.class, InativarChavePixService.class,
+        ChavePixValidator.class, ChavePixResponseMapper.class, ChavePixRepositoryImpl.class, EscritasRecentes.class,
+        MessageConfig.class, EventoChavePixRepositoryImpl.class, EventoChavePixMapper.class,
+        JacksonAutoConfiguration.class, ContadorChavePixRepositoryImpl.class})
+@DisplayName("AlterarChavePixService - Testes de Concorrência")
+public class AlterarChavePixConcorrenciaTest {
+
+    @Autowired
+    private CadastrarChavePixService cadastrarService;
+
+    @Autowired
+    private AlterarChavePixService alterarService;
+
+    @Autowired
+    private InativarChavePixService inativarService;
+
+    @SpyBean
+    private ChavePixValidator validator;
+
+    @Autowired
+    private ChavePixJpaRepository jpaRepository;
+
+    @MockBean
+    private AuditoriaChavePix auditoria;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM chave_pix_evento");
+        jdbcTemplate.update("DELETE FROM chave_pix_contador_conta");
+    }
+
+    @Test
+    @DisplayName("Deve recusar a alteração que leu a chave antes de uma inativação concorrente")
+    void deveRecusarAlteracaoLidaAntesDaInativacao() throws Exception {
+        // Given
+        UUID id = cadastrarService.cadastrarChave(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1234, 567890, "João", "Silva").getId();
+        CountDownLatch lida = new CountDownLatch(1);
+        CountDownLatch inativada = new CountDownLatch(1);
+        // a alteração para entre a leitura da chave e a gravação até a inativação ser confirmada
+        doAnswer(invocacao -> {
+            lida.countDown();
+            assertTrue(inativada.await(10, TimeUnit.SECONDS));
+            return invocacao.callRealMethod();
+        }).when(validator).validarCampos(any(), anyString(), any(), any(), any(), anyString(), anyString());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            Future<?> alteracao = executor.submit(() -> alterarService.alterarChave(id, null, TipoChave.EMAIL,
+                    "novo@teste.com", TipoConta.POUPANCA, 1234, 567890, "João", "Souza"));
+            assertTrue(lida.await(10, TimeUnit.SECONDS));
+            inativarService.inativarChave(id);
+            inativada.countDown();
+
+            // Then
+            ExecutionException erro = assertThrows(ExecutionException.class, () -> alteracao.get(30, TimeUnit.SECONDS));
+            ConflictException conflito = assertInstanceOf(ConflictException.class, erro.getCause());
+            assertEquals(CHAVE_ALTERADA_CONCORRENTEMENTE, conflito.getResponseBodyCode());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> gravada = jdbcTemplate.queryForMap(
+                "SELECT valor_chave, data_hora_inativacao, versao FROM chave_pix WHERE id = ?", id);
+        assertEquals("joao@teste.com", gravada.get("VALOR_CHAVE"));
+        assertNotNull(gravada.get("DATA_HORA_INATIVACAO"));
+        assertEquals(1L, gravada.get("VERSAO"));
+        List<Map<String, Object>> eventos = jdbcTemplate.queryForList(
+                "SELECT tipo, versao FROM chave_pix_evento ORDER BY sequencia");
+        assertEquals(List.of(Map.of("TIPO", "CHAVE_CADASTRADA", "VERSAO", 0L), Map.of("TIPO", "CHAVE_INATIVADA", "VERSAO", 1L)),
+                eventos);
+    }
+}
@@ -2,15 +2,25 @@ package br.com.chavepix.application.service;
 
 import br.com.chavepix.adapters.in.rest.response.AlterarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
 import br.com.chavepix.application.validator.ChavePixValidator;
 import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.ConflictException;
 import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.exceptions.PreconditionFailedException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +32,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Optional;
 import java.util.UUID;
 
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_ALTERADA_CONCORRENTEMENTE;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.VERSAO_CHAVE_DIVERGENTE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +53,15 @@ public class AlterarChavePixServiceTest {
     @Mock
     private ChavePixResponseMapper mapper;
 
+    @Mock
+    private EventoChavePixRepository eventoRepository;
+
+    @Mock
+    private EventoChavePixMapper eventoMapper;
+
+    @Mock
+    private AuditoriaChavePix auditoria;
+
     @InjectMocks
     private AlterarChavePixService service;
 
@@ -68,6 +89,7 @@ public class AlterarChavePixServiceTest {
 
         chavePixMock = mock(ChavePix.class);
         responseMock = mock(AlterarChavePixResponse.class);
+        lenient().when(repository.atualizar(any())).thenReturn(true);
     }
 
     @Test
@@ -78,10 +100,12 @@ public class AlterarChavePixServiceTest {
         when(chavePixMock.estaInativa()).thenReturn(false);
         when(chavePixMock.getTipoChave()).thenReturn(tipoChave);
         when(mapper.toAlterarResponse(chavePixMock)).thenReturn(responseMock);
+        EventoChavePix evento = new EventoChavePix(TipoEventoChavePix.CHAVE_ALTERADA, id, 1L, "{}");
+        when(eventoMapper.toAlterada(chavePixMock)).thenReturn(evento);
 
         // When
         AlterarChavePixResponse result = service.alterarChave(
-                id, tipoChave, valorChave, tipoConta, numeroAgencia,
+                id, null, tipoChave, valorChave, tipoConta, numeroAgencia,
                 numeroConta, nomeCorrentista, sobrenomeCorrentista
         );
 
@@ -96,7 +120,9 @@ public class AlterarChavePixServiceTest {
                 numeroConta, nomeCorrentista, sobrenomeCorrentista);
         verify(chavePixMock).atualizarDadosPermitidos(tipoConta, valorChave, numeroAgencia,
                 numeroConta, nomeCorrentista, sobrenomeCorrentista);
-        verify(repository).salvar(chavePixMock);
+        verify(repository).atualizar(chavePixMock);
+        verify(eventoRepository).registrar(evento);
+        verify(auditoria).registrar(OperacaoAuditoria.ALTERACAO, id);
         verify(mapper).toAlterarResponse(chavePixMock);
     }
 
@@ -110,14 +136,14 @@ public class AlterarChavePixServiceTest {
 
         // When & Then
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> service.alterarChave(id, tipoChave, valorChave, tipoConta,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
                         numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
 
         assertEquals(mensagemErro, exception.getMessage());
         verify(repository).buscarPorId(id);
         verify(messageConfig).getMessage(anyString());
         verifyNoInteractions(validator, mapper);
-        verify(repository, never()).salvar(any());
+        verify(repository, never()).atualizar(any());
     }
 
     @Test
@@ -131,7 +157,7 @@ public class AlterarChavePixServiceTest {
 
         // When & Then
         BadRequestException exception = assertThrows(BadRequestException.class,
-                () -> service.alterarChave(id, tipoChave, valorChave, tipoConta,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
                         numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
 
         assertEquals(mensagemErro, exception.getMessage());
@@ -140,7 +166,7 @@ public class AlterarChavePixServiceTest {
         verify(messageConfig).getMessage(anyString());
         verify(chavePixMock, never()).getTipoChave();
         verifyNoInteractions(validator, mapper);
-        verify(repository, never()).salvar(any());
+        verify(repository, never()).atualizar(any());
     }
 
     @Test
@@ -156,7 +182,7 @@ public class AlterarChavePixServiceTest {
 
         // When & Then
         UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class,
-                () -> service.alterarChave(id, tipoChave, valorChave, tipoConta,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
                         numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
 
         assertEquals(mensagemErro, exception.getMessage());
@@ -165,7 +191,7 @@ public class AlterarChavePixServiceTest {
         verify(chavePixMock).getTipoChave();
         verify(messageConfig).getMessage(anyString());
         verifyNoInteractions(validator, mapper);
-        verify(repository, never()).salvar(any());
+        verify(repository, never()).atualizar(any());
     }
 
     @Test
@@ -182,7 +208,7 @@ public class AlterarChavePixServiceTest {
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> service.alterarChave(id, tipoChave, valorChave, tipoConta,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
                         numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
 
         assertEquals("Erro de validação", exception.getMessage());
@@ -192,7 +218,7 @@ public class AlterarChavePixServiceTest {
         verify(validator).validarCampos(tipoChave, valorChave, tipoConta, numeroAgencia,
                 numeroConta, nomeCorrentista, sobrenomeCorrentista);
         verify(chavePixMock, never()).atualizarDadosPermitidos(any(), any(), any(), any(), any(), any());
-        verify(repository, never()).salvar(any());
+        verify(repository, never()).atualizar(any());
         verifyNoInteractions(mapper);
     }
 
@@ -206,7 +232,7 @@ public class AlterarChavePixServiceTest {
         when(mapper.toAlterarResponse(chavePixMock)).thenReturn(responseMock);
 
         // When
-        service.alterarChave(id, tipoChave, valorChave, tipoConta, numeroAgencia,
+        service.alterarChave(id, null, tipoChave, valorChave, tipoConta, numeroAgencia,
                 numeroConta, nomeCorrentista, sobrenomeCorrentista);
 
         // Then
@@ -231,7 +257,7 @@ public class AlterarChavePixServiceTest {
 
         // When
         AlterarChavePixResponse result = service.alterarChave(
-                id, tipoChave, valorChave, tipoConta, null,
+                id, null, tipoChave, valorChave, tipoConta, null,
                 null, null, null
         );
 
@@ -255,7 +281,7 @@ public class AlterarChavePixServiceTest {
         var inOrder = inOrder(repository, chavePixMock, validator, mapper);
 
         // When
-        service.alterarChave(id, tipoChave, valorChave, tipoConta, numeroAgencia,
+        service.alterarChave(id, null, tipoChave, valorChave, tipoConta, numeroAgencia,
                 numeroConta, nomeCorrentista, sobrenomeCorrentista);
 
         // Then
@@ -264,7 +290,7 @@ public class AlterarChavePixServiceTest {
         inOrder.verify(chavePixMock).getTipoChave();
         inOrder.verify(validator).validarCampos(any(), any(), any(), any(), any(), any(), any());
         inOrder.verify(chavePixMock).atualizarDadosPermitidos(any(), any(), any(), any(), any(), any());
-        inOrder.verify(repository).salvar(chavePixMock);
+        inOrder.verify(repository).atualizar(chavePixMock);
         inOrder.verify(mapper).toAlterarResponse(chavePixMock);
     }
 
@@ -280,10 +306,10 @@ public class AlterarChavePixServiceTest {
 
         // When & Then
         assertThrows(IllegalArgumentException.class,
-                () -> service.alterarChave(id, tipoChave, valorChave, tipoConta,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
                         numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
 
-        verify(repository, never()).salvar(any());
+        verify(repository, never()).atualizar(any());
         verify(chavePixMock, never()).atualizarDadosPermitidos(any(), any(), any(), any(), any(), any());
         verifyNoInteractions(mapper);
     }
@@ -301,11 +327,12 @@ public class AlterarChavePixServiceTest {
             when(repository.buscarPorId(id)).thenReturn(Optional.of(chavePixMock));
             when(chavePixMock.estaInativa()).thenReturn(false);
             when(chavePixMock.getTipoChave()).thenReturn(tipo);
+            when(repository.atualizar(chavePixMock)).thenReturn(true);
             when(mapper.toAlterarResponse(chavePixMock)).thenReturn(responseMock);
 
             // When
             AlterarChavePixResponse result = service.alterarChave(
-                    id, tipo, valorChave, tipoConta, numeroAgencia,
+                    id, null, tipo, valorChave, tipoConta, numeroAgencia,
                     numeroConta, nomeCorrentista, sobrenomeCorrentista);
 
             // Then
@@ -313,4 +340,80 @@ public class AlterarChavePixServiceTest {
             verify(chavePixMock).getTipoChave();
         }
     }
+
+    @Test
+    @DisplayName("Deve lançar ConflictException quando outra alteração foi gravada depois da leitura")
+    void deveLancarConflictExceptionQuandoVersaoLidaEstaDesatualizada() {
+        // Given
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(chavePixMock));
+        when(chavePixMock.estaInativa()).thenReturn(false);
+        when(chavePixMock.getTipoChave()).thenReturn(tipoChave);
+        when(repository.atualizar(chavePixMock)).thenReturn(false);
+        when(messageConfig.getMessage(CHAVE_ALTERADA_CONCORRENTEMENTE)).thenReturn("Chave alterada");
+
+        // When & Then
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.alterarChave(id, null, tipoChave, valorChave, tipoConta,
+                        numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
+
+        assertEquals(CHAVE_ALTERADA_CONCORRENTEMENTE, exception.getResponseBodyCode());
+        verify(chavePixMock, never()).definirVersao(any());
+        verifyNoInteractions(mapper, eventoRepository, auditoria);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a versão do If-Match e lançar PreconditionFailedException quando ela não é a atual")
+    void deveLancarPreconditionFailedQuandoVersaoEsperadaDiverge() {
+        // Given
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(chavePixMock));
+        when(chavePixMock.estaInativa()).thenReturn(false);
+        when(chavePixMock.getTipoChave()).thenReturn(tipoChave);
+        when(repository.atualizar(chavePixMock)).thenReturn(false);
+        when(messageConfig.getMessage(VERSAO_CHAVE_DIVERGENTE)).thenReturn("Versão divergente");
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(PreconditionFailedException.class,
+                () -> service.alterarChave(id, 3L, tipoChave, valorChave, tipoConta,
+                        numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista));
+
+        assertEquals(VERSAO_CHAVE_DIVERGENTE, exception.getResponseBodyCode());
+        var inOrder = inOrder(chavePixMock, repository);
+        inOrder.verify(chavePixMock).definirVersao(3L);
+        inOrder.verify(repository).atualizar(chavePixMock);
+    }
+
+    @Test
+    @DisplayName("Deve transferir a vaga do limite quando a chave muda de conta")
+    void deveTransferirLimiteQuandoContaMuda() {
+        // Given
+        ChavePix chave = new ChavePix(tipoChave, valorChave, tipoConta, TipoPessoa.PESSOA_FISICA,
+                4321, 111111, nomeCorrentista, sobrenomeCorrentista);
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(chave));
+
+        // When
+        service.alterarChave(id, null, tipoChave, valorChave, tipoConta, numeroAgencia,
+                numeroConta, nomeCorrentista, sobrenomeCorrentista);
+
+        // Then
+        var inOrder = inOrder(validator, repository);
+        inOrder.verify(validator).transferirLimitePorConta(new ContaBancaria(4321, 111111), chave);
+        inOrder.verify(repository).atualizar(chave);
+    }
+
+    @Test
+    @DisplayName("Não deve mexer no limite quando a chave continua na mesma conta")
+    void naoDeveTransferirLimiteNaMesmaConta() {
+        // Given
+        ChavePix chave = new ChavePix(tipoChave, valorChave, tipoConta, TipoPessoa.PESSOA_FISICA,
+                numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(chave));
+
+        // When
+        service.alterarChave(id, null, tipoChave, "novo@email.com", tipoConta, numeroAgencia,
+                numeroConta, nomeCorrentista, sobrenomeCorrentista);
+
+        // Then
+        verify(validator, never()).transferirLimitePorConta(any(), any());
+        verify(repository).atualizar(chave);
+    }
 }
@@ -0,0 +1,152 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.out.persistence.ChavePixJpaRepository;
+import br.com.chavepix.adapters.out.persistence.ChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.ContadorChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.EscritasRecentes;
+import br.com.chavepix.adapters.out.persistence.EventoChavePixRepositoryImpl;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.LIMITE_CHAVE_EXCEDIDO;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "chave-pix.cadastro.pre-validar-existencia=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CadastrarChavePixService.class, ChavePixValidator.class, ChavePixResponseMapper.class,
+        ChavePixRepositoryImpl.class, EscritasRecentes.class, MessageConfig.class,
+        EventoChavePixRepositoryImpl.class, EventoChavePixMapper.class, JacksonAutoConfiguration.class,
+        ContadorChavePixRepositoryImpl.class})
+@DisplayName("CadastrarChavePixService - Testes de Concorrência")
+public class CadastrarChavePixConcorrenciaTest {
+
+    private static final int REQUISICOES = 20;
+
+    @Autowired
+    private CadastrarChavePixService service;
+
+    @Autowired
+    private ChavePixJpaRepository jpaRepository;
+
+    @MockBean
+    private AuditoriaChavePix auditoria;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM chave_pix_evento");
+        jdbcTemplate.update("DELETE FROM chave_pix_contador_conta");
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar apenas uma chave quando o mesmo valor é enviado concorrentemente")
+    void deveCadastrarApenasUmaChaveEmCadastrosConcorrentes() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(REQUISICOES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < REQUISICOES; i++) {
+                int conta = 100000 + i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return service.cadastrarChave(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE,
+                            TipoPessoa.PESSOA_FISICA, 1234, conta, "João", "Silva");
+                }));
+            }
+            largada.countDown();
+
+            int cadastradas = 0;
+            int rejeitadas = 0;
+            for (Future<?> resultado : resultados) {
+                try {
+                    resultado.get(30, TimeUnit.SECONDS);
+                    cadastradas++;
+                } catch (ExecutionException e) {
+                    BadRequestException erro = assertInstanceOf(BadRequestException.class, e.getCause());
+                    assertEquals(CHAVE_EXISTENTE, erro.getResponseBodyCode());
+                    rejeitadas++;
+                }
+            }
+
+            // Then
+            assertEquals(1, cadastradas);
+            assertEquals(REQUISICOES - 1, rejeitadas);
+            assertEquals(1, jpaRepository.count());
+            // só o cadastro aceito chega a gravar o evento
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chave_pix_evento", Integer.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite da conta quando vários cadastros chegam ao mesmo tempo")
+    void deveRespeitarLimiteDaContaEmCadastrosConcorrentes() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(REQUISICOES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < REQUISICOES; i++) {
+                String valorChave = "joao" + i + "@teste.com";
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return service.cadastrarChave(TipoChave.EMAIL, valorChave, TipoConta.CORRENTE,
+                            TipoPessoa.PESSOA_FISICA, 1234, 567890, "João", "Silva");
+                }));
+            }
+            largada.countDown();
+
+            int cadastradas = 0;
+            for (Future<?> resultado : resultados) {
+                try {
+                    resultado.get(30, TimeUnit.SECONDS);
+                    cadastradas++;
+                } catch (ExecutionException e) {
+                    BadRequestException erro = assertInstanceOf(BadRequestException.class, e.getCause());
+                    assertEquals(LIMITE_CHAVE_EXCEDIDO, erro.getResponseBodyCode());
+                }
+            }
+
+            // Then
+            assertEquals(5, cadastradas);
+            assertEquals(5, jpaRepository.count());
+            assertEquals(5, jdbcTemplate.queryForObject(
+                    "SELECT quantidade_email FROM chave_pix_contador_conta WHERE numero_agencia = 1234 AND numero_conta = 567890",
+                    Integer.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
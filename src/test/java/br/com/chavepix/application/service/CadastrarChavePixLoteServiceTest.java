@@ -0,0 +1,277 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixLoteResponse;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CadastrarChavePixLoteService - Testes Unitários")
+public class CadastrarChavePixLoteServiceTest {
+
+    @Mock
+    private ChavePixRepository repository;
+
+    @Mock
+    private ChavePixValidator validator;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    @Mock
+    private EventoChavePixRepository eventoRepository;
+
+    @Mock
+    private EventoChavePixMapper eventoMapper;
+
+    @Mock
+    private AuditoriaChavePix auditoria;
+
+    @Spy
+    private Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private CadastrarChavePixLoteService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(messageConfig.getMessage(anyString())).thenReturn("Erro");
+        lenient().when(repository.buscarChavesExistentes(anyCollection())).thenReturn(Collections.emptySet());
+        lenient().when(validator.reservarLimitesPorConta(anyList())).thenAnswer(invocation -> {
+            boolean[] reservadas = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(reservadas, true);
+            return reservadas;
+        });
+        lenient().when(repository.salvarTodos(anyList())).thenAnswer(invocation -> {
+            boolean[] gravadas = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(gravadas, true);
+            return gravadas;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar todas as chaves do lote com uma única escrita em lote")
+    void deveCadastrarTodasAsChavesDoLote() {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(
+                createRequest("a@teste.com", 1234, 567890),
+                createRequest("b@teste.com", 1234, 567891)
+        );
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertEquals(2, result.size());
+        result.forEach(item -> {
+            assertNotNull(item.getId());
+            assertNull(item.getCodigo());
+        });
+
+        ArgumentCaptor<List<ChavePix>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).salvarTodos(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(repository).buscarChavesExistentes(anyCollection());
+        verify(validator).reservarLimitesPorConta(captor.getValue());
+        verify(repository, never()).chaveJaExiste(anyString());
+        verify(repository, never()).salvar(any());
+        verify(eventoMapper, times(2)).toCadastrada(any(ChavePix.class));
+        verify(eventoRepository).registrarTodos(anyList());
+        verify(auditoria).registrarTodos(OperacaoAuditoria.CADASTRO,
+                captor.getValue().stream().map(ChavePix::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave repetida dentro do mesmo lote")
+    void deveRejeitarChaveRepetidaNoLote() {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(
+                createRequest("a@teste.com", 1234, 567890),
+                createRequest("a@teste.com", 1234, 567890)
+        );
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertNotNull(result.get(0).getId());
+        assertEquals(CHAVE_DUPLICADA_LOTE, result.get(1).getCodigo());
+        assertNull(result.get(1).getId());
+        // cada item é validado antes de ser comparado aos anteriores
+        verify(validator, times(2)).validarCampos(any(), anyString(), any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar chave já cadastrada na base")
+    void deveRejeitarChaveJaCadastrada() {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(
+                createRequest("a@teste.com", 1234, 567890),
+                createRequest("b@teste.com", 1234, 567890)
+        );
+        when(repository.buscarChavesExistentes(anyCollection())).thenReturn(Set.of("b@teste.com"));
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertNull(result.get(0).getCodigo());
+        assertEquals(CHAVE_EXISTENTE, result.get(1).getCodigo());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar pelo limite por conta as chaves cuja vaga não foi reservada")
+    void deveAplicarLimitePorConta() {
+        // Given
+        List<CadastrarChavePixRequest> requests = new ArrayList<>();
+        IntStream.range(0, 3).forEach(i -> requests.add(createRequest("chave" + i + "@teste.com", 1234, 567890)));
+        when(validator.reservarLimitesPorConta(anyList())).thenReturn(new boolean[]{true, true, false});
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertNotNull(result.get(0).getId());
+        assertNotNull(result.get(1).getId());
+        assertEquals(LIMITE_CHAVE_EXCEDIDO, result.get(2).getCodigo());
+        ArgumentCaptor<List<ChavePix>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).salvarTodos(captor.capture());
+        assertEquals(List.of("chave0@teste.com", "chave1@teste.com"),
+                captor.getValue().stream().map(ChavePix::getValorChave).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar só o item cujo valor foi cadastrado por outra transação durante o lote")
+    void deveRecusarSoItemQuePerdeuCorridaPeloValor() {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(
+                createRequest("a@teste.com", 1234, 567890),
+                createRequest("b@teste.com", 1234, 567890),
+                createRequest("c@teste.com", 1234, 567890)
+        );
+        when(repository.salvarTodos(anyList())).thenReturn(new boolean[]{true, false, true});
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertNotNull(result.get(0).getId());
+        assertEquals(CHAVE_EXISTENTE, result.get(1).getCodigo());
+        assertNull(result.get(1).getId());
+        assertNotNull(result.get(2).getId());
+        ArgumentCaptor<ChavePix> liberada = ArgumentCaptor.forClass(ChavePix.class);
+        verify(validator).liberarLimitePorConta(liberada.capture());
+        assertEquals("b@teste.com", liberada.getValue().getValorChave());
+        verify(eventoMapper, times(2)).toCadastrada(any(ChavePix.class));
+        verify(auditoria).registrarTodos(OperacaoAuditoria.CADASTRO, List.of(result.get(0).getId(), result.get(2).getId()));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o erro de validação do item sem interromper o lote")
+    void deveDevolverErroDeValidacaoDoItem() {
+        // Given
+        List<CadastrarChavePixRequest> requests = List.of(
+                createRequest("invalido", 1234, 567890),
+                createRequest("b@teste.com", 1234, 567890)
+        );
+        doThrow(new UnprocessableEntityException(EMAIL_INVALIDO, "E-mail inválido."))
+                .when(validator).validarCampos(eq(TipoChave.EMAIL), eq("invalido"), any(), anyInt(), anyInt(), anyString(), anyString());
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertEquals(EMAIL_INVALIDO, result.get(0).getCodigo());
+        assertEquals("E-mail inválido.", result.get(0).getMensagem());
+        assertNotNull(result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar só o item com campo obrigatório ausente, sem interromper o lote")
+    void deveRecusarSoItemComCampoObrigatorioAusente() {
+        // Given
+        CadastrarChavePixRequest semConta = createRequest("a@teste.com", 1234, null);
+        List<CadastrarChavePixRequest> requests = Arrays.asList(semConta, null, createRequest("b@teste.com", 1234, 567890));
+        when(messageConfig.getMessage(FIELD_NOT_BE_NULL, "numeroConta")).thenReturn("O campo `numeroConta` não pode ser nulo ou em branco.");
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertEquals(FIELD_NOT_BE_NULL, result.get(0).getCodigo());
+        assertEquals("O campo `numeroConta` não pode ser nulo ou em branco.", result.get(0).getMensagem());
+        assertEquals(INVALID_REQUEST, result.get(1).getCodigo());
+        assertNotNull(result.get(2).getId());
+        verify(validator, never()).validarCampos(any(), eq("a@teste.com"), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve validar antes de descartar repetidas: o item inválido não tira o valor do item válido")
+    void deveValidarAntesDeDescartarRepetidas() {
+        // Given
+        CadastrarChavePixRequest semNome = createRequest("a@teste.com", 1234, 567890);
+        semNome.setNomeCorrentista(" ");
+        List<CadastrarChavePixRequest> requests = List.of(semNome, createRequest("a@teste.com", 1234, 567890));
+
+        // When
+        List<CadastrarChavePixLoteResponse> result = service.cadastrarChaves(requests);
+
+        // Then
+        assertEquals(FIELD_NOT_BE_NULL, result.get(0).getCodigo());
+        assertNull(result.get(1).getCodigo());
+        assertNotNull(result.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadRequestException quando o lote está vazio")
+    void deveLancarExcecaoQuandoLoteVazio() {
+        // Given
+        when(messageConfig.getMessage(anyString(), any())).thenReturn("Lote inválido");
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.cadastrarChaves(Collections.emptyList()));
+
+        assertEquals("Lote inválido", exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    private CadastrarChavePixRequest createRequest(String valorChave, Integer agencia, Integer conta) {
+        return new CadastrarChavePixRequest(TipoChave.EMAIL, valorChave, TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, agencia, conta, "João", "Silva");
+    }
+}
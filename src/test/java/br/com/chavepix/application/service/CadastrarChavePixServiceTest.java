@@ -2,20 +2,27 @@ package br.com.chavepix.application.service;
 
 import br.com.chavepix.adapters.in.rest.response.CadastrarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
 import br.com.chavepix.application.validator.ChavePixValidator;
 import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
 import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
 
@@ -36,6 +43,15 @@ public class CadastrarChavePixServiceTest {
     @Mock
     private ChavePixResponseMapper mapper;
 
+    @Mock
+    private EventoChavePixRepository eventoRepository;
+
+    @Mock
+    private EventoChavePixMapper eventoMapper;
+
+    @Mock
+    private AuditoriaChavePix auditoria;
+
     @InjectMocks
     private CadastrarChavePixService service;
 
@@ -65,9 +81,11 @@ public class CadastrarChavePixServiceTest {
     void deveCadastrarChavePixComSucesso() {
         // Given
         CadastrarChavePixResponse expectedResponse = createExpectedResponse();
+        EventoChavePix evento = new EventoChavePix(TipoEventoChavePix.CHAVE_CADASTRADA, UUID.randomUUID(), 0L, "{}");
 
         when(mapper.toCadastrarResponse(any(ChavePix.class)))
                 .thenReturn(expectedResponse);
+        when(eventoMapper.toCadastrada(any(ChavePix.class))).thenReturn(evento);
 
         // When
         CadastrarChavePixResponse result = service.cadastrarChave(
@@ -80,7 +98,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -99,6 +117,31 @@ public class CadastrarChavePixServiceTest {
         assertEquals(numeroConta, savedChave.getNumeroConta());
         assertEquals(nomeCorrentista, savedChave.getNomeCorrentista());
         assertEquals(sobrenomeCorrentista, savedChave.getSobrenomeCorrentista());
+
+        var inOrder = inOrder(repository, eventoRepository);
+        inOrder.verify(repository).salvar(savedChave);
+        inOrder.verify(eventoRepository).registrar(evento);
+        verify(eventoMapper).toCadastrada(savedChave);
+        verify(auditoria).registrar(OperacaoAuditoria.CADASTRO, savedChave.getId());
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar sem consultar existência quando a pré-validação está desligada")
+    void deveCadastrarSemPreValidacaoDeExistencia() {
+        // Given
+        ReflectionTestUtils.setField(service, "preValidarExistencia", false);
+        when(mapper.toCadastrarResponse(any(ChavePix.class)))
+                .thenReturn(createExpectedResponse());
+
+        // When
+        service.cadastrarChave(
+                tipoChave, valorChave, tipoConta, tipoPessoa,
+                numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista
+        );
+
+        // Then
+        verify(validator, never()).validarChaveExistente(anyString());
+        verify(repository).salvar(any(ChavePix.class));
     }
 
     @Test
@@ -123,7 +166,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -155,7 +198,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -188,7 +231,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -220,7 +263,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -251,7 +294,7 @@ public class CadastrarChavePixServiceTest {
         assertEquals(expectedResponse.getId(), result.getId());
 
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta,
                 numeroAgencia, numeroConta,
@@ -280,7 +323,7 @@ public class CadastrarChavePixServiceTest {
         // Then
         assertEquals(mensagem, exception.getMessage());
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator, never()).validarLimitePorConta(anyInt(), anyInt(), any());
+        verify(validator, never()).reservarLimitePorConta(any());
         verify(validator, never()).validarCampos(any(), anyString(), any(), anyInt(), anyInt(), anyString(), anyString());
         verify(repository, never()).salvar(any());
     }
@@ -291,7 +334,7 @@ public class CadastrarChavePixServiceTest {
         // Given
         String mensagem = "Limite de chaves por conta excedido";
         doThrow(new BadRequestException("LIMITE_CHAVE_EXCEDIDO", mensagem))
-                .when(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
+                .when(validator).reservarLimitePorConta(any(ChavePix.class));
 
         // When
         BadRequestException exception = assertThrows(BadRequestException.class, () ->
@@ -304,8 +347,8 @@ public class CadastrarChavePixServiceTest {
         // Then
         assertEquals(mensagem, exception.getMessage());
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
-        verify(validator, never()).validarCampos(any(), anyString(), any(), anyInt(), anyInt(), anyString(), anyString());
+        verify(validator).validarCampos(tipoChave, valorChave, tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
+        verify(validator).reservarLimitePorConta(any(ChavePix.class));
         verify(repository, never()).salvar(any());
     }
 
@@ -332,8 +375,8 @@ public class CadastrarChavePixServiceTest {
         // Then
         assertEquals(mensagem, exception.getMessage());
         verify(validator).validarChaveExistente(valorChave);
-        verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
         verify(validator).validarCampos(tipoChave, valorChave, tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista);
+        verify(validator, never()).reservarLimitePorConta(any());
         verify(repository, never()).salvar(any());
     }
 
@@ -449,10 +492,10 @@ public class CadastrarChavePixServiceTest {
         // Then
         InOrder inOrder = inOrder(validator, repository);
         inOrder.verify(validator).validarChaveExistente(valorChave);
-        inOrder.verify(validator).validarLimitePorConta(numeroAgencia, numeroConta, tipoPessoa);
         inOrder.verify(validator).validarCampos(
                 tipoChave, valorChave, tipoConta, numeroAgencia, numeroConta, nomeCorrentista, sobrenomeCorrentista
         );
+        inOrder.verify(validator).reservarLimitePorConta(any(ChavePix.class));
         inOrder.verify(repository).salvar(any(ChavePix.class));
     }
 
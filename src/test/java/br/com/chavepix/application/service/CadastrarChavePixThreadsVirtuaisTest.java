@@ -0,0 +1,130 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.out.persistence.ChavePixJpaRepository;
+import br.com.chavepix.adapters.out.persistence.ChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.ContadorChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.EscritasRecentes;
+import br.com.chavepix.adapters.out.persistence.EventoChavePixRepositoryImpl;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.LimiteConexoesDataSource;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.config.application.ThreadsVirtuaisConfig;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Centenas de cadastros em threads virtuais disputando um pool de 4 conexões, com o evento
+ * {@code jdk.VirtualThreadPinned} do JFR gravado sem limiar: qualquer trecho do serviço, do Hibernate, do Hikari ou do
+ * driver que bloqueie dentro de um {@code synchronized} aparece como falha, com a pilha no relatório.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:threads-virtuais;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "chave-pix.cadastro.pre-validar-existencia=false",
+        "chave-pix.threads-virtuais.habilitado=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CadastrarChavePixService.class, ChavePixValidator.class, ChavePixResponseMapper.class,
+        ChavePixRepositoryImpl.class, EscritasRecentes.class, MessageConfig.class,
+        EventoChavePixRepositoryImpl.class, EventoChavePixMapper.class, JacksonAutoConfiguration.class,
+        ContadorChavePixRepositoryImpl.class, ThreadsVirtuaisConfig.class})
+@DisplayName("CadastrarChavePixService - Testes com Threads Virtuais")
+public class CadastrarChavePixThreadsVirtuaisTest {
+
+    private static final int REQUISICOES = 500;
+
+    @Autowired
+    private CadastrarChavePixService service;
+
+    @Autowired
+    private ChavePixJpaRepository jpaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private AuditoriaChavePix auditoria;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path diretorio;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM chave_pix_evento");
+        jdbcTemplate.update("DELETE FROM chave_pix_contador_conta");
+    }
+
+    @Test
+    @DisplayName("Deve cadastrar em threads virtuais enfileirando no pool sem prender as threads carregadoras")
+    void deveCadastrarSemPrenderThreadsCarregadoras() throws Exception {
+        // Given
+        assertInstanceOf(LimiteConexoesDataSource.class, dataSource);
+        List<Future<?>> resultados = new ArrayList<>();
+        Path gravacao = diretorio.resolve("threads-virtuais.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                CountDownLatch largada = new CountDownLatch(1);
+                for (int i = 0; i < REQUISICOES; i++) {
+                    int conta = 100000 + i;
+                    resultados.add(executor.submit(() -> {
+                        largada.await();
+                        return service.cadastrarChave(TipoChave.EMAIL, "cliente" + conta + "@teste.com",
+                                TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1234, conta, "João", "Silva");
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> resultado : resultados) {
+                    resultado.get(60, TimeUnit.SECONDS);
+                }
+            }
+            recording.stop();
+            recording.dump(gravacao);
+        }
+
+        // Then
+        assertEquals(REQUISICOES, jpaRepository.count());
+        assertEquals(REQUISICOES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chave_pix_evento", Integer.class));
+        List<RecordedEvent> presas = RecordingFile.readAllEvents(gravacao);
+        assertTrue(presas.isEmpty(), () -> "Threads virtuais presas à carregadora:\n" + presas.get(0));
+    }
+}
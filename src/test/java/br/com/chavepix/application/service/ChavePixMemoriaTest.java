@@ -0,0 +1,114 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_EXISTENTE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("memoria")
+@DisplayName("Serviços de chave Pix - Profile memoria")
+public class ChavePixMemoriaTest {
+
+    @Autowired
+    private CadastrarChavePixService cadastrarService;
+
+    @Autowired
+    private ConsultarChavePixService consultarService;
+
+    @Autowired
+    private AlterarChavePixService alterarService;
+
+    @Autowired
+    private InativarChavePixService inativarService;
+
+    @SpyBean
+    private EventoChavePixRepository eventoRepository;
+
+    @Test
+    @DisplayName("Deve cadastrar, alterar, inativar e recadastrar o valor pelos serviços")
+    void deveCumprirCicloDaChave() {
+        // Given
+        UUID id = cadastrarService.cadastrarChave(TipoChave.EMAIL, "ciclo@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1300, 100001, "Joao", "Silva").getId();
+
+        // When
+        long versaoAlterada = alterarService.alterarChave(id, 0L, TipoChave.EMAIL, "ciclo.novo@teste.com",
+                TipoConta.POUPANCA, 1300, 100001, "Joao", "Souza").getVersao();
+        inativarService.inativarChave(id);
+        UUID recadastrada = cadastrarService.cadastrarChave(TipoChave.EMAIL, "ciclo.novo@teste.com",
+                TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1300, 100001, "Joao", "Silva").getId();
+
+        // Then
+        assertEquals(1L, versaoAlterada);
+        ConsultarChavePixResponse inativada = consultarService.consultarPorId(id);
+        assertEquals("ciclo.novo@teste.com", inativada.getValorChave());
+        assertNotNull(inativada.getDataInativacao());
+        assertEquals(2L, inativada.getVersao());
+        assertEquals(recadastrada, consultarService.consultarPorId(recadastrada).getId());
+        assertEquals(2, consultarService.consultarPorConta(1300, 100001).size());
+        // o valor de antes da alteração ficou livre
+        assertNotNull(cadastrarService.cadastrarChave(TipoChave.EMAIL, "ciclo@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1301, 100001, "Joao", "Silva").getId());
+    }
+
+    @Test
+    @DisplayName("Não deve mostrar o cadastro antes do commit, mas deve recusar o mesmo valor em paralelo")
+    void naoDeveMostrarCadastroNaoConfirmado() throws Exception {
+        // Given
+        CountDownLatch gravada = new CountDownLatch(1);
+        CountDownLatch liberada = new CountDownLatch(1);
+        AtomicReference<UUID> id = new AtomicReference<>();
+        // o primeiro cadastro para depois de gravar a chave, antes do commit
+        doAnswer(invocacao -> {
+            if (id.compareAndSet(null, invocacao.<EventoChavePix>getArgument(0).getChaveId())) {
+                gravada.countDown();
+                assertTrue(liberada.await(10, TimeUnit.SECONDS));
+            }
+            return invocacao.callRealMethod();
+        }).when(eventoRepository).registrar(any());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            Future<?> cadastro = executor.submit(() -> cadastrarService.cadastrarChave(TipoChave.EMAIL,
+                    "pendente@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1310, 100001, "Maria", "Souza"));
+            assertTrue(gravada.await(10, TimeUnit.SECONDS));
+
+            // Then
+            assertThrows(NotFoundException.class, () -> consultarService.consultarPorId(id.get()));
+            assertThrows(NotFoundException.class, () -> consultarService.consultarPorConta(1310, 100001));
+            BadRequestException repetida = assertThrows(BadRequestException.class, () -> cadastrarService.cadastrarChave(
+                    TipoChave.EMAIL, "pendente@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1311,
+                    100001, "Maria", "Souza"));
+            assertEquals(CHAVE_EXISTENTE, repetida.getResponseBodyCode());
+
+            liberada.countDown();
+            cadastro.get(10, TimeUnit.SECONDS);
+            assertEquals("pendente@teste.com", consultarService.consultarPorId(id.get()).getValorChave());
+            assertEquals(1, consultarService.consultarPorConta(1310, 100001).size());
+        } finally {
+            liberada.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:chave-pix-servico-diretorio;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        // schema-h2.sql só altera a tabela chave_pix, que não existe no banco do diretório
+        "spring.sql.init.mode=never",
+        "chave-pix.sharding.habilitado=true",
+        "chave-pix.sharding.shards[0].url=jdbc:h2:mem:chave-pix-servico-shard0;DB_CLOSE_DELAY=-1",
+        "chave-pix.sharding.shards[0].username=sa",
+        "chave-pix.sharding.shards[1].url=jdbc:h2:mem:chave-pix-servico-shard1;DB_CLOSE_DELAY=-1",
+        "chave-pix.sharding.shards[1].username=sa"
+})
+@DisplayName("Serviços de chave Pix - Sharding")
+public class ChavePixShardingTest {
+
+    @Autowired
+    private CadastrarChavePixService cadastrarService;
+
+    @Autowired
+    private ConsultarChavePixService consultarService;
+
+    @Autowired
+    private InativarChavePixService inativarService;
+
+    @Autowired
+    private ChavePixRepository repository;
+
+    @Autowired
+    private JdbcTemplate diretorio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private EventoChavePixRepository eventoRepository;
+
+    private final List<JdbcTemplate> shards = List.of(
+            new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:chave-pix-servico-shard0;DB_CLOSE_DELAY=-1", "sa", "")),
+            new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:chave-pix-servico-shard1;DB_CLOSE_DELAY=-1", "sa", "")));
+
+    @Test
+    @DisplayName("Não deve criar a tabela de chaves no banco do diretório")
+    void naoDeveCriarTabelaChavePixNoDiretorio() {
+        // When
+        Integer tabelas = diretorio.queryForObject(
+                "select count(*) from information_schema.tables where lower(table_name) in ('chave_pix', 'chave_pix_evento')",
+                Integer.class);
+
+        // Then
+        assertEquals(1, tabelas);
+    }
+
+    @Test
+    @DisplayName("Não deve deixar a chave no shard quando o cadastro é revertido depois de gravá-la")
+    void naoDeveDeixarChaveOrfaNoShard() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("outbox indisponível"))
+                .when(eventoRepository).registrar(argThat(evento -> evento.getTipo() == TipoEventoChavePix.CHAVE_CADASTRADA));
+
+        // When
+        assertThrows(DataAccessResourceFailureException.class, () -> cadastrarService.cadastrarChave(TipoChave.EMAIL,
+                "orfa@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1401, 100001, "Joao", "Silva"));
+
+        // Then
+        assertEquals(0, linhasNosShards("orfa@teste.com"));
+        assertEquals(0, diretorio.queryForObject(
+                "select count(*) from chave_pix_diretorio where valor_chave_ativa = 'orfa@teste.com'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Deve manter a chave ativa no shard e no diretório quando a inativação é revertida")
+    void deveManterChaveAtivaQuandoInativacaoRevertida() {
+        // Given
+        UUID id = cadastrarService.cadastrarChave(TipoChave.EMAIL, "mantida@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1402, 100001, "Joao", "Silva").getId();
+        doThrow(new DataAccessResourceFailureException("outbox indisponível"))
+                .when(eventoRepository).registrar(argThat(evento -> evento.getTipo() == TipoEventoChavePix.CHAVE_INATIVADA));
+
+        // When
+        assertThrows(DataAccessResourceFailureException.class, () -> inativarService.inativarChave(id));
+
+        // Then
+        assertNull(consultarService.consultarPorId(id).getDataInativacao());
+        assertEquals(0L, consultarService.consultarPorId(id).getVersao());
+        assertTrue(repository.chaveJaExiste("mantida@teste.com"));
+    }
+
+    @Test
+    @DisplayName("Não deve mostrar a chave do shard a outras transações antes do commit do cadastro")
+    void naoDeveMostrarChaveAntesDoCommit() throws Exception {
+        // Given
+        CountDownLatch gravada = new CountDownLatch(1);
+        CountDownLatch liberada = new CountDownLatch(1);
+        // o cadastro para depois de gravar a chave no shard, antes do commit
+        doAnswer(invocacao -> {
+            if (invocacao.<EventoChavePix>getArgument(0).getTipo() == TipoEventoChavePix.CHAVE_CADASTRADA) {
+                gravada.countDown();
+                assertTrue(liberada.await(10, TimeUnit.SECONDS));
+            }
+            return invocacao.callRealMethod();
+        }).when(eventoRepository).registrar(any());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            Future<?> cadastro = executor.submit(() -> cadastrarService.cadastrarChave(TipoChave.EMAIL,
+                    "pendente@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA, 1403, 100001, "Maria", "Souza"));
+            assertTrue(gravada.await(10, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(0, linhasNosShards("pendente@teste.com"));
+            liberada.countDown();
+            cadastro.get(10, TimeUnit.SECONDS);
+            assertEquals(1, linhasNosShards("pendente@teste.com"));
+        } finally {
+            liberada.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote sem o valor já reservado e seguir usando a transação do serviço")
+    void deveGravarLoteComValorReservadoNaMesmaTransacao() {
+        // Given
+        cadastrarService.cadastrarChave(TipoChave.EMAIL, "reservado@teste.com", TipoConta.CORRENTE,
+                TipoPessoa.PESSOA_FISICA, 1404, 100001, "Ana", "Lima");
+        List<ChavePix> lote = List.of(
+                new ChavePix(TipoChave.EMAIL, "lote.a@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                        1404, 100002, "Ana", "Lima"),
+                new ChavePix(TipoChave.EMAIL, "reservado@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                        1404, 100002, "Ana", "Lima"));
+
+        // When
+        boolean[] gravadas = new TransactionTemplate(transactionManager).execute(status -> {
+            boolean[] resultado = repository.salvarTodos(lote);
+            // a transação continua utilizável depois da violação no diretório
+            repository.inativar(lote.get(0).getId(), LocalDateTime.now());
+            return resultado;
+        });
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false}, gravadas);
+        assertTrue(repository.buscarPorId(lote.get(0).getId()).orElseThrow().estaInativa());
+        assertTrue(repository.buscarPorId(lote.get(1).getId()).isEmpty());
+        assertFalse(repository.chaveJaExiste("lote.a@teste.com"));
+    }
+
+    private int linhasNosShards(String valorChave) {
+        return shards.stream().mapToInt(shard -> shard.queryForObject(
+                "select count(*) from chave_pix where valor_chave = ?", Integer.class, valorChave)).sum();
+    }
+}
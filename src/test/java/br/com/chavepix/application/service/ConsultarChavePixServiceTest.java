@@ -1,10 +1,14 @@
 package br.com.chavepix.application.service;
 
+import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixPaginaResponse;
 import br.com.chavepix.adapters.in.rest.response.ConsultarChavePixResponse;
 import br.com.chavepix.application.mapper.ChavePixResponseMapper;
 import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.NotFoundException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +36,9 @@ public class ConsultarChavePixServiceTest {
     @Mock
     private ChavePixResponseMapper mapper;
 
+    @Mock
+    private AuditoriaChavePix auditoria;
+
     @InjectMocks
     private ConsultarChavePixService service;
 
@@ -75,6 +82,7 @@ public class ConsultarChavePixServiceTest {
 
         verify(repository).buscarPorId(id);
         verify(mapper).toConsultarResponse(chavePixMock);
+        verify(auditoria).registrar(OperacaoAuditoria.CONSULTA_POR_ID, chavePixMock.getId());
         verifyNoInteractions(messageConfig);
     }
 
@@ -93,7 +101,7 @@ public class ConsultarChavePixServiceTest {
         assertEquals(mensagemErro, exception.getMessage());
         verify(repository).buscarPorId(id);
         verify(messageConfig).getMessage(anyString());
-        verifyNoInteractions(mapper);
+        verifyNoInteractions(mapper, auditoria);
     }
 
     @Test
@@ -129,6 +137,7 @@ public class ConsultarChavePixServiceTest {
 
         verify(repository).buscarPorConta(agencia, numeroConta);
         verify(mapper).toConsultarResponseList(listaChavesMock);
+        verify(auditoria).registrarTodos(eq(OperacaoAuditoria.CONSULTA_POR_CONTA), argThat(ids -> ids.size() == 2));
         verifyNoInteractions(messageConfig);
     }
 
@@ -211,17 +220,18 @@ public class ConsultarChavePixServiceTest {
     @DisplayName("consultarPorNome - Deve consultar chaves Pix por nome com sucesso")
     void consultarPorNome_DeveConsultarChavesPixPorNomeComSucesso() {
         // Given
-        when(repository.buscarPorNome(nomeCorrentista)).thenReturn(listaChavesMock);
+        when(repository.buscarPorNome(nomeCorrentista, null, 21)).thenReturn(listaChavesMock);
         when(mapper.toConsultarResponseList(listaChavesMock)).thenReturn(listaResponseMock);
 
         // When
-        List<ConsultarChavePixResponse> result = service.consultarPorNome(nomeCorrentista);
+        ConsultarChavePixPaginaResponse result = service.consultarPorNome(nomeCorrentista, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(listaResponseMock, result);
+        assertEquals(listaResponseMock, result.getChaves());
+        assertNull(result.getProximoCursor());
 
-        verify(repository).buscarPorNome(nomeCorrentista);
+        verify(repository).buscarPorNome(nomeCorrentista, null, 21);
         verify(mapper).toConsultarResponseList(listaChavesMock);
         verifyNoInteractions(messageConfig);
     }
@@ -233,18 +243,18 @@ public class ConsultarChavePixServiceTest {
         List<ChavePix> listaVazia = Collections.emptyList();
         List<ConsultarChavePixResponse> responseVazia = Collections.emptyList();
 
-        when(repository.buscarPorNome(nomeCorrentista)).thenReturn(listaVazia);
+        when(repository.buscarPorNome(nomeCorrentista, null, 21)).thenReturn(listaVazia);
         when(mapper.toConsultarResponseList(listaVazia)).thenReturn(responseVazia);
 
         // When
-        List<ConsultarChavePixResponse> result = service.consultarPorNome(nomeCorrentista);
+        ConsultarChavePixPaginaResponse result = service.consultarPorNome(nomeCorrentista, null, null);
 
         // Then
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        assertEquals(responseVazia, result);
+        assertTrue(result.getChaves().isEmpty());
+        assertNull(result.getProximoCursor());
 
-        verify(repository).buscarPorNome(nomeCorrentista);
+        verify(repository).buscarPorNome(nomeCorrentista, null, 21);
         verify(mapper).toConsultarResponseList(listaVazia);
         verifyNoInteractions(messageConfig);
     }
@@ -254,47 +264,64 @@ public class ConsultarChavePixServiceTest {
     void consultarPorNome_DeveConsultarComNomeContendoEspacos() {
         // Given
         String nomeComEspacos = "João da Silva Santos";
-        when(repository.buscarPorNome(nomeComEspacos)).thenReturn(listaChavesMock);
+        when(repository.buscarPorNome(nomeComEspacos, null, 21)).thenReturn(listaChavesMock);
         when(mapper.toConsultarResponseList(listaChavesMock)).thenReturn(listaResponseMock);
 
         // When
-        List<ConsultarChavePixResponse> result = service.consultarPorNome(nomeComEspacos);
+        ConsultarChavePixPaginaResponse result = service.consultarPorNome(nomeComEspacos, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(listaResponseMock, result);
-        verify(repository).buscarPorNome(eq(nomeComEspacos));
+        assertEquals(listaResponseMock, result.getChaves());
+        verify(repository).buscarPorNome(eq(nomeComEspacos), isNull(), eq(21));
     }
 
     @Test
-    @DisplayName("consultarPorNome - Deve consultar com nome em maiúsculas")
-    void consultarPorNome_DeveConsultarComNomeEmMaiusculas() {
+    @DisplayName("consultarPorNome - Deve retornar cursor da próxima página quando houver mais registros")
+    void consultarPorNome_DeveRetornarCursorDaProximaPagina() {
         // Given
-        String nomeEmMaiusculas = "JOÃO SILVA";
-        when(repository.buscarPorNome(nomeEmMaiusculas)).thenReturn(listaChavesMock);
-        when(mapper.toConsultarResponseList(listaChavesMock)).thenReturn(listaResponseMock);
+        UUID cursor = UUID.randomUUID();
+        UUID ultimoId = UUID.randomUUID();
+        ChavePix primeira = mock(ChavePix.class);
+        ChavePix ultimaDaPagina = mock(ChavePix.class);
+        when(ultimaDaPagina.getId()).thenReturn(ultimoId);
+        List<ChavePix> tresChaves = List.of(primeira, ultimaDaPagina, mock(ChavePix.class));
+
+        when(repository.buscarPorNome(nomeCorrentista, cursor, 3)).thenReturn(tresChaves);
+        when(mapper.toConsultarResponseList(List.of(primeira, ultimaDaPagina))).thenReturn(listaResponseMock);
 
         // When
-        List<ConsultarChavePixResponse> result = service.consultarPorNome(nomeEmMaiusculas);
+        ConsultarChavePixPaginaResponse result = service.consultarPorNome(nomeCorrentista, 2, cursor);
 
         // Then
-        assertNotNull(result);
-        assertEquals(listaResponseMock, result);
-        verify(repository).buscarPorNome(eq(nomeEmMaiusculas));
+        assertEquals(listaResponseMock, result.getChaves());
+        assertEquals(ultimoId, result.getProximoCursor());
+        verify(repository).buscarPorNome(nomeCorrentista, cursor, 3);
     }
 
     @Test
-    @DisplayName("consultarPorNome - Deve passar parâmetro correto para repository")
-    void consultarPorNome_DevePassarParametroCorretoParaRepository() {
+    @DisplayName("consultarPorNome - Deve lançar BadRequestException quando limit excede o máximo")
+    void consultarPorNome_DeveLancarExcecaoQuandoLimitExcedeMaximo() {
         // Given
-        when(repository.buscarPorNome(nomeCorrentista)).thenReturn(listaChavesMock);
-        when(mapper.toConsultarResponseList(listaChavesMock)).thenReturn(listaResponseMock);
+        String mensagemErro = "Limite inválido";
+        when(messageConfig.getMessage(anyString(), any())).thenReturn(mensagemErro);
 
-        // When
-        service.consultarPorNome(nomeCorrentista);
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> service.consultarPorNome(nomeCorrentista, 101, null));
 
-        // Then
-        verify(repository).buscarPorNome(eq(nomeCorrentista));
-        verify(mapper).toConsultarResponseList(eq(listaChavesMock));
+        assertEquals(mensagemErro, exception.getMessage());
+        verifyNoInteractions(repository, mapper);
+    }
+
+    @Test
+    @DisplayName("consultarPorNome - Deve lançar BadRequestException quando limit é zero")
+    void consultarPorNome_DeveLancarExcecaoQuandoLimitEZero() {
+        // Given
+        when(messageConfig.getMessage(anyString(), any())).thenReturn("Limite inválido");
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> service.consultarPorNome(nomeCorrentista, 0, null));
+        verifyNoInteractions(repository, mapper);
     }
 }
@@ -0,0 +1,151 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.out.persistence.ChavePixJpaRepository;
+import br.com.chavepix.adapters.out.persistence.ChavePixRepositoryImpl;
+import br.com.chavepix.adapters.out.persistence.EscritasRecentes;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * A quantidade de linhas pode ser aumentada para verificar que a memória não cresce com a base, por exemplo com
+ * {@code mvn test -Dtest=ExportarChavePixServiceTest -Dchave-pix.exportacao.teste.linhas=3000000 -DargLine=-Xmx96m}:
+ * o banco fica em arquivo, então uma exportação que acumulasse as linhas estouraria o heap.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/exportacao;MODE=PostgreSQL;CACHE_SIZE=8192",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ExportarChavePixService.class, ChavePixResponseMapper.class, ChavePixRepositoryImpl.class,
+        EscritasRecentes.class, MessageConfig.class})
+@DisplayName("ExportarChavePixService - Testes de Integração")
+public class ExportarChavePixServiceTest {
+
+    private static final int LINHAS = Integer.getInteger("chave-pix.exportacao.teste.linhas", 20_000);
+    private static final int LOTE = 10_000;
+
+    @Autowired
+    private ExportarChavePixService service;
+
+    @Autowired
+    private ChavePixRepositoryImpl repository;
+
+    @SpyBean
+    private ChavePixJpaRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        List<ChavePix> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < LINHAS; i++) {
+            lote.add(new ChavePix(TipoChave.EMAIL, "chave" + i + "@teste.com", TipoConta.CORRENTE,
+                    TipoPessoa.PESSOA_JURIDICA, 1000 + i % 500, i, "Empresa", "Ltda"));
+            if (lote.size() == LOTE) {
+                repository.salvarTodos(lote);
+                lote.clear();
+            }
+        }
+        repository.salvarTodos(lote);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("truncate table chave_pix");
+    }
+
+    @Test
+    @DisplayName("Deve exportar todas as chaves, uma por linha, sem acumulá-las")
+    void deveExportarTodasAsChavesUmaPorLinha() throws Exception {
+        // Given
+        AtomicLong lidas = new AtomicLong();
+        // conta cada linha quando ela sai do cursor do banco; o spy do repositório do Spring Data chega ao
+        // repositório real pela resposta padrão, e não por callRealMethod
+        Answer<?> real = mockingDetails(jpaRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocacao -> ((Stream<?>) real.answer(invocacao)).peek(chave -> lidas.incrementAndGet()))
+                .when(jpaRepository).streamChavesPix();
+        ContadorDeLinhas saida = new ContadorDeLinhas(lidas);
+
+        // When
+        long exportadas = service.exportar(saida);
+
+        // Then
+        assertEquals(LINHAS, exportadas);
+        assertEquals(LINHAS, saida.linhas);
+        assertEquals(LINHAS, lidas.get());
+        assertTrue(saida.lidasNaPrimeiraEscrita > 0 && saida.lidasNaPrimeiraEscrita < LINHAS,
+                "a primeira linha saiu depois de lidas " + saida.lidasNaPrimeiraEscrita + " chaves");
+        JsonNode primeira = objectMapper.readTree(saida.primeiraLinha.toString(StandardCharsets.UTF_8));
+        assertTrue(primeira.get("valorChave").asText().endsWith("@teste.com"));
+        assertTrue(primeira.has("id"));
+    }
+
+    /**
+     * Guarda só a primeira linha e conta as demais, para que o teste também não acumule a exportação. Anota quantas
+     * chaves já tinham sido lidas do banco quando chegou o primeiro byte: se a exportação acumulasse as chaves, seriam
+     * todas.
+     */
+    private static class ContadorDeLinhas extends OutputStream {
+
+        private final AtomicLong lidas;
+        private final ByteArrayOutputStream primeiraLinha = new ByteArrayOutputStream();
+        private long linhas;
+        private long lidasNaPrimeiraEscrita = -1;
+
+        private ContadorDeLinhas(AtomicLong lidas) {
+            this.lidas = lidas;
+        }
+
+        @Override
+        public void write(int b) {
+            if (lidasNaPrimeiraEscrita < 0) {
+                lidasNaPrimeiraEscrita = lidas.get();
+            }
+            if (b == '\n') {
+                linhas++;
+            } else if (linhas == 0) {
+                primeiraLinha.write(b);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.response.InativarChavePixResponse;
+import br.com.chavepix.application.mapper.EventoChavePixMapper;
+import br.com.chavepix.application.validator.ChavePixValidator;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_INATIVA;
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_NAO_ENCONTRADA;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InativarChavePixService - Testes Unitários")
+public class InativarChavePixServiceTest {
+
+    @Mock
+    private ChavePixRepository repository;
+
+    @Mock
+    private ChavePixValidator validator;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    @Mock
+    private EventoChavePixRepository eventoRepository;
+
+    @Mock
+    private EventoChavePixMapper eventoMapper;
+
+    @Mock
+    private AuditoriaChavePix auditoria;
+
+    @InjectMocks
+    private InativarChavePixService service;
+
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Deve inativar chave ativa com um único UPDATE e liberar a vaga da conta")
+    void deveInativarChaveAtiva() {
+        // Given
+        ChavePix chave = mock(ChavePix.class);
+        when(chave.getVersao()).thenReturn(3L);
+        when(repository.inativar(eq(id), any())).thenReturn(true);
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(chave));
+        EventoChavePix evento = new EventoChavePix(TipoEventoChavePix.CHAVE_INATIVADA, id, 3L, "{}");
+        when(eventoMapper.toInativada(any(), eq(3L))).thenReturn(evento);
+
+        // When
+        InativarChavePixResponse response = service.inativarChave(id);
+
+        // Then
+        assertEquals(id, response.getId());
+        assertNotNull(response.getDataInativacao());
+        var inOrder = inOrder(repository, validator);
+        inOrder.verify(repository).inativar(id, response.getDataInativacao());
+        inOrder.verify(validator).liberarLimitePorConta(chave);
+        verify(eventoMapper).toInativada(response, 3L);
+        verify(eventoRepository).registrar(evento);
+        verify(auditoria).registrar(OperacaoAuditoria.INATIVACAO, id);
+    }
+
+    @Test
+    @DisplayName("Deve lançar NotFoundException quando a chave não existe")
+    void deveLancarExcecaoQuandoChaveNaoExiste() {
+        // Given
+        when(repository.inativar(eq(id), any())).thenReturn(false);
+        when(repository.buscarPorId(id)).thenReturn(Optional.empty());
+        when(messageConfig.getMessage(CHAVE_NAO_ENCONTRADA)).thenReturn("Chave não encontrada");
+
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> service.inativarChave(id));
+
+        assertEquals("Chave não encontrada", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadRequestException quando a chave já está inativa")
+    void deveLancarExcecaoQuandoChaveJaInativa() {
+        // Given
+        when(repository.inativar(eq(id), any())).thenReturn(false);
+        when(repository.buscarPorId(id)).thenReturn(Optional.of(mock(ChavePix.class)));
+        when(messageConfig.getMessage(CHAVE_INATIVA)).thenReturn("Chave inativa");
+
+        // When & Then
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> service.inativarChave(id));
+
+        assertEquals("Chave inativa", exception.getMessage());
+        verifyNoInteractions(validator, eventoRepository, auditoria);
+    }
+}
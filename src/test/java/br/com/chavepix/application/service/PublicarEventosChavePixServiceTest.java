@@ -0,0 +1,85 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.domain.model.EventoChavePix;
+import br.com.chavepix.domain.model.TipoEventoChavePix;
+import br.com.chavepix.domain.ports.out.EventoChavePixRepository;
+import br.com.chavepix.domain.ports.out.PublicadorEventoChavePix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublicarEventosChavePixService - Testes Unitários")
+public class PublicarEventosChavePixServiceTest {
+
+    @Mock
+    private EventoChavePixRepository repository;
+
+    @Mock
+    private PublicadorEventoChavePix publicador;
+
+    @InjectMocks
+    private PublicarEventosChavePixService service;
+
+    @Test
+    @DisplayName("Deve publicar o lote bloqueado e depois remover os eventos publicados")
+    void devePublicarERemoverLote() {
+        // Given
+        List<EventoChavePix> eventos = List.of(createEvento(10L), createEvento(11L));
+        when(repository.bloquearPendentes(500)).thenReturn(eventos);
+
+        // When
+        int quantidade = service.publicarPendentes(500);
+
+        // Then
+        assertEquals(2, quantidade);
+        var inOrder = inOrder(repository, publicador);
+        inOrder.verify(repository).bloquearPendentes(500);
+        inOrder.verify(publicador).publicar(eventos);
+        inOrder.verify(repository).remover(List.of(10L, 11L));
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o publicador quando a outbox está vazia")
+    void naoDevePublicarOutboxVazia() {
+        // Given
+        when(repository.bloquearPendentes(500)).thenReturn(List.of());
+
+        // When
+        int quantidade = service.publicarPendentes(500);
+
+        // Then
+        assertEquals(0, quantidade);
+        verifyNoInteractions(publicador);
+        verify(repository, never()).remover(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter os eventos pendentes quando a publicação falha")
+    void deveManterEventosQuandoPublicacaoFalha() {
+        // Given
+        List<EventoChavePix> eventos = List.of(createEvento(10L));
+        when(repository.bloquearPendentes(500)).thenReturn(eventos);
+        doThrow(new IllegalStateException("broker indisponível")).when(publicador).publicar(eventos);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> service.publicarPendentes(500));
+        verify(repository, never()).remover(any());
+    }
+
+    private static EventoChavePix createEvento(Long sequencia) {
+        return new EventoChavePix(sequencia, TipoEventoChavePix.CHAVE_CADASTRADA, UUID.randomUUID(), 0L,
+                LocalDateTime.now(), "{}");
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.chavepix.application.service;
+
+import br.com.chavepix.adapters.in.rest.response.ResolverChavePixResponse;
+import br.com.chavepix.application.mapper.ChavePixResponseMapper;
+import br.com.chavepix.config.application.MessageConfig;
+import br.com.chavepix.domain.exceptions.NotFoundException;
+import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.OperacaoAuditoria;
+import br.com.chavepix.domain.model.TipoChave;
+import br.com.chavepix.domain.model.TipoConta;
+import br.com.chavepix.domain.model.TipoPessoa;
+import br.com.chavepix.domain.ports.out.AuditoriaChavePix;
+import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static br.com.chavepix.domain.exceptions.MessageErrorCodeConstants.CHAVE_NAO_ENCONTRADA;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResolverChavePixService - Testes Unitários")
+public class ResolverChavePixServiceTest {
+
+    @Mock
+    private ChavePixRepository repository;
+
+    @Mock
+    private MessageConfig messageConfig;
+
+    @Mock
+    private AuditoriaChavePix auditoria;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResolverChavePixService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ResolverChavePixService(repository, messageConfig, new ChavePixResponseMapper(), auditoria, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve resolver chave ativa com os dados da conta")
+    void deveResolverChaveAtiva() {
+        // Given
+        ChavePix chave = new ChavePix(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE, TipoPessoa.PESSOA_FISICA,
+                1234, 567890, "João", "Silva");
+        when(repository.buscarPorValor("joao@teste.com")).thenReturn(Optional.of(chave));
+
+        // When
+        ResolverChavePixResponse response = service.resolverChave("joao@teste.com");
+
+        // Then
+        assertEquals(TipoPessoa.PESSOA_FISICA, response.getTipoPessoa());
+        assertEquals(1234, response.getNumeroAgencia());
+        assertEquals(567890, response.getNumeroConta());
+        assertEquals(1, meterRegistry.get("chave_pix.resolucao").tag("resultado", "encontrada").timer().count());
+        verify(auditoria).registrar(OperacaoAuditoria.RESOLUCAO, chave.getId());
+    }
+
+    @Test
+    @DisplayName("Deve lançar NotFoundException quando a chave não está ativa")
+    void deveLancarExcecaoQuandoChaveNaoEncontrada() {
+        // Given
+        when(repository.buscarPorValor("inexistente@teste.com")).thenReturn(Optional.empty());
+        when(messageConfig.getMessage(CHAVE_NAO_ENCONTRADA)).thenReturn("Chave não encontrada");
+
+        // When & Then
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.resolverChave("inexistente@teste.com"));
+
+        assertEquals("Chave não encontrada", exception.getMessage());
+        assertEquals(1, meterRegistry.get("chave_pix.resolucao").tag("resultado", "nao_encontrada").timer().count());
+        verifyNoInteractions(auditoria);
+    }
+}
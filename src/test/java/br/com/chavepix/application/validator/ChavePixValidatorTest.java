@@ -4,10 +4,12 @@ import br.com.chavepix.config.application.MessageConfig;
 import br.com.chavepix.domain.exceptions.BadRequestException;
 import br.com.chavepix.domain.exceptions.UnprocessableEntityException;
 import br.com.chavepix.domain.model.ChavePix;
+import br.com.chavepix.domain.model.ContaBancaria;
 import br.com.chavepix.domain.model.TipoChave;
 import br.com.chavepix.domain.model.TipoConta;
 import br.com.chavepix.domain.model.TipoPessoa;
 import br.com.chavepix.domain.ports.out.ChavePixRepository;
+import br.com.chavepix.domain.ports.out.ContadorChavePixRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +20,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -33,6 +38,9 @@ public class ChavePixValidatorTest {
     @Mock
     private ChavePixRepository repository;
 
+    @Mock
+    private ContadorChavePixRepository contadorRepository;
+
     @Mock
     private MessageConfig messageConfig;
 
@@ -77,72 +85,103 @@ public class ChavePixValidatorTest {
         verify(messageConfig).getMessage(anyString());
     }
 
-    // ========== TESTES PARA validarLimitePorConta ==========
+    // ========== TESTES PARA reservarLimitePorConta ==========
 
     @Test
-    @DisplayName("validarLimitePorConta - Deve validar com sucesso para PF com menos de 5 chaves")
-    void validarLimitePorConta_DeveValidarComSucessoParaPFComMenosDe5Chaves() {
+    @DisplayName("reservarLimitePorConta - Deve reservar a vaga de PF com o limite de 5 chaves")
+    void reservarLimitePorConta_DeveReservarVagaParaPF() {
         // Given
-        Integer agencia = 1234;
-        Integer conta = 567890;
-        List<ChavePix> chaves = createMockChavesList(4);
-        when(repository.buscarPorConta(agencia, conta)).thenReturn(chaves);
+        ChavePix chave = createChave(TipoPessoa.PESSOA_FISICA);
+        when(contadorRepository.reservar(chave, 5)).thenReturn(true);
 
         // When & Then
-        assertDoesNotThrow(() -> validator.validarLimitePorConta(agencia, conta, TipoPessoa.PESSOA_FISICA));
-        verify(repository).buscarPorConta(agencia, conta);
+        assertDoesNotThrow(() -> validator.reservarLimitePorConta(chave));
+        verify(contadorRepository).reservar(chave, 5);
+        verify(contadorRepository, never()).existe(any());
+        verify(repository, never()).contarChavesAtivasPorTipo(anyInt(), anyInt());
         verifyNoInteractions(messageConfig);
     }
 
     @Test
-    @DisplayName("validarLimitePorConta - Deve lançar exceção para PF com 5 ou mais chaves")
-    void validarLimitePorConta_DeveLancarExcecaoParaPFCom5OuMaisChaves() {
+    @DisplayName("reservarLimitePorConta - Deve lançar exceção para PF com o contador no limite")
+    void reservarLimitePorConta_DeveLancarExcecaoParaPFNoLimite() {
         // Given
-        Integer agencia = 1234;
-        Integer conta = 567890;
-        List<ChavePix> chaves = createMockChavesList(5);
-        when(repository.buscarPorConta(agencia, conta)).thenReturn(chaves);
+        ChavePix chave = createChave(TipoPessoa.PESSOA_FISICA);
+        when(contadorRepository.reservar(chave, 5)).thenReturn(false);
+        when(contadorRepository.existe(new ContaBancaria(1234, 567890))).thenReturn(true);
 
         // When & Then
         BadRequestException exception = assertThrows(BadRequestException.class,
-                () -> validator.validarLimitePorConta(agencia, conta, TipoPessoa.PESSOA_FISICA));
+                () -> validator.reservarLimitePorConta(chave));
 
         assertEquals(mensagemErro, exception.getMessage());
-        verify(repository).buscarPorConta(agencia, conta);
+        verify(contadorRepository, never()).inicializar(any(), any());
         verify(messageConfig).getMessage(anyString());
     }
 
     @Test
-    @DisplayName("validarLimitePorConta - Deve validar com sucesso para PJ com menos de 20 chaves")
-    void validarLimitePorConta_DeveValidarComSucessoParaPJComMenosDe20Chaves() {
+    @DisplayName("reservarLimitePorConta - Deve reservar a vaga de PJ com o limite de 20 chaves")
+    void reservarLimitePorConta_DeveReservarVagaParaPJ() {
         // Given
-        Integer agencia = 1234;
-        Integer conta = 567890;
-        List<ChavePix> chaves = createMockChavesList(19);
-        when(repository.buscarPorConta(agencia, conta)).thenReturn(chaves);
+        ChavePix chave = createChave(TipoPessoa.PESSOA_JURIDICA);
+        when(contadorRepository.reservar(chave, 20)).thenReturn(true);
 
         // When & Then
-        assertDoesNotThrow(() -> validator.validarLimitePorConta(agencia, conta, TipoPessoa.PESSOA_JURIDICA));
-        verify(repository).buscarPorConta(agencia, conta);
-        verifyNoInteractions(messageConfig);
+        assertDoesNotThrow(() -> validator.reservarLimitePorConta(chave));
+        verify(contadorRepository).reservar(chave, 20);
     }
 
     @Test
-    @DisplayName("validarLimitePorConta - Deve lançar exceção para PJ com 20 ou mais chaves")
-    void validarLimitePorConta_DeveLancarExcecaoParaPJCom20OuMaisChaves() {
+    @DisplayName("reservarLimitePorConta - Deve criar o contador a partir das chaves ativas da conta e reservar de novo")
+    void reservarLimitePorConta_DeveInicializarContadorAusente() {
         // Given
-        Integer agencia = 1234;
-        Integer conta = 567890;
-        List<ChavePix> chaves = createMockChavesList(20);
-        when(repository.buscarPorConta(agencia, conta)).thenReturn(chaves);
+        ChavePix chave = createChave(TipoPessoa.PESSOA_FISICA);
+        ContaBancaria conta = new ContaBancaria(1234, 567890);
+        when(contadorRepository.reservar(chave, 5)).thenReturn(false, true);
+        when(contadorRepository.existe(conta)).thenReturn(false);
+        when(repository.contarChavesAtivasPorTipo(1234, 567890)).thenReturn(Map.of(TipoChave.EMAIL, 1L));
 
         // When & Then
-        BadRequestException exception = assertThrows(BadRequestException.class,
-                () -> validator.validarLimitePorConta(agencia, conta, TipoPessoa.PESSOA_JURIDICA));
+        assertDoesNotThrow(() -> validator.reservarLimitePorConta(chave));
+        verify(contadorRepository).inicializar(conta, Map.of(TipoChave.EMAIL, 1L));
+        verify(contadorRepository, times(2)).reservar(chave, 5);
+        verify(repository, never()).buscarPorConta(anyInt(), anyInt());
+    }
 
-        assertEquals(mensagemErro, exception.getMessage());
-        verify(repository).buscarPorConta(agencia, conta);
-        verify(messageConfig).getMessage(anyString());
+    @Test
+    @DisplayName("reservarLimitesPorConta - Deve criar os contadores ausentes antes de reservar o lote")
+    void reservarLimitesPorConta_DeveInicializarAusentesAntesDoLote() {
+        // Given
+        List<ChavePix> chaves = List.of(createChave(TipoPessoa.PESSOA_FISICA), createChave(TipoPessoa.PESSOA_FISICA));
+        ContaBancaria conta = new ContaBancaria(1234, 567890);
+        when(contadorRepository.buscarAusentes(Set.of(conta))).thenReturn(Set.of(conta));
+        when(repository.contarChavesAtivasPorTipo(1234, 567890)).thenReturn(Map.of());
+        when(contadorRepository.reservarTodas(eq(chaves), any())).thenReturn(new boolean[]{true, false});
+
+        // When
+        boolean[] reservadas = validator.reservarLimitesPorConta(chaves);
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false}, reservadas);
+        var inOrder = inOrder(contadorRepository);
+        inOrder.verify(contadorRepository).inicializar(conta, Map.of());
+        inOrder.verify(contadorRepository).reservarTodas(eq(chaves), any());
+    }
+
+    @Test
+    @DisplayName("transferirLimitePorConta - Deve liberar a vaga da conta anterior e ocupar a da nova sem limite")
+    void transferirLimitePorConta_DeveMoverVaga() {
+        // Given
+        ChavePix chave = createChave(TipoPessoa.PESSOA_FISICA);
+        ContaBancaria anterior = new ContaBancaria(4321, 111111);
+        when(contadorRepository.reservar(chave, Integer.MAX_VALUE)).thenReturn(true);
+
+        // When
+        validator.transferirLimitePorConta(anterior, chave);
+
+        // Then
+        verify(contadorRepository).liberar(anterior, TipoChave.EMAIL);
+        verify(contadorRepository).reservar(chave, Integer.MAX_VALUE);
     }
 
     // ========== TESTES PARA validarCampos ==========
@@ -500,6 +539,19 @@ public class ChavePixValidatorTest {
                 1234, 567890, "João", "Silva"));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"a1B2c3D4e5F6g7H8i9J0k1L2m3N4o5P6q7R", "a1B2c3D4e5F6g7H8i9J0k1L2m3N4o5P6q7R8S",
+            "123e4567-e89b-12d3-a456-426614174000", "a1B2c3D4e5F6g7H8i9J0k1L2m3N4o5P6q7Ré", "a1B2c3D4e5F6g7H8i9J0k1L2m3N4o5P6q7R "})
+    @DisplayName("validarAleatoria - Deve lançar exceção para chaves aleatórias fora do formato")
+    void deveLancarExcecaoParaChavesAleatoriasForaDoFormato(String chaveInvalida) {
+        // When & Then
+        UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class,
+                () -> validator.validarCampos(TipoChave.ALEATORIA, chaveInvalida, TipoConta.CORRENTE,
+                        1234, 567890, "João", "Silva"));
+
+        assertEquals(mensagemErro, exception.getMessage());
+    }
+
     @Test
     @DisplayName("validarAleatoria - Deve lançar exceção para chave aleatória null")
     void deveLancarExcecaoParaChaveAleatoriaNull() {
@@ -511,15 +563,97 @@ public class ChavePixValidatorTest {
         assertEquals(mensagemErro, exception.getMessage());
     }
 
-    // ========== MÉTODOS AUXILIARES ==========
+    // ========== CONFERÊNCIA CARACTERE A CARACTERE ==========
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 9, 10, -1, -10, 9999, 10000, -999, -1000, 99999999, 100000000, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    @DisplayName("caracteres - Deve contar como Integer.toString, inclusive o sinal")
+    void deveContarCaracteresComoToString(int numero) {
+        // When & Then
+        assertEquals(Integer.toString(numero).length(), ChavePixValidator.caracteres(numero));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"١١١٤٤٤٧٧٧٣٥", "+５５11987654321"})
+    @DisplayName("Deve recusar dígitos que não são ASCII, como o \\d das expressões regulares")
+    void deveRecusarDigitosNaoAscii(String valor) {
+        // When & Then
+        assertFalse(ChavePixValidator.cpfValido(valor));
+        assertFalse(ChavePixValidator.celularValido(valor));
+    }
 
-    private List<ChavePix> createMockChavesList(int size) {
-        if (size == 0) {
-            return Collections.emptyList();
+    @Test
+    @DisplayName("Deve aceitar e recusar os mesmos valores que as expressões regulares substituídas")
+    void deveConcordarComAsExpressoesRegularesSubstituidas() {
+        // Given
+        Random random = new Random(42);
+        String alfabeto = "0123456789aZ+-";
+
+        for (int i = 0; i < 20_000; i++) {
+            // When
+            String digitos = digitos(random, 10 + random.nextInt(6));
+            String qualquer = aleatorio(random, alfabeto, 12 + random.nextInt(26));
+            String repetido = String.valueOf((char) ('0' + random.nextInt(10))).repeat(random.nextBoolean() ? 11 : 14);
+
+            // Then
+            for (String valor : List.of(digitos, qualquer, repetido, "+" + digitos)) {
+                assertEquals(cpfPorExpressao(valor), ChavePixValidator.cpfValido(valor), valor);
+                assertEquals(cnpjPorExpressao(valor), ChavePixValidator.cnpjValido(valor), valor);
+                assertEquals(valor.matches("^\\+\\d{1,2}\\d{2}\\d{9}$"), ChavePixValidator.celularValido(valor), valor);
+                assertEquals(valor.matches("^[a-zA-Z0-9]{36}$"), ChavePixValidator.aleatoriaValida(valor), valor);
+            }
         }
-        return IntStream.range(0, size)
-                .mapToObj(i -> mock(ChavePix.class))
-                .toList();
+        assertTrue(ChavePixValidator.cpfValido("11144477735"));
+        assertTrue(ChavePixValidator.cnpjValido("11222333000181"));
     }
-}
 
+    private static String digitos(Random random, int tamanho) {
+        return aleatorio(random, "0123456789", tamanho);
+    }
+
+    private static String aleatorio(Random random, String alfabeto, int tamanho) {
+        StringBuilder valor = new StringBuilder(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            valor.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+        }
+        return valor.toString();
+    }
+
+    /**
+     * Regra anterior, por expressão regular, usada como referência.
+     */
+    private static boolean cpfPorExpressao(String valor) {
+        if (!valor.matches("\\d{11}") || valor.matches("(\\d)\\1{10}")) {
+            return false;
+        }
+        int soma = 0, peso = 10;
+        for (int i = 0; i < 9; i++) soma += Character.getNumericValue(valor.charAt(i)) * peso--;
+        int digito1 = 11 - (soma % 11);
+        if (digito1 > 9) digito1 = 0;
+        soma = 0; peso = 11;
+        for (int i = 0; i < 10; i++) soma += Character.getNumericValue(valor.charAt(i)) * peso--;
+        int digito2 = 11 - (soma % 11);
+        if (digito2 > 9) digito2 = 0;
+        return valor.charAt(9) == Character.forDigit(digito1, 10) && valor.charAt(10) == Character.forDigit(digito2, 10);
+    }
+
+    private static boolean cnpjPorExpressao(String valor) {
+        if (!valor.matches("\\d{14}") || valor.matches("(\\d)\\1{13}")) {
+            return false;
+        }
+        int[] pesos1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int[] pesos2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        int soma = 0;
+        for (int i = 0; i < 12; i++) soma += Character.getNumericValue(valor.charAt(i)) * pesos1[i];
+        int dig1 = soma % 11; dig1 = dig1 < 2 ? 0 : 11 - dig1;
+        soma = 0;
+        for (int i = 0; i < 13; i++) soma += Character.getNumericValue(valor.charAt(i)) * pesos2[i];
+        int dig2 = soma % 11; dig2 = dig2 < 2 ? 0 : 11 - dig2;
+        return valor.charAt(12) == Character.forDigit(dig1, 10) && valor.charAt(13) == Character.forDigit(dig2, 10);
+    }
+
+    private static ChavePix createChave(TipoPessoa tipoPessoa) {
+        return new ChavePix(TipoChave.EMAIL, "joao@teste.com", TipoConta.CORRENTE, tipoPessoa,
+                1234, 567890, "Joao", "Silva");
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.chavepix.config.application;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AmostragemLogTurboFilter - Testes Unitários")
+public class AmostragemLogTurboFilterTest {
+
+    private ListAppender<ILoggingEvent> appender;
+    private Logger aplicacao;
+    private Logger biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext contexto = new LoggerContext();
+        AmostragemLogTurboFilter filtro = new AmostragemLogTurboFilter();
+        filtro.setTaxa(10);
+        filtro.start();
+        contexto.addTurboFilter(filtro);
+
+        appender = new ListAppender<>();
+        appender.setContext(contexto);
+        appender.start();
+        contexto.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+
+        aplicacao = contexto.getLogger("br.com.chavepix.application.validator.ChavePixValidator");
+        biblioteca = contexto.getLogger("org.hibernate.SQL");
+    }
+
+    @Test
+    @DisplayName("Deve deixar passar a primeira linha de INFO e depois uma a cada taxa, por ponto do código")
+    void deveAmostrarPorPontoDoCodigo() {
+        // When
+        for (int i = 0; i < 25; i++) {
+            aplicacao.info("Validando CPF: {}", i);
+        }
+        aplicacao.info("Validando CNPJ: {}", 1);
+
+        // Then
+        List<String> mensagens = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(List.of("Validando CPF: 0", "Validando CPF: 10", "Validando CPF: 20", "Validando CNPJ: 1"), mensagens);
+    }
+
+    @Test
+    @DisplayName("Deve manter todas as linhas de WARN e ERROR e as de outros pacotes")
+    void deveManterWarnErrorEOutrosPacotes() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            aplicacao.warn("Chave Pix já existe: {}", i);
+            aplicacao.error("Nome do correntista inválido: '{}'", i);
+            biblioteca.info("select {}", i);
+        }
+
+        // Then
+        assertEquals(15, appender.list.size());
+    }
+
+    @Test
+    @DisplayName("Deve mascarar valores de chave e nomes só na formatação da mensagem")
+    void deveMascararValoresENomes() {
+        // When
+        aplicacao.info("chave={}, nome={}, sobrenome={}, curta={}, nula={}", MascaraLog.chave("carol@teste.com"),
+                MascaraLog.nome("Carolina"), MascaraLog.nome(""), MascaraLog.chave("+5511"), MascaraLog.chave(null));
+
+        // Then
+        assertEquals("chave=ca***om, nome=C***, sobrenome=, curta=***, nula=null",
+                appender.list.get(0).getFormattedMessage());
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.chavepix.config.application;
+
+import br.com.chavepix.adapters.in.rest.request.CadastrarChavePixRequest;
+import br.com.chavepix.adapters.out.persistence.ChavePixEntity;
+import br.com.chavepix.domain.exceptions.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ImagemNativaConfig - Testes Unitários")
+public class ImagemNativaConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new ImagemNativaConfig.Dicas().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Deve registrar os DTOs para o Jackson e o Hibernate Validator")
+    void deveRegistrarDtos() throws Exception {
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CadastrarChavePixRequest.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(CadastrarChavePixRequest.class.getMethod("getValorChave")).test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar as entidades, as exceções e os recursos lidos em tempo de execução")
+    void deveRegistrarEntidadesExcecoesERecursos() {
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ChavePixEntity.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.serialization().onType(BadRequestException.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("messages.properties").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource(ShardingConfig.SCHEMA_SHARD).test(hints));
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.chavepix.config.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LimiteConexoesDataSource - Testes de Integração")
+public class LimiteConexoesDataSourceTest {
+
+    private DriverManagerDataSource banco;
+
+    @BeforeEach
+    void setUp() {
+        banco = new DriverManagerDataSource("jdbc:h2:mem:limite-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @Test
+    @DisplayName("Deve atender as threads em espera por ordem de chegada")
+    void deveAtenderPorOrdemDeChegada() throws Exception {
+        // Given
+        LimiteConexoesDataSource dataSource = new LimiteConexoesDataSource(banco, 1, Duration.ofSeconds(5));
+        List<Integer> atendidas = new ArrayList<>();
+        Connection ocupada = dataSource.getConnection();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                int ordem = i;
+                executor.submit(() -> {
+                    try (Connection conexao = dataSource.getConnection()) {
+                        atendidas.add(ordem);
+                    }
+                    return null;
+                });
+                aguardarFila(dataSource, i + 1);
+            }
+            ocupada.close();
+        }
+
+        // Then
+        assertEquals(List.of(0, 1, 2, 3, 4), atendidas);
+        assertEquals(0, dataSource.getAguardando());
+    }
+
+    @Test
+    @DisplayName("Deve abrir a conexão aninhada da mesma thread sem esperar por vaga")
+    void deveAbrirConexaoAninhadaSemEsperar() throws Exception {
+        // Given
+        LimiteConexoesDataSource dataSource = new LimiteConexoesDataSource(banco, 1, Duration.ofMillis(50));
+
+        // When
+        try (Connection externa = dataSource.getConnection();
+             Connection aninhada = dataSource.getConnection()) {
+
+            // Then
+            assertFalse(aninhada.isClosed());
+            CountDownLatch recusada = new CountDownLatch(1);
+            Thread.ofVirtual().start(() -> {
+                try (Connection outra = dataSource.getConnection()) {
+                    fail("Sem vaga, a outra thread deveria esperar");
+                } catch (SQLTransientConnectionException e) {
+                    recusada.countDown();
+                } catch (Exception e) {
+                    fail(e);
+                }
+            });
+            assertTrue(recusada.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga uma única vez mesmo com a conexão fechada de novo")
+    void deveDevolverVagaUmaVez() throws Exception {
+        // Given
+        LimiteConexoesDataSource dataSource = new LimiteConexoesDataSource(banco, 1, Duration.ofMillis(50));
+        Connection conexao = dataSource.getConnection();
+
+        // When
+        conexao.close();
+        conexao.close();
+
+        // Then
+        assertTrue(conexao.isClosed());
+        AtomicReference<Exception> erro = new AtomicReference<>();
+        try (Connection primeira = dataSource.getConnection()) {
+            Thread.ofVirtual().start(() -> {
+                try (Connection outra = dataSource.getConnection()) {
+                    erro.set(null);
+                } catch (Exception e) {
+                    erro.set(e);
+                }
+            }).join();
+        }
+        assertInstanceOf(SQLTransientConnectionException.class, erro.get());
+    }
+
+    private static void aguardarFila(LimiteConexoesDataSource dataSource, int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getAguardando() < tamanho && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.chavepix.config.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RoteamentoDataSource - Testes de Integração")
+public class RoteamentoDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = criarBanco("primario");
+        DataSource replica = criarBanco("replica");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new RoteamentoDataSource(primario, replica));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Deve enviar transação somente leitura para a réplica")
+    void deveEnviarLeituraParaReplica() {
+        // When
+        String origem = leitura.execute(status -> consultarOrigem());
+
+        // Then
+        assertEquals("replica", origem);
+    }
+
+    @Test
+    @DisplayName("Deve enviar transação de escrita e acesso sem transação para o primário")
+    void deveEnviarEscritaParaPrimario() {
+        // When
+        String emTransacao = escrita.execute(status -> consultarOrigem());
+        String semTransacao = consultarOrigem();
+
+        // Then
+        assertEquals("primario", emTransacao);
+        assertEquals("primario", semTransacao);
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário quando a leitura é forçada, mesmo em transação somente leitura")
+    void deveLerDoPrimarioQuandoForcado() {
+        // When
+        String forcada = leitura.execute(status -> RoteamentoDataSource.noPrimario(this::consultarOrigem));
+        String seguinte = leitura.execute(status -> consultarOrigem());
+
+        // Then
+        assertEquals("primario", forcada);
+        assertEquals("replica", seguinte);
+    }
+
+    private String consultarOrigem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private static DataSource criarBanco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table origem (nome varchar(20))");
+        jdbcTemplate.update("insert into origem values (?)", nome);
+        return dataSource;
+    }
+}
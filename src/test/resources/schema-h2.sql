@@ -0,0 +1,6 @@
+-- Equivalente em H2 do índice único parcial de schema-postgresql.sql: a coluna gerada só tem valor nas chaves
+-- ativas, e o índice único ignora os nulos das inativas.
+ALTER TABLE chave_pix ADD COLUMN IF NOT EXISTS valor_chave_ativa VARCHAR(255)
+    GENERATED ALWAYS AS (CASE WHEN data_hora_inativacao IS NULL THEN valor_chave END);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_chave_pix_valor_chave_ativa ON chave_pix (valor_chave_ativa);